@@ -0,0 +1,134 @@
+package com.br.apigateway.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit for one route that adapts to downstream latency (gradient algorithm).
+ * Requests are admitted while fewer than {@link #getLimit()} are in flight. Every window the average latency
+ * is compared with its long-term baseline: while it stays within {@code tolerance} times the baseline the limit
+ * grows by about its square root; as latency rises past that, the limit shrinks proportionally, and a window with
+ * failed calls shrinks it by 10%. Windows where the route never used half its limit do not change it.
+ * <p>
+ * Admission and completion are lock-free; only the thread that closes a window recomputes the limit.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_WEIGHT = 0.05;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicLong windowStart;
+    private volatile boolean dropped;
+    private volatile int limit;
+    private volatile double estimatedLimit;
+    private volatile double baselineLatency;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowMs) {
+        this(initialLimit, minLimit, maxLimit, tolerance, windowMs, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double tolerance,
+        long windowMs,
+        LongSupplier nanoClock
+    ) {
+        this.nanoClock = nanoClock;
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.tolerance = Math.max(tolerance, 1.0);
+        this.windowNanos = windowMs * 1_000_000;
+        this.estimatedLimit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+        this.limit = (int) estimatedLimit;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Admits a request if the route is under its limit. Every admitted request must be followed by
+     * {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records a finished request. {@code failed} marks calls that failed or returned 5xx.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        latencySum.add(latencyNanos);
+        samples.increment();
+        if (failed) {
+            dropped = true;
+        }
+
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            update();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update() {
+        long count = samples.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        boolean hadDrops = dropped;
+        dropped = false;
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (count == 0) {
+            return;
+        }
+
+        double latency = (double) sum / count;
+        double baseline = baselineLatency == 0 ? latency : baselineLatency;
+        baselineLatency = baseline * (1 - BASELINE_WEIGHT) + latency * BASELINE_WEIGHT;
+
+        double current = estimatedLimit;
+        double target;
+        if (hadDrops) {
+            target = current * DROP_BACKOFF;
+        } else if (peak < current / 2) {
+            // Demand, not the limit, bounded concurrency: the window says nothing about capacity
+            return;
+        } else {
+            double gradient = Math.clamp(tolerance * baseline / latency, 0.5, 1.0);
+            target = current * gradient + Math.sqrt(current);
+        }
+
+        double next = Math.clamp(current * (1 - SMOOTHING) + target * SMOOTHING, minLimit, maxLimit);
+        estimatedLimit = next;
+        limit = (int) next;
+    }
+}
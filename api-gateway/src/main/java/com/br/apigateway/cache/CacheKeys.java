@@ -0,0 +1,46 @@
+package com.br.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Normalized response-cache keys: the path plus the query parameters sorted by name, so {@code ?page=1&size=20}
+ * and {@code ?size=20&page=1} share an entry. Repeated values keep their order. The {@code Origin} header is
+ * appended when present, since CORS headers in the response depend on it.
+ */
+public final class CacheKeys {
+
+    private CacheKeys() {
+    }
+
+    public static String of(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+
+        MultiValueMap<String, String> params = request.getQueryParams();
+        if (!params.isEmpty()) {
+            char separator = '?';
+            List<Map.Entry<String, List<String>>> sorted = params.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+            for (Map.Entry<String, List<String>> param : sorted) {
+                for (String value : param.getValue()) {
+                    key.append(separator).append(param.getKey());
+                    if (value != null) {
+                        key.append('=').append(value);
+                    }
+                    separator = '&';
+                }
+            }
+        }
+
+        String origin = request.getHeaders().getFirst(HttpHeaders.ORIGIN);
+        if (origin != null) {
+            key.append('#').append(origin);
+        }
+        return key.toString();
+    }
+}
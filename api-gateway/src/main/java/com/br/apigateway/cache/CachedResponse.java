@@ -0,0 +1,38 @@
+package com.br.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A cached downstream response. The body lives in a direct (off-heap) buffer that is never written to
+ * after creation; readers must use {@link #bodyView()}.
+ */
+public record CachedResponse(
+    HttpStatusCode status,
+    HttpHeaders headers,
+    ByteBuffer body,
+    String etag,
+    long storedAtMillis,
+    long expiresAtMillis
+) {
+
+    // Rough allowance for the headers and the entry itself
+    private static final int OVERHEAD_BYTES = 512;
+
+    /**
+     * Independent read-only view of the body, so concurrent writers do not share a position.
+     */
+    public ByteBuffer bodyView() {
+        return body.asReadOnlyBuffer();
+    }
+
+    public int weight() {
+        return body.capacity() + OVERHEAD_BYTES;
+    }
+
+    public long ageSeconds(long nowMillis) {
+        return Math.max(nowMillis - storedAtMillis, 0) / 1000;
+    }
+}
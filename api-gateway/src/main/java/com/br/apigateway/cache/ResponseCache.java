@@ -0,0 +1,96 @@
+package com.br.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store behind the {@code PublicResponseCache} route filter, shared by all routes (keys include the path).
+ * Entries are bounded by total body size ({@code gateway.response-cache.max-bytes}) and live until the expiry
+ * derived from the downstream {@code Cache-Control}. Also tracks in-flight fetches, so concurrent misses for one
+ * key wait for a single downstream call.
+ * Hit and miss counts are published as {@code cache.gets{cache=gateway.responses}}.
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<String, CachedResponse> entries;
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final int maxEntryBytes;
+
+    public ResponseCache(
+        MeterRegistry meterRegistry,
+        @Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes,
+        @Value("${gateway.response-cache.max-entry-bytes:1048576}") int maxEntryBytes
+    ) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, CachedResponse response) -> response.weight())
+            .expireAfter(new UntilResponseExpiry())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.responses");
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Registers {@code candidate} as the fetch for {@code key} unless one is already running.
+     * Returns the running fetch; the caller leads the fetch when that is its own {@code candidate}.
+     */
+    public Sinks.One<CachedResponse> join(String key, Sinks.One<CachedResponse> candidate) {
+        Sinks.One<CachedResponse> running = inFlight.putIfAbsent(key, candidate);
+        return running == null ? candidate : running;
+    }
+
+    /**
+     * Ends the fetch led with {@code flight}: stores {@code response} when there is one (null when the response
+     * could not be cached), then hands it to the waiting requests.
+     */
+    public void finish(String key, Sinks.One<CachedResponse> flight, CachedResponse response) {
+        if (response != null) {
+            entries.put(key, response);
+        }
+        inFlight.remove(key, flight);
+        if (response != null) {
+            flight.tryEmitValue(response);
+        } else {
+            flight.tryEmitEmpty();
+        }
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    private static final class UntilResponseExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            long remainingMs = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
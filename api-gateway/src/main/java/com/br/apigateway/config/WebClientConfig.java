@@ -1,21 +1,131 @@
 package com.br.apigateway.config;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * Circuit breaker id used for calls to auth-service.
+     */
+    public static final String AUTH_CIRCUIT_BREAKER = "auth-service";
+
+    /**
+     * Dedicated connection pool for auth-service, so a slow auth-service can hold at most
+     * {@code max-connections} connections and {@code pending-acquire-max} waiting calls.
+     * Pool gauges are published as {@code reactor.netty.connection.provider.*{name=auth-service}}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider authConnectionProvider(
+        @Value("${clients.auth.max-connections:50}") int maxConnections,
+        @Value("${clients.auth.pending-acquire-max:100}") int pendingAcquireMax,
+        @Value("${clients.auth.pending-acquire-timeout-ms:500}") long pendingAcquireTimeoutMs,
+        @Value("${clients.auth.max-idle-ms:15000}") long maxIdleMs,
+        @Value("${clients.auth.max-life-ms:300000}") long maxLifeMs
+    ) {
+        return ConnectionProvider.builder("auth-service")
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(pendingAcquireMax)
+            .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+            // Idle connections are closed before auth-service's keep-alive timeout would close them under us
+            .maxIdleTime(Duration.ofMillis(maxIdleMs))
+            .maxLifeTime(Duration.ofMillis(maxLifeMs))
+            .evictInBackground(Duration.ofMillis(maxIdleMs))
+            .metrics(true)
+            .build();
+    }
+
     /**
      * Creates a WebClient preconfigured with the auth-service base URL.
-     * This client is used by the gateway to validate access tokens.
+     * This client is used by the gateway to sync token revocations.
+     * {@code clients.auth.protocols} selects HTTP/1.1 keep-alive (default) or cleartext HTTP/2 ({@code H2C}),
+     * which multiplexes calls over a single connection.
      */
     @Bean
-    public WebClient authWebClient(@Value("${services.auth}") String authBaseUrl) {
+    public WebClient authWebClient(
+        @Value("${services.auth}") String authBaseUrl,
+        ConnectionProvider authConnectionProvider,
+        @Value("${clients.auth.protocols:HTTP11}") HttpProtocol[] protocols,
+        @Value("${clients.auth.connect-timeout-ms:1000}") int connectTimeoutMs,
+        @Value("${clients.auth.response-timeout-ms:2000}") long responseTimeoutMs
+    ) {
+        HttpClient httpClient = HttpClient.create(authConnectionProvider)
+            .protocol(protocols)
+            .keepAlive(true)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
         return WebClient.builder()
             .baseUrl(authBaseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    /**
+     * Clients used by the gateway's own composition endpoints. They share the gateway's routing HTTP client,
+     * so pool and timeout settings are the same as for routed traffic.
+     */
+    @Bean
+    public WebClient productWebClient(@Value("${services.products}") String productsBaseUrl, HttpClient httpClient) {
+        return WebClient.builder()
+            .baseUrl(productsBaseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    @Bean
+    public WebClient inventoryWebClient(@Value("${services.inventory}") String inventoryBaseUrl, HttpClient httpClient) {
+        return WebClient.builder()
+            .baseUrl(inventoryBaseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
             .build();
     }
+
+    /**
+     * Opens the auth-service circuit after repeated failures or slow calls. While it is open the gateway
+     * stops calling auth-service and relies on local token verification and pushed revocations.
+     * State and call metrics are published as {@code resilience4j.circuitbreaker.*{name=auth-service}}.
+     */
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> authCircuitBreakerCustomizer(
+        @Value("${clients.auth.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+        @Value("${clients.auth.circuit-breaker.sliding-window-size:10}") int slidingWindowSize,
+        @Value("${clients.auth.circuit-breaker.minimum-calls:3}") int minimumCalls,
+        @Value("${clients.auth.circuit-breaker.slow-call-ms:1000}") long slowCallMs,
+        @Value("${clients.auth.circuit-breaker.open-ms:60000}") long openMs,
+        @Value("${security.revocation.sync-timeout-ms:2000}") long callTimeoutMs
+    ) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(slidingWindowSize)
+            .minimumNumberOfCalls(minimumCalls)
+            .failureRateThreshold(failureRateThreshold)
+            .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+            .slowCallRateThreshold(failureRateThreshold)
+            .waitDurationInOpenState(Duration.ofMillis(openMs))
+            .permittedNumberOfCallsInHalfOpenState(1)
+            .build();
+        TimeLimiterConfig timeLimiterConfig = TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofMillis(callTimeoutMs))
+            .build();
+
+        return factory -> factory.configure(builder -> builder
+            .circuitBreakerConfig(circuitBreakerConfig)
+            .timeLimiterConfig(timeLimiterConfig), AUTH_CIRCUIT_BREAKER);
+    }
 }
@@ -0,0 +1,139 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.admission.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Route filter {@code AdmissionControl}: rejects requests with 503 once the route has as many requests in flight
+ * as its {@link AdaptiveConcurrencyLimit}, so a slow service sheds load at the gateway instead of queueing it.
+ * Per route: {@code initialLimit}, {@code minLimit}, {@code maxLimit}, {@code tolerance} and {@code windowMs}.
+ * Metrics: {@code gateway.admission.limit}, {@code gateway.admission.in-flight} and
+ * {@code gateway.admission.rejected}, tagged with the route.
+ */
+@Component
+public class AdmissionControlGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<AdmissionControlGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    // One limit per route, kept across route refreshes so the learned limit and the gauges survive
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    public AdmissionControlGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId();
+        AdaptiveConcurrencyLimit limit = limits.computeIfAbsent(routeId, route -> register(route, config));
+        Counter rejected = meterRegistry.counter("gateway.admission.rejected", "route", routeId);
+
+        return (exchange, chain) -> {
+            if (!limit.tryAcquire()) {
+                rejected.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                limit.release(System.nanoTime() - start, failed);
+            });
+        };
+    }
+
+    private AdaptiveConcurrencyLimit register(String routeId, Config config) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            config.getInitialLimit(),
+            config.getMinLimit(),
+            config.getMaxLimit(),
+            config.getTolerance(),
+            config.getWindowMs()
+        );
+        Gauge.builder("gateway.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+            .tag("route", routeId)
+            .register(meterRegistry);
+        Gauge.builder("gateway.admission.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+            .tag("route", routeId)
+            .register(meterRegistry);
+        return limit;
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private int initialLimit = 100;
+        private int minLimit = 10;
+        private int maxLimit = 1000;
+        // Latency may grow to this multiple of its baseline before the limit shrinks
+        private double tolerance = 2.0;
+        private long windowMs = 1000;
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+    }
+}
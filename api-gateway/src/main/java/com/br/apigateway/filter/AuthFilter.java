@@ -1,13 +1,15 @@
 package com.br.apigateway.filter;
 
+import com.br.apigateway.policy.RouteAccess;
+import com.br.apigateway.policy.RoutePolicyTable;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-import com.br.apigateway.util.JwtUtils;
-import io.jsonwebtoken.Claims;
+import com.br.apigateway.revocation.RevocationList;
+import com.br.apigateway.token.VerifiedToken;
+import com.br.apigateway.token.VerifiedTokenCache;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
@@ -18,29 +20,39 @@ import java.util.List;
 @Component
 public class AuthFilter implements WebFilter, Ordered {
 
+    /**
+     * Exchange attribute holding the {@link VerifiedToken} of an authenticated request.
+     */
+    public static final String VERIFIED_TOKEN_ATTR = AuthFilter.class.getName() + ".verifiedToken";
+
     // Standard Authorization header prefix used for Bearer tokens
     private static final String BEARER_PREFIX = "Bearer ";
-
-    private final WebClient authWebClient;
-    private final JwtUtils jwtUtils;
-
-    // Public paths that do not require authentication
-    private final List<String> publicPrefixes = List.of(
-        "/api/v1/auth/",
-        "/api/v1/products",
-        "/api/v1/categories"
-    );
-
-    public AuthFilter(WebClient authWebClient, JwtUtils jwtUtils) {
-        this.authWebClient = authWebClient;
-        this.jwtUtils = jwtUtils;
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    // Identity headers only the gateway may set; client-supplied values are always dropped
+    private static final List<String> TRUSTED_HEADERS = List.of("X-User-Id", "X-User-Role", "X-Internal-Call");
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevocationList revocationList;
+    private final RoutePolicyTable routePolicyTable;
+
+    public AuthFilter(
+        VerifiedTokenCache verifiedTokenCache,
+        RevocationList revocationList,
+        RoutePolicyTable routePolicyTable
+    ) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationList = revocationList;
+        this.routePolicyTable = routePolicyTable;
     }
 
     /**
-     * Global filter that validates JWT access tokens for protected routes.
+     * Global filter that enforces the route policy table ({@code gateway.security.rules}) on every request.
      * - Public routes are allowed without a token.
-     * - Protected routes require a valid Bearer token.
-     * - Validation is delegated to auth-service (/api/v1/auth/validate).
+     * - Authenticated routes require a valid Bearer token; admin routes also require role ADMIN.
+     * - Internal routes are never reachable through the gateway (404).
+     * - Signature and expiry are verified locally (once per token, then cached); revoked tokens are rejected from the
+     *   in-memory revocation list, so no request waits for auth-service.
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -52,77 +64,69 @@ public class AuthFilter implements WebFilter, Ordered {
             return chain.filter(exchange);
         }
 
-        // Public routes: allow auth endpoints and public GETs
-        if (isPublic(path, method)) {
-            return chain.filter(exchange);
+        RouteAccess access = routePolicyTable.resolve(method, path);
+        if (access == null) {
+            return reject(exchange, HttpStatus.BAD_REQUEST);
+        }
+        if (access == RouteAccess.INTERNAL) {
+            return reject(exchange, HttpStatus.NOT_FOUND);
+        }
+        if (access == RouteAccess.PUBLIC) {
+            return chain.filter(withoutTrustedHeaders(exchange));
         }
 
         // Require Authorization: Bearer <token>
         String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
+            return reject(exchange, HttpStatus.UNAUTHORIZED);
         }
 
         String token = authHeader.substring(BEARER_PREFIX.length());
 
-        // Ask auth-service if the token is valid
-        return authWebClient.get()
-            .uri(uriBuilder -> uriBuilder.path("/api/v1/auth/validate")
-                .queryParam("token", token)
-                .build())
-            .retrieve()
-            .bodyToMono(Boolean.class)
-            .flatMap(valid -> {
-                if (Boolean.TRUE.equals(valid)) {
-                    Claims claims = jwtUtils.getClaims(token);
-                    String userId = claims.getSubject();
-                    String role = claims.get("role", String.class);
-
-                    ServerWebExchange mutated = exchange.mutate()
-                        .request(r -> r.headers(h -> {
-                            if (userId != null) {
-                                h.add("X-User-Id", userId);
-                            }
-                            if (role != null) {
-                                h.add("X-User-Role", role);
-                            }
-                        }))
-                        .build();
-
-                    return chain.filter(mutated);
+        VerifiedToken verified = verifiedTokenCache.verify(token);
+        if (verified == null
+            || revocationList.isRevoked(verified.userId(), verified.sessionId(), verified.issuedAtSeconds())) {
+            return reject(exchange, HttpStatus.UNAUTHORIZED);
+        }
+        if (access == RouteAccess.ADMIN && !ADMIN_ROLE.equalsIgnoreCase(verified.role())) {
+            return reject(exchange, HttpStatus.FORBIDDEN);
+        }
+        exchange.getAttributes().put(VERIFIED_TOKEN_ATTR, verified);
+
+        ServerWebExchange mutated = exchange.mutate()
+            .request(r -> r.headers(h -> {
+                TRUSTED_HEADERS.forEach(h::remove);
+                h.set("X-User-Id", verified.userId());
+                if (verified.role() != null) {
+                    h.set("X-User-Role", verified.role());
                 }
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            })
-            .onErrorResume(ex -> {
-                // Any error while validating is treated as unauthorized
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            });
+            }))
+            .build();
+
+        return chain.filter(mutated);
     }
 
-    /**
-     * Determines if a request should bypass authentication.
-     * - All /auth endpoints are public
-     * - GETs to products/categories are public
-     */
-    private boolean isPublic(String path, HttpMethod method) {
-        // Public auth endpoints
-        if (path.startsWith("/api/v1/auth/")) {
-            return true;
-        }
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
 
-        // Public product/category reads
-        if (HttpMethod.GET.equals(method)) {
-            for (String prefix : publicPrefixes) {
-                if (path.startsWith(prefix)) {
-                    return true;
-                }
+    // Copies the request only when the client actually sent one of the headers
+    private ServerWebExchange withoutTrustedHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        boolean present = false;
+        for (String name : TRUSTED_HEADERS) {
+            if (headers.getFirst(name) != null) {
+                present = true;
+                break;
             }
         }
-
-        return false;
+        if (!present) {
+            return exchange;
+        }
+        return exchange.mutate()
+            .request(r -> r.headers(h -> TRUSTED_HEADERS.forEach(h::remove)))
+            .build();
     }
 
     /**
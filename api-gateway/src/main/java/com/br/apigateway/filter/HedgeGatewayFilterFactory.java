@@ -0,0 +1,121 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.hedge.HedgePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Route filter {@code Hedge}: marks GET requests of the route for hedged routing by {@link HedgingRoutingFilter}.
+ * Per route: {@code initialDelayMs} (hedge delay until the p95 is known), {@code minDelayMs}, {@code maxDelayMs},
+ * {@code attemptTimeoutMs}, {@code budgetPercent} (extra attempts as a percentage of requests) and
+ * {@code maxBudgetTokens}. Only for idempotent routes.
+ */
+@Component
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    // One policy per route, kept across route refreshes so the observed latency and budget survive
+    private final ConcurrentMap<String, HedgePolicy> policies = new ConcurrentHashMap<>();
+
+    public HedgeGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        HedgePolicy policy = policies.computeIfAbsent(config.getRouteId(), routeId -> new HedgePolicy(
+            routeId,
+            meterRegistry,
+            config.getInitialDelayMs(),
+            config.getMinDelayMs(),
+            config.getMaxDelayMs(),
+            config.getAttemptTimeoutMs(),
+            config.getBudgetPercent(),
+            config.getMaxBudgetTokens()
+        ));
+
+        return (exchange, chain) -> {
+            if (HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+                exchange.getAttributes().put(HedgePolicy.ATTR, policy);
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private long initialDelayMs = 100;
+        private long minDelayMs = 10;
+        private long maxDelayMs = 1000;
+        private long attemptTimeoutMs = 5000;
+        private double budgetPercent = 10;
+        private int maxBudgetTokens = 10;
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public long getInitialDelayMs() {
+            return initialDelayMs;
+        }
+
+        public void setInitialDelayMs(long initialDelayMs) {
+            this.initialDelayMs = initialDelayMs;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+
+        public long getMaxDelayMs() {
+            return maxDelayMs;
+        }
+
+        public void setMaxDelayMs(long maxDelayMs) {
+            this.maxDelayMs = maxDelayMs;
+        }
+
+        public long getAttemptTimeoutMs() {
+            return attemptTimeoutMs;
+        }
+
+        public void setAttemptTimeoutMs(long attemptTimeoutMs) {
+            this.attemptTimeoutMs = attemptTimeoutMs;
+        }
+
+        public double getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+
+        public int getMaxBudgetTokens() {
+            return maxBudgetTokens;
+        }
+
+        public void setMaxBudgetTokens(int maxBudgetTokens) {
+            this.maxBudgetTokens = maxBudgetTokens;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.hedge.HedgePolicy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * Routes requests marked by the {@code Hedge} route filter instead of the default Netty routing filter.
+ * The request is sent downstream; if no response arrived within the route's p95 latency a second, identical
+ * request is sent (over another pooled connection, or another instance when the route is load-balanced) and
+ * the first response wins, cancelling the other. If every attempt fails (connection error, timeout, 502/503/504)
+ * one retry is made. Hedges and retries both draw on the route's retry budget.
+ * <p>
+ * Responses are buffered (up to {@code gateway.hedging.max-body-bytes}) so the loser can be discarded.
+ * Uses the gateway's own HTTP client, so pool and timeout settings are shared with normal routing.
+ */
+@Component
+public class HedgingRoutingFilter implements GlobalFilter, Ordered {
+
+    private final WebClient webClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private volatile List<HttpHeadersFilter> headersFilters;
+
+    public HedgingRoutingFilter(
+        HttpClient httpClient,
+        ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+        @Value("${gateway.hedging.max-body-bytes:4194304}") int maxBodyBytes
+    ) {
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.webClient = WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxBodyBytes))
+            .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HedgePolicy policy = exchange.getAttribute(HedgePolicy.ATTR);
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (policy == null || url == null || isAlreadyRouted(exchange)
+            || !("http".equals(url.getScheme()) || "https".equals(url.getScheme()))) {
+            return chain.filter(exchange);
+        }
+        setAlreadyRouted(exchange);
+        policy.onRequest();
+
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters(), exchange);
+        Mono<ResponseEntity<byte[]>> primary = attempt(url, headers, policy);
+        Mono<ResponseEntity<byte[]>> hedge = Mono.delay(policy.hedgeDelay())
+            .filter(tick -> policy.tryHedge())
+            .flatMap(tick -> attempt(url, headers, policy))
+            .doOnNext(response -> policy.hedgeWon());
+
+        return Mono.firstWithValue(primary, hedge)
+            .onErrorResume(error -> policy.tryRetry()
+                ? attempt(url, headers, policy).onErrorMap(retryError -> error)
+                : Mono.error(error))
+            .flatMap(response -> write(exchange, response))
+            .onErrorResume(error -> fail(exchange, error));
+    }
+
+    private Mono<ResponseEntity<byte[]>> attempt(URI url, HttpHeaders headers, HedgePolicy policy) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.get()
+                .uri(url)
+                .headers(h -> {
+                    h.putAll(headers);
+                    // Set from the downstream URL, as the default routing filter does
+                    h.remove(HttpHeaders.HOST);
+                })
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .timeout(policy.attemptTimeout())
+                .doOnNext(response -> policy.recordLatency(System.nanoTime() - start))
+                .flatMap(response -> isRetryable(response.getStatusCode())
+                    ? Mono.error(new RetryableResponseException(response))
+                    : Mono.just(response));
+        });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<byte[]> downstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(downstream.getStatusCode());
+
+        HttpHeaders filtered = HttpHeadersFilter.filter(
+            headersFilters(), downstream.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE);
+        HttpHeaders headers = response.getHeaders();
+        filtered.forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+
+        byte[] body = downstream.getBody() == null ? new byte[0] : downstream.getBody();
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    // Every attempt failed: pass on the downstream's own error response when there was one
+    private Mono<Void> fail(ServerWebExchange exchange, Throwable error) {
+        List<Throwable> causes = new ArrayList<>(Exceptions.unwrapMultiple(error));
+        causes.addAll(List.of(error.getSuppressed()));
+        for (Throwable cause : causes) {
+            if (cause instanceof RetryableResponseException retryable) {
+                return write(exchange, retryable.response);
+            }
+        }
+        for (Throwable cause : causes) {
+            if (cause instanceof TimeoutException) {
+                return Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Downstream timed out", error));
+            }
+        }
+        return Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Downstream unavailable", error));
+    }
+
+    private static boolean isRetryable(HttpStatusCode status) {
+        int code = status.value();
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    private List<HttpHeadersFilter> headersFilters() {
+        List<HttpHeadersFilter> filters = headersFilters;
+        if (filters == null) {
+            filters = headersFiltersProvider.getIfAvailable(List::of);
+            headersFilters = filters;
+        }
+        return filters;
+    }
+
+    /**
+     * Runs right before the default routing filter, after the request URL has been resolved.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+
+    private static final class RetryableResponseException extends RuntimeException {
+
+        private final transient ResponseEntity<byte[]> response;
+
+        private RetryableResponseException(ResponseEntity<byte[]> response) {
+            super("Downstream answered " + response.getStatusCode(), null, false, false);
+            this.response = response;
+        }
+    }
+}
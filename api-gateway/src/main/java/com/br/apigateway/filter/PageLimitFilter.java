@@ -0,0 +1,83 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.ratelimit.LocalRateLimiter;
+import com.br.apigateway.ratelimit.UserOrIpKeyResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limiting and admission control for the gateway's own composition endpoints ({@code /api/v1/pages/**}).
+ * They are served by a controller rather than a route, so the {@code RequestRateLimiter} and
+ * {@code AdmissionControl} route filters never see them; this filter applies the same {@link LocalRateLimiter}
+ * and adaptive limit under route id {@value #ROUTE_ID}, with limits from {@code gateway.pages.*}.
+ */
+@Component
+public class PageLimitFilter implements WebFilter, Ordered {
+
+    public static final String ROUTE_ID = "pages";
+
+    private static final String PATH_PREFIX = "/api/v1/pages/";
+
+    private final LocalRateLimiter rateLimiter;
+    private final UserOrIpKeyResolver keyResolver;
+    private final GatewayFilter admissionControl;
+
+    public PageLimitFilter(
+        LocalRateLimiter rateLimiter,
+        UserOrIpKeyResolver keyResolver,
+        AdmissionControlGatewayFilterFactory admissionControlFactory,
+        @Value("${gateway.pages.rate-limit.replenish-rate:20}") long replenishRate,
+        @Value("${gateway.pages.rate-limit.burst-capacity:40}") long burstCapacity,
+        @Value("${gateway.pages.admission.initial-limit:100}") int initialLimit,
+        @Value("${gateway.pages.admission.min-limit:20}") int minLimit,
+        @Value("${gateway.pages.admission.max-limit:500}") int maxLimit
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.keyResolver = keyResolver;
+
+        LocalRateLimiter.Config rateConfig = new LocalRateLimiter.Config();
+        rateConfig.setReplenishRate(replenishRate);
+        rateConfig.setBurstCapacity(burstCapacity);
+        rateLimiter.getConfig().put(ROUTE_ID, rateConfig);
+
+        AdmissionControlGatewayFilterFactory.Config admissionConfig = new AdmissionControlGatewayFilterFactory.Config();
+        admissionConfig.setRouteId(ROUTE_ID);
+        admissionConfig.setInitialLimit(initialLimit);
+        admissionConfig.setMinLimit(minLimit);
+        admissionConfig.setMaxLimit(maxLimit);
+        this.admissionControl = admissionControlFactory.apply(admissionConfig);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getURI().getPath().startsWith(PATH_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        return keyResolver.resolve(exchange)
+            .flatMap(key -> rateLimiter.isAllowed(ROUTE_ID, key))
+            .flatMap(response -> {
+                response.getHeaders().forEach(exchange.getResponse().getHeaders()::set);
+                if (!response.isAllowed()) {
+                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    return exchange.getResponse().setComplete();
+                }
+                return admissionControl.filter(exchange, chain::filter);
+            });
+    }
+
+    /**
+     * Runs after {@link AuthFilter}, so the rate-limit key can use the verified user.
+     */
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
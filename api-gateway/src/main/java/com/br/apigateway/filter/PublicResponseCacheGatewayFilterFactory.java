@@ -0,0 +1,300 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.cache.CacheKeys;
+import com.br.apigateway.cache.CachedResponse;
+import com.br.apigateway.cache.ResponseCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Route filter {@code PublicResponseCache}: caches successful GET responses of public catalog routes.
+ * <ul>
+ *   <li>Keys are normalized by {@link CacheKeys}.</li>
+ *   <li>Downstream {@code Cache-Control} is honored: {@code no-store}, {@code no-cache} and {@code private}
+ *       are not cached, {@code s-maxage}/{@code max-age} set the TTL (capped at {@code maxTtlMs}); without it
+ *       entries live {@code defaultTtlMs}. Responses with {@code Set-Cookie} or {@code Vary: *} are never cached.</li>
+ *   <li>A client {@code If-None-Match} matching the cached {@code ETag} gets {@code 304}.</li>
+ *   <li>Concurrent misses for a key wait for the first one's downstream call instead of making their own.</li>
+ * </ul>
+ * Responses carry {@code X-Cache: HIT|MISS}; coalesced misses are counted as {@code gateway.response-cache.coalesced}.
+ */
+@Component
+public class PublicResponseCacheGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<PublicResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    // Connection-level or per-response headers that must not be replayed from the cache
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+        HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+        HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+        HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+        HttpHeaders.DATE.toLowerCase(Locale.ROOT),
+        HttpHeaders.AGE.toLowerCase(Locale.ROOT),
+        "keep-alive",
+        CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT)
+    );
+
+    private final ResponseCache responseCache;
+    private final Duration coalesceTimeout;
+    private final Counter coalesced;
+
+    public PublicResponseCacheGatewayFilterFactory(
+        ResponseCache responseCache,
+        MeterRegistry meterRegistry,
+        @Value("${gateway.response-cache.coalesce-timeout-ms:5000}") long coalesceTimeoutMs
+    ) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.coalesceTimeout = Duration.ofMillis(coalesceTimeoutMs);
+        this.coalesced = meterRegistry.counter("gateway.response-cache.coalesced");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            String key = CacheKeys.of(exchange.getRequest());
+            CachedResponse cached = responseCache.get(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+
+            Sinks.One<CachedResponse> own = Sinks.one();
+            Sinks.One<CachedResponse> flight = responseCache.join(key, own);
+            if (flight != own) {
+                // Another request is fetching this key: reuse its response, or fetch alone if it is not cacheable
+                coalesced.increment();
+                return flight.asMono()
+                    .timeout(coalesceTimeout)
+                    .map(Optional::of)
+                    .onErrorResume(ex -> Mono.empty())
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> shared.isPresent()
+                        ? writeCached(exchange, shared.get())
+                        : chain.filter(exchange));
+            }
+
+            CapturingResponse capturing = new CapturingResponse(exchange.getResponse(), config);
+            capturing.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> responseCache.finish(key, own, capturing.captured()));
+        };
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(System.currentTimeMillis())));
+
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (cached.etag() != null && ifNoneMatch != null && etagMatches(ifNoneMatch, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().capacity());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.bodyView())));
+    }
+
+    // Weak comparison, as If-None-Match requires
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        String expected = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * How long a response may be cached, 0 if it may not.
+     */
+    private static long ttlMillis(HttpStatusCode status, HttpHeaders headers, Config config) {
+        if (status == null || status.value() != HttpStatus.OK.value()
+            || headers.getFirst(HttpHeaders.SET_COOKIE) != null
+            || headers.getOrEmpty(HttpHeaders.VARY).stream().anyMatch(vary -> vary.contains("*"))) {
+            return 0;
+        }
+
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.split(",")) {
+                String d = directive.trim().toLowerCase(Locale.ROOT);
+                if (d.equals("no-store") || d.equals("no-cache") || d.startsWith("private")) {
+                    return 0;
+                }
+                if (d.startsWith("s-maxage=")) {
+                    sharedMaxAge = parseSeconds(d.substring("s-maxage=".length()));
+                } else if (d.startsWith("max-age=")) {
+                    maxAge = parseSeconds(d.substring("max-age=".length()));
+                }
+            }
+        }
+
+        long seconds = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+        long ttl = seconds >= 0 ? seconds * 1000 : config.getDefaultTtlMs();
+        return Math.min(ttl, config.getMaxTtlMs());
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * Passes the downstream response through to the client while copying it, so the first requester
+     * is not delayed by caching.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final Config config;
+        private volatile CachedResponse captured;
+
+        private CapturingResponse(ServerHttpResponse delegate, Config config) {
+            super(delegate);
+            this.config = config;
+        }
+
+        private CachedResponse captured() {
+            return captured;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long ttlMs = ttlMillis(getStatusCode(), getHeaders(), config);
+            if (ttlMs <= 0) {
+                return super.writeWith(body);
+            }
+
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (!UNCACHED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.put(name, new ArrayList<>(values));
+                }
+            });
+            BodyCapture capture = new BodyCapture(responseCache.getMaxEntryBytes());
+
+            Flux<? extends DataBuffer> copied = Flux.from(body)
+                .doOnNext(capture::append)
+                .doOnComplete(() -> {
+                    ByteBuffer stored = capture.toDirectBuffer();
+                    if (stored != null) {
+                        long now = System.currentTimeMillis();
+                        captured = new CachedResponse(
+                            status,
+                            HttpHeaders.readOnlyHttpHeaders(headers),
+                            stored,
+                            headers.getETag(),
+                            now,
+                            now + ttlMs
+                        );
+                    }
+                });
+            return super.writeWith(copied);
+        }
+    }
+
+    private static final class BodyCapture {
+
+        private final int maxBytes;
+        private final List<byte[]> chunks = new ArrayList<>();
+        private int size;
+        private boolean tooLarge;
+
+        private BodyCapture(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private void append(DataBuffer buffer) {
+            if (tooLarge) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (size + length > maxBytes) {
+                tooLarge = true;
+                chunks.clear();
+                return;
+            }
+            byte[] chunk = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+            chunks.add(chunk);
+            size += length;
+        }
+
+        // Null when the body exceeded the per-entry limit
+        private ByteBuffer toDirectBuffer() {
+            if (tooLarge) {
+                return null;
+            }
+            ByteBuffer body = ByteBuffer.allocateDirect(size);
+            for (byte[] chunk : chunks) {
+                body.put(chunk);
+            }
+            return body.flip();
+        }
+    }
+
+    public static class Config {
+
+        // Used when the downstream response has no max-age
+        private long defaultTtlMs = 30000;
+        private long maxTtlMs = 300000;
+
+        public long getDefaultTtlMs() {
+            return defaultTtlMs;
+        }
+
+        public void setDefaultTtlMs(long defaultTtlMs) {
+            this.defaultTtlMs = defaultTtlMs;
+        }
+
+        public long getMaxTtlMs() {
+            return maxTtlMs;
+        }
+
+        public void setMaxTtlMs(long maxTtlMs) {
+            this.maxTtlMs = maxTtlMs;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.br.apigateway.hedge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hedging and retry state of one route: observed latency, retry budget and metrics
+ * ({@code gateway.hedge.fired}, {@code gateway.hedge.won}, {@code gateway.retry.attempts},
+ * {@code gateway.retry.budget-exhausted} and the {@code gateway.hedge.delay} gauge, tagged with the route).
+ */
+public class HedgePolicy {
+
+    /**
+     * Exchange attribute set by the {@code Hedge} route filter for requests that may be hedged.
+     */
+    public static final String ATTR = HedgePolicy.class.getName();
+
+    private final long initialDelayNanos;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final Duration attemptTimeout;
+    private final LatencyTracker latency = new LatencyTracker();
+    private final RetryBudget budget;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter retries;
+    private final Counter budgetExhausted;
+
+    public HedgePolicy(
+        String routeId,
+        MeterRegistry meterRegistry,
+        long initialDelayMs,
+        long minDelayMs,
+        long maxDelayMs,
+        long attemptTimeoutMs,
+        double budgetPercent,
+        int maxBudgetTokens
+    ) {
+        this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMs);
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maxDelayMs, minDelayMs));
+        this.attemptTimeout = Duration.ofMillis(attemptTimeoutMs);
+        this.budget = new RetryBudget(budgetPercent, maxBudgetTokens);
+        this.hedgesFired = meterRegistry.counter("gateway.hedge.fired", "route", routeId);
+        this.hedgesWon = meterRegistry.counter("gateway.hedge.won", "route", routeId);
+        this.retries = meterRegistry.counter("gateway.retry.attempts", "route", routeId);
+        this.budgetExhausted = meterRegistry.counter("gateway.retry.budget-exhausted", "route", routeId);
+        Gauge.builder("gateway.hedge.delay", this, policy -> policy.hedgeDelay().toMillis())
+            .tag("route", routeId)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Delay before the hedge is sent: the route's observed p95 latency, within the configured bounds.
+     */
+    public Duration hedgeDelay() {
+        long p95 = latency.p95Nanos(initialDelayNanos);
+        return Duration.ofNanos(Math.clamp(p95, minDelayNanos, maxDelayNanos));
+    }
+
+    public Duration attemptTimeout() {
+        return attemptTimeout;
+    }
+
+    public void onRequest() {
+        budget.deposit();
+    }
+
+    public void recordLatency(long latencyNanos) {
+        latency.record(latencyNanos);
+    }
+
+    /**
+     * Takes budget for a hedge; false when the budget is exhausted.
+     */
+    public boolean tryHedge() {
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.increment();
+            return false;
+        }
+        hedgesFired.increment();
+        return true;
+    }
+
+    public void hedgeWon() {
+        hedgesWon.increment();
+    }
+
+    /**
+     * Takes budget for a retry after failed attempts; false when the budget is exhausted.
+     */
+    public boolean tryRetry() {
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.increment();
+            return false;
+        }
+        retries.increment();
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.br.apigateway.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the latest {@value #SIZE} latencies of a route and their 95th percentile, recomputed every
+ * {@value #RECOMPUTE_EVERY} samples. Recording is lock-free.
+ */
+class LatencyTracker {
+
+    private static final int SIZE = 512;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final int MIN_SAMPLES = 20;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long p95Nanos;
+
+    void record(long latencyNanos) {
+        long index = count.getAndIncrement();
+        samples.set((int) (index & (SIZE - 1)), latencyNanos);
+        if ((index + 1) % RECOMPUTE_EVERY == 0) {
+            recompute();
+        }
+    }
+
+    /**
+     * The 95th percentile, or {@code fallbackNanos} until enough samples were seen.
+     */
+    long p95Nanos(long fallbackNanos) {
+        long p95 = p95Nanos;
+        return p95 == 0 ? fallbackNanos : p95;
+    }
+
+    private void recompute() {
+        int n = (int) Math.min(count.get(), SIZE);
+        if (n < MIN_SAMPLES) {
+            return;
+        }
+        long[] copy = new long[n];
+        for (int i = 0; i < n; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        p95Nanos = copy[(int) (n * 0.95)];
+    }
+}
@@ -0,0 +1,40 @@
+package com.br.apigateway.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps extra attempts (hedges and retries) to a percentage of a route's traffic: every request deposits
+ * {@code percent / 100} of a token, every extra attempt withdraws a whole one. The balance is capped,
+ * so a quiet period cannot save up for a retry storm.
+ */
+class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    RetryBudget(double percent, int maxTokens) {
+        this.deposit = Math.round(percent / 100 * TOKEN);
+        this.maxBalance = Math.max(maxTokens, 1) * TOKEN;
+        // One token up front, so the first slow request after startup can already be hedged
+        this.balance = new AtomicLong(TOKEN);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(current + amount, maxBalance));
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
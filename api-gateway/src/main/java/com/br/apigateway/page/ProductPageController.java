@@ -0,0 +1,30 @@
+package com.br.apigateway.page;
+
+import com.br.apigateway.page.dto.ProductPageResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composition endpoints served by the gateway itself rather than routed to one service.
+ */
+@RestController
+@RequestMapping("/api/v1/pages")
+public class ProductPageController {
+
+    private final ProductPageService productPageService;
+
+    public ProductPageController(ProductPageService productPageService) {
+        this.productPageService = productPageService;
+    }
+
+    /**
+     * Product, availability and category breadcrumbs for a product detail page, in one round trip.
+     */
+    @GetMapping("/products/{slug}")
+    public Mono<ProductPageResponse> productPage(@PathVariable String slug) {
+        return productPageService.getBySlug(slug);
+    }
+}
@@ -0,0 +1,183 @@
+package com.br.apigateway.page;
+
+import com.br.apigateway.page.dto.Availability;
+import com.br.apigateway.page.dto.Breadcrumb;
+import com.br.apigateway.page.dto.ProductPageResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Composes the product detail page from product-service (product by slug, category tree) and inventory-service
+ * (stock), calling them concurrently where the data allows. Only the product is required; inventory and
+ * breadcrumbs degrade to null on failure.
+ * Availability is cached per product for {@code gateway.pages.inventory-ttl-ms} and the category tree for
+ * {@code gateway.pages.categories-ttl-ms}; concurrent misses share one downstream call.
+ */
+@Service
+public class ProductPageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductPageService.class);
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<CategoryNode>> CATEGORIES = new ParameterizedTypeReference<>() {};
+    private static final String CATEGORIES_KEY = "all";
+    // Guards against cycles in parent links
+    private static final int MAX_CATEGORY_DEPTH = 10;
+
+    private final WebClient productWebClient;
+    private final WebClient inventoryWebClient;
+    private final Duration timeout;
+    private final AsyncCache<UUID, Availability> availabilityCache;
+    private final AsyncCache<String, Map<UUID, CategoryNode>> categoryCache;
+
+    public ProductPageService(
+        @Qualifier("productWebClient") WebClient productWebClient,
+        @Qualifier("inventoryWebClient") WebClient inventoryWebClient,
+        @Value("${gateway.pages.timeout-ms:2000}") long timeoutMs,
+        @Value("${gateway.pages.inventory-ttl-ms:5000}") long inventoryTtlMs,
+        @Value("${gateway.pages.categories-ttl-ms:60000}") long categoriesTtlMs,
+        @Value("${gateway.pages.inventory-cache-size:10000}") long inventoryCacheSize
+    ) {
+        this.productWebClient = productWebClient;
+        this.inventoryWebClient = inventoryWebClient;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.availabilityCache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(inventoryTtlMs))
+            .maximumSize(inventoryCacheSize)
+            .buildAsync();
+        this.categoryCache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(categoriesTtlMs))
+            .maximumSize(1)
+            .buildAsync();
+    }
+
+    public Mono<ProductPageResponse> getBySlug(String slug) {
+        // The category tree does not depend on the product, so it loads alongside it
+        Mono<Optional<Map<UUID, CategoryNode>>> categories = optional(categoryIndex(), "categories");
+
+        return Mono.zip(product(slug), categories).flatMap(loaded -> {
+            Map<String, Object> product = loaded.getT1();
+            UUID productId = uuid(product.get("id"));
+            UUID categoryId = uuid(product.get("categoryId"));
+
+            Mono<Optional<Availability>> availability = productId == null
+                ? Mono.just(Optional.empty())
+                : optional(availability(productId), "inventory");
+
+            return availability.map(loadedAvailability -> {
+                List<String> unavailable = new ArrayList<>(2);
+                Availability stock = loadedAvailability.orElse(null);
+                if (stock == null) {
+                    unavailable.add("availability");
+                }
+                List<Breadcrumb> breadcrumbs = loaded.getT2()
+                    .map(index -> breadcrumbs(index, categoryId))
+                    .orElse(null);
+                if (breadcrumbs == null) {
+                    unavailable.add("breadcrumbs");
+                }
+                return new ProductPageResponse(product, stock, breadcrumbs, unavailable);
+            });
+        });
+    }
+
+    private Mono<Map<String, Object>> product(String slug) {
+        return productWebClient.get()
+            .uri("/api/v1/products/slug/{slug}", slug)
+            .retrieve()
+            .bodyToMono(JSON_OBJECT)
+            .timeout(timeout)
+            .onErrorMap(WebClientResponseException.NotFound.class,
+                ex -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"))
+            .onErrorMap(ex -> !(ex instanceof ResponseStatusException),
+                ex -> new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Product unavailable", ex));
+    }
+
+    private Mono<Availability> availability(UUID productId) {
+        return Mono.fromFuture(availabilityCache.get(productId, (id, executor) ->
+            inventoryWebClient.get()
+                .uri("/api/v1/inventory/internal/{productId}", id)
+                .header("X-Internal-Call", "true")
+                .retrieve()
+                .bodyToMono(InventoryLevel.class)
+                .timeout(timeout)
+                .map(InventoryLevel::toAvailability)
+                .toFuture()));
+    }
+
+    private Mono<Map<UUID, CategoryNode>> categoryIndex() {
+        return Mono.fromFuture(categoryCache.get(CATEGORIES_KEY, (key, executor) ->
+            productWebClient.get()
+                .uri("/api/v1/categories")
+                .retrieve()
+                .bodyToMono(CATEGORIES)
+                .timeout(timeout)
+                .map(list -> list.stream().collect(Collectors.toUnmodifiableMap(CategoryNode::id, Function.identity())))
+                .toFuture()));
+    }
+
+    // Root first, ending at the product's own category
+    private static List<Breadcrumb> breadcrumbs(Map<UUID, CategoryNode> index, UUID categoryId) {
+        List<Breadcrumb> path = new ArrayList<>();
+        CategoryNode node = categoryId == null ? null : index.get(categoryId);
+        while (node != null && path.size() < MAX_CATEGORY_DEPTH) {
+            path.add(new Breadcrumb(node.id(), node.name(), node.slug()));
+            node = node.parentId() == null ? null : index.get(node.parentId());
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static <T> Mono<Optional<T>> optional(Mono<T> part, String name) {
+        return part.map(Optional::of)
+            .onErrorResume(ex -> {
+                log.warn("Product page part '{}' unavailable: {}", name, ex.getMessage());
+                return Mono.empty();
+            })
+            .defaultIfEmpty(Optional.empty());
+    }
+
+    private static UUID uuid(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.toString());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    record CategoryNode(UUID id, String name, String slug, UUID parentId) {
+    }
+
+    record InventoryLevel(UUID productId, Integer quantity, Integer reservedQuantity) {
+
+        private Availability toAvailability() {
+            int onHand = quantity == null ? 0 : quantity;
+            int reserved = reservedQuantity == null ? 0 : reservedQuantity;
+            int available = Math.max(onHand - reserved, 0);
+            return new Availability(available, available > 0);
+        }
+    }
+}
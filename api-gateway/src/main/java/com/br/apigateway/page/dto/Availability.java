@@ -0,0 +1,7 @@
+package com.br.apigateway.page.dto;
+
+/**
+ * Stock a customer can still buy: on-hand quantity minus reservations.
+ */
+public record Availability(int available, boolean inStock) {
+}
@@ -0,0 +1,6 @@
+package com.br.apigateway.page.dto;
+
+import java.util.UUID;
+
+public record Breadcrumb(UUID id, String name, String slug) {
+}
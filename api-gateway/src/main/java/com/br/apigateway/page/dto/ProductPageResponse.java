@@ -0,0 +1,16 @@
+package com.br.apigateway.page.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a product detail page needs in one document. {@code product} is passed through from product-service
+ * unchanged. Parts that could not be loaded are null and listed in {@code unavailable}, so the page can still render.
+ */
+public record ProductPageResponse(
+    Map<String, Object> product,
+    Availability availability,
+    List<Breadcrumb> breadcrumbs,
+    List<String> unavailable
+) {
+}
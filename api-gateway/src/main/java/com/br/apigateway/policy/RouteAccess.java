@@ -0,0 +1,15 @@
+package com.br.apigateway.policy;
+
+/**
+ * Who may call a gateway path.
+ */
+public enum RouteAccess {
+    /** No token needed. */
+    PUBLIC,
+    /** Any valid, unrevoked access token. */
+    AUTHENTICATED,
+    /** A valid access token with role ADMIN. */
+    ADMIN,
+    /** Service-to-service only: never reachable through the gateway. */
+    INTERNAL
+}
@@ -0,0 +1,27 @@
+package com.br.apigateway.policy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Access rules under {@code gateway.security}. Paths matching no rule get {@code defaultAccess}.
+ *
+ * @param rules patterns are {@code /}-separated segments; {@code *} matches one segment and a trailing
+ *              {@code **} any remainder (including none). {@code methods} empty means any method.
+ */
+@ConfigurationProperties(prefix = "gateway.security")
+public record RoutePolicyProperties(RouteAccess defaultAccess, List<Rule> rules) {
+
+    public RoutePolicyProperties {
+        defaultAccess = defaultAccess == null ? RouteAccess.AUTHENTICATED : defaultAccess;
+        rules = rules == null ? List.of() : rules;
+    }
+
+    public record Rule(String pattern, List<String> methods, RouteAccess access) {
+
+        public Rule {
+            methods = methods == null ? List.of() : methods;
+        }
+    }
+}
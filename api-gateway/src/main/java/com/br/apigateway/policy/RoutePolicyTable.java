@@ -0,0 +1,244 @@
+package com.br.apigateway.policy;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Route access rules compiled into a segment trie. A lookup walks the path once, comparing segments in place,
+ * so it costs O(path length) and allocates nothing.
+ * <p>
+ * Precedence: a literal segment beats {@code *}, which beats a {@code **} at the same depth; deeper {@code **}
+ * rules beat shallower ones; a rule for the request method beats one for any method on the same pattern.
+ */
+@Component
+public class RoutePolicyTable {
+
+    private static final String[] METHOD_SLOTS = {"GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE"};
+    private static final int ANY_METHOD = METHOD_SLOTS.length;
+    private static final int NO_MATCH = -1;
+
+    private final Node root = new Node();
+    private final RouteAccess defaultAccess;
+
+    public RoutePolicyTable(RoutePolicyProperties properties) {
+        this.defaultAccess = properties.defaultAccess();
+        for (RoutePolicyProperties.Rule rule : properties.rules()) {
+            add(rule);
+        }
+    }
+
+    /**
+     * Returns the access required for {@code method} on {@code path}, or null when the path contains
+     * {@code .} or {@code ..} segments, which are never routed.
+     */
+    public RouteAccess resolve(HttpMethod method, String path) {
+        int slot = slot(method.name());
+        if (hasDotSegment(path)) {
+            return null;
+        }
+        RouteAccess access = match(root, path, 0, slot);
+        return access == null ? defaultAccess : access;
+    }
+
+    private RouteAccess match(Node node, String path, int from, int slot) {
+        int start = skipSlashes(path, from);
+        if (start == path.length()) {
+            RouteAccess exact = node.exact == null ? null : node.exact.get(slot);
+            if (exact != null) {
+                return exact;
+            }
+            return node.rest == null ? null : node.rest.get(slot);
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+
+        Node literal = node.child(path, start, end);
+        if (literal != null) {
+            RouteAccess access = match(literal, path, end, slot);
+            if (access != null) {
+                return access;
+            }
+        }
+        if (node.wildcard != null) {
+            RouteAccess access = match(node.wildcard, path, end, slot);
+            if (access != null) {
+                return access;
+            }
+        }
+        return node.rest == null ? null : node.rest.get(slot);
+    }
+
+    private void add(RoutePolicyProperties.Rule rule) {
+        if (rule.pattern() == null || rule.access() == null) {
+            throw new IllegalArgumentException("Route rule needs a pattern and an access: " + rule);
+        }
+
+        List<String> segments = Arrays.stream(rule.pattern().split("/")).filter(s -> !s.isEmpty()).toList();
+        Node node = root;
+        boolean rest = false;
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (segment.equals("**")) {
+                if (i != segments.size() - 1) {
+                    throw new IllegalArgumentException("'**' must be the last segment: " + rule.pattern());
+                }
+                rest = true;
+            } else if (segment.equals("*")) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.addChild(segment);
+            }
+        }
+
+        Policies policies;
+        if (rest) {
+            policies = node.rest == null ? node.rest = new Policies() : node.rest;
+        } else {
+            policies = node.exact == null ? node.exact = new Policies() : node.exact;
+        }
+        if (rule.methods().isEmpty()) {
+            policies.set(ANY_METHOD, rule.access(), rule.pattern());
+        }
+        for (String method : rule.methods()) {
+            int slot = slot(method.toUpperCase(Locale.ROOT));
+            if (slot == NO_MATCH) {
+                throw new IllegalArgumentException("Unknown HTTP method '" + method + "' in " + rule.pattern());
+            }
+            policies.set(slot, rule.access(), rule.pattern());
+        }
+    }
+
+    private static int slot(String method) {
+        for (int i = 0; i < METHOD_SLOTS.length; i++) {
+            if (METHOD_SLOTS[i].equals(method)) {
+                return i;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private static int skipSlashes(String path, int from) {
+        while (from < path.length() && path.charAt(from) == '/') {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean hasDotSegment(String path) {
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            int length = end - start;
+            if ((length == 1 && path.charAt(start) == '.')
+                || (length == 2 && path.charAt(start) == '.' && path.charAt(start + 1) == '.')) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    // Access per method slot, with ANY_METHOD as the fallback
+    private static final class Policies {
+
+        private final RouteAccess[] bySlot = new RouteAccess[METHOD_SLOTS.length + 1];
+
+        private void set(int slot, RouteAccess access, String pattern) {
+            if (bySlot[slot] != null && bySlot[slot] != access) {
+                throw new IllegalArgumentException("Conflicting route rules for " + pattern);
+            }
+            bySlot[slot] = access;
+        }
+
+        private RouteAccess get(int slot) {
+            RouteAccess access = slot == NO_MATCH ? null : bySlot[slot];
+            return access != null ? access : bySlot[ANY_METHOD];
+        }
+    }
+
+    private static final class Node {
+
+        // Literal children in an open-addressed table keyed by segment, probed with String-compatible hashes
+        private String[] keys = new String[4];
+        private Node[] children = new Node[4];
+        private int size;
+        private Node wildcard;
+        private Policies exact;
+        private Policies rest;
+
+        private Node child(String path, int start, int end) {
+            int mask = keys.length - 1;
+            int length = end - start;
+            for (int i = spread(hash(path, start, end)) & mask; keys[i] != null; i = (i + 1) & mask) {
+                String key = keys[i];
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(String segment) {
+            Node existing = child(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            Node node = new Node();
+            put(segment, node);
+            return node;
+        }
+
+        private void put(String segment, Node node) {
+            int mask = keys.length - 1;
+            int i = spread(segment.hashCode()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = segment;
+            children[i] = node;
+            size++;
+        }
+
+        private void resize() {
+            String[] oldKeys = keys;
+            Node[] oldChildren = children;
+            keys = new String[oldKeys.length * 2];
+            children = new Node[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    put(oldKeys[i], oldChildren[i]);
+                }
+            }
+        }
+
+        // Same value as path.substring(start, end).hashCode(), without the substring
+        private static int hash(String path, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + path.charAt(i);
+            }
+            return h;
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.br.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter for the {@code RequestRateLimiter} route filter, kept in memory on each node.
+ * Each (route, key) pair has one bucket stored as a single {@code AtomicLong} (GCRA: the time at which
+ * the bucket will be full again), so checks are lock-free and allocation-free apart from the key.
+ * Idle buckets are evicted after {@code gateway.rate-limit.idle-expiry-ms}.
+ * <p>
+ * Per route, under {@code local-rate-limiter.*} in the filter args: {@code replenishRate} (requests per second),
+ * {@code burstCapacity} and {@code sharedBudget}. With a shared budget the configured rate and burst are for
+ * the whole cluster and each of the {@code gateway.rate-limit.instances} nodes enforces its share.
+ * Rejections are counted as {@code gateway.ratelimit.rejected{route}}.
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    private static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final Cache<String, Bucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> rejected = new ConcurrentHashMap<>();
+    private final int instances;
+    private final Config defaultConfig = new Config();
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LocalRateLimiter(
+        ConfigurationService configurationService,
+        MeterRegistry meterRegistry,
+        @Value("${gateway.rate-limit.max-keys:100000}") long maxKeys,
+        @Value("${gateway.rate-limit.idle-expiry-ms:600000}") long idleExpiryMs,
+        @Value("${gateway.rate-limit.instances:1}") int instances
+    ) {
+        this(configurationService, meterRegistry, maxKeys, idleExpiryMs, instances, System::nanoTime);
+    }
+
+    LocalRateLimiter(
+        ConfigurationService configurationService,
+        MeterRegistry meterRegistry,
+        long maxKeys,
+        long idleExpiryMs,
+        int instances,
+        LongSupplier nanoClock
+    ) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.instances = Math.max(instances, 1);
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(Duration.ofMillis(idleExpiryMs))
+            .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+
+        double rate = Math.max(config.getReplenishRate(), 1);
+        long burst = Math.max(config.getBurstCapacity(), 1);
+        if (config.isSharedBudget()) {
+            rate /= instances;
+            burst = Math.max(burst / instances, 1);
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(routeId + '|' + id, key -> new Bucket(now));
+        long result = bucket.tryAcquire(now, intervalNanos, intervalNanos * burst);
+
+        Map<String, String> headers;
+        if (result >= 0) {
+            headers = Map.of(
+                REMAINING_HEADER, Long.toString(result),
+                REPLENISH_RATE_HEADER, Long.toString(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, Long.toString(config.getBurstCapacity())
+            );
+            return Mono.just(new Response(true, headers));
+        }
+
+        rejected.computeIfAbsent(routeId, route -> meterRegistry.counter("gateway.ratelimit.rejected", "route", route))
+            .increment();
+        long retryAfterSeconds = Math.max(TimeUnit.NANOSECONDS.toSeconds(-result + TimeUnit.SECONDS.toNanos(1) - 1), 1);
+        headers = Map.of(
+            REMAINING_HEADER, "0",
+            REPLENISH_RATE_HEADER, Long.toString(config.getReplenishRate()),
+            BURST_CAPACITY_HEADER, Long.toString(config.getBurstCapacity()),
+            RETRY_AFTER_HEADER, Long.toString(retryAfterSeconds)
+        );
+        return Mono.just(new Response(false, headers));
+    }
+
+    private static final class Bucket {
+
+        // Theoretical arrival time: when the bucket will be full again if nothing else is taken
+        private final AtomicLong fullAt;
+
+        private Bucket(long nowNanos) {
+            this.fullAt = new AtomicLong(nowNanos);
+        }
+
+        /**
+         * Takes one token. Returns the tokens left, or, when the bucket is empty, minus the nanoseconds
+         * until the next token.
+         */
+        private long tryAcquire(long nowNanos, long intervalNanos, long capacityNanos) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, nowNanos) + intervalNanos;
+                long debt = next - nowNanos;
+                if (debt > capacityNanos) {
+                    return -(debt - capacityNanos);
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return (capacityNanos - debt) / intervalNanos;
+                }
+            }
+        }
+    }
+
+    public static class Config {
+
+        private long replenishRate = 20;
+        private long burstCapacity = 40;
+        private boolean sharedBudget = false;
+
+        public long getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(long replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public long getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(long burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public boolean isSharedBudget() {
+            return sharedBudget;
+        }
+
+        public void setSharedBudget(boolean sharedBudget) {
+            this.sharedBudget = sharedBudget;
+        }
+    }
+}
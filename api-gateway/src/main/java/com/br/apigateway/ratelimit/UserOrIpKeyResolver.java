@@ -0,0 +1,42 @@
+package com.br.apigateway.ratelimit;
+
+import com.br.apigateway.filter.AuthFilter;
+import com.br.apigateway.token.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Rate-limit key of a request: the user id for authenticated requests (taken from the token verified by
+ * {@link AuthFilter}, never from client headers), otherwise the client IP.
+ * With {@code gateway.rate-limit.trusted-proxies} > 0 the IP is read from {@code X-Forwarded-For},
+ * trusting that many proxies in front of the gateway.
+ */
+@Component
+public class UserOrIpKeyResolver implements KeyResolver {
+
+    private final RemoteAddressResolver remoteAddressResolver;
+
+    public UserOrIpKeyResolver(@Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        this.remoteAddressResolver = trustedProxies > 0
+            ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+            : new RemoteAddressResolver() {};
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        VerifiedToken verified = exchange.getAttribute(AuthFilter.VERIFIED_TOKEN_ATTR);
+        if (verified != null) {
+            return Mono.just("user:" + verified.userId());
+        }
+
+        InetSocketAddress address = remoteAddressResolver.resolve(exchange);
+        return Mono.just("ip:" + (address == null ? "unknown" : address.getHostString()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.br.apigateway.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bloom filter split into a ring of time buckets by expiry. A key is added to the bucket of the window
+ * in which it expires, and a bucket is discarded whole once its window has passed, so the filter
+ * prunes itself without per-entry bookkeeping. Lookups and inserts are lock-free and allocation-free.
+ * A negative answer is definite; a positive one must be confirmed against an exact set.
+ */
+class ExpiringBloomFilter {
+
+    private static final int HASHES = 3;
+
+    private final long windowMs;
+    private final int bitsMask;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * @param bucketCount number of windows covered; keys expiring further ahead than
+     *                    {@code bucketCount * windowMs} are rejected by {@link #add}
+     * @param bitsPerBucket rounded up to a power of two
+     */
+    ExpiringBloomFilter(int bucketCount, long windowMs, int bitsPerBucket) {
+        this.windowMs = windowMs;
+        int bits = Integer.highestOneBit(Math.max(bitsPerBucket - 1, 63)) << 1;
+        this.bitsMask = bits - 1;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.set(i, new Bucket(Long.MIN_VALUE, bits));
+        }
+    }
+
+    /**
+     * Adds {@code key} until {@code expiresAtMillis}. Returns false (and adds nothing) when the key
+     * has already expired or expires beyond the filter's horizon.
+     */
+    boolean add(String key, long expiresAtMillis, long nowMillis) {
+        long window = expiresAtMillis / windowMs;
+        long current = nowMillis / windowMs;
+        if (window < current) {
+            return false;
+        }
+        if (window >= current + buckets.length()) {
+            return false;
+        }
+
+        int slot = (int) Math.floorMod(window, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket.window < window) {
+                // The slot still holds a bucket whose window has passed: start the new window in it
+                buckets.compareAndSet(slot, bucket, new Bucket(window, bitsMask + 1));
+                continue;
+            }
+            bucket.set(key.hashCode(), bitsMask);
+            // A concurrent roll-over may only replace buckets of earlier windows, so this is a re-check
+            // against losing the bits to a replacement created between get() and set()
+            if (buckets.get(slot) == bucket) {
+                return true;
+            }
+        }
+    }
+
+    boolean mightContain(String key, long nowMillis) {
+        long current = nowMillis / windowMs;
+        int hash = key.hashCode();
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket.window >= current && bucket.mightContain(hash, bitsMask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Bucket {
+
+        private final long window;
+        private final AtomicLongArray words;
+
+        private Bucket(long window, int bits) {
+            this.window = window;
+            this.words = new AtomicLongArray(bits >>> 6);
+        }
+
+        private void set(int hash, int mask) {
+            int h1 = mix(hash);
+            int h2 = mix(h1) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long bitMask = 1L << bit;
+                int word = bit >>> 6;
+                long value;
+                do {
+                    value = words.get(word);
+                } while ((value & bitMask) == 0 && !words.compareAndSet(word, value, value | bitMask));
+            }
+        }
+
+        private boolean mightContain(int hash, int mask) {
+            int h1 = mix(hash);
+            int h2 = mix(h1) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Murmur3 finalizer, so String.hashCode's weak low bits spread over the whole bucket
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+    }
+}
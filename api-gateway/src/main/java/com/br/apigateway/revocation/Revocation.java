@@ -0,0 +1,12 @@
+package com.br.apigateway.revocation;
+
+import java.util.UUID;
+
+/**
+ * A revocation published by auth-service, both on the {@code auth.revoked} topic and by its resync endpoint.
+ * Times are epoch milliseconds. With a {@code tokenId}, access tokens of that session ("sid" claim) are rejected;
+ * without one, every access token of {@code userId} issued at or before {@code revokedAt}.
+ * Either way the revocation is dropped after {@code expiresAt}, when the tokens it covers have expired.
+ */
+public record Revocation(UUID userId, UUID tokenId, long revokedAt, long expiresAt) {
+}
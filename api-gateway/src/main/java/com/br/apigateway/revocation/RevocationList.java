@@ -0,0 +1,136 @@
+package com.br.apigateway.revocation;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory deny-list of access tokens, checked for every authenticated request.
+ * A time-bucketed bloom filter answers the common case (token not revoked) with a few bit reads;
+ * only filter hits are confirmed against the exact maps. Entries are dropped once every token they cover
+ * has expired, so the list only holds recent revocations.
+ */
+@Component
+public class RevocationList {
+
+    // sessionId -> expiresAtMillis, for revocations of one session
+    private final ConcurrentMap<String, Long> sessions = new ConcurrentHashMap<>();
+    // userId -> newest user-wide revocation
+    private final ConcurrentMap<String, Entry> users = new ConcurrentHashMap<>();
+    private final ExpiringBloomFilter filter;
+    // Entries the filter could not hold (expiring past its horizon); while any exist, lookups skip the filter
+    private final AtomicInteger unfiltered = new AtomicInteger();
+    private final Clock clock;
+
+    @Autowired
+    public RevocationList(
+        @Value("${security.revocation.filter.buckets:4}") int buckets,
+        @Value("${security.revocation.filter.window-ms:300000}") long windowMs,
+        @Value("${security.revocation.filter.bits-per-bucket:1048576}") int bitsPerBucket
+    ) {
+        this(buckets, windowMs, bitsPerBucket, Clock.systemUTC());
+    }
+
+    RevocationList(int buckets, long windowMs, int bitsPerBucket, Clock clock) {
+        this.filter = new ExpiringBloomFilter(buckets, windowMs, bitsPerBucket);
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a revocation. Re-adding an older or equal one is a no-op.
+     */
+    public void add(Revocation revocation) {
+        long now = clock.millis();
+        if (revocation.expiresAt() <= now) {
+            return;
+        }
+
+        String key;
+        if (revocation.tokenId() != null) {
+            key = revocation.tokenId().toString();
+            sessions.merge(key, revocation.expiresAt(), Math::max);
+        } else {
+            key = revocation.userId().toString();
+            users.merge(key, new Entry(revocation.revokedAt() / 1000, revocation.expiresAt()), Entry::newest);
+        }
+        // Exact entry first: a concurrent lookup that passes the filter always finds it
+        if (!filter.add(key, revocation.expiresAt(), now)) {
+            unfiltered.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns true if the token of {@code userId} from session {@code sessionId} (may be null for tokens
+     * issued before sessions were tracked), issued at {@code issuedAtSeconds}, has been revoked.
+     */
+    public boolean isRevoked(String userId, String sessionId, long issuedAtSeconds) {
+        long now = clock.millis();
+        if (unfiltered.get() == 0
+            && (sessionId == null || !filter.mightContain(sessionId, now))
+            && !filter.mightContain(userId, now)) {
+            return false;
+        }
+
+        if (sessionId != null) {
+            Long expiresAt = sessions.get(sessionId);
+            if (expiresAt != null && now < expiresAt) {
+                return true;
+            }
+        }
+        Entry entry = users.get(userId);
+        return entry != null
+            && issuedAtSeconds <= entry.revokedAtSeconds()
+            && now < entry.expiresAtMillis();
+    }
+
+    public int size() {
+        return sessions.size() + users.size();
+    }
+
+    /**
+     * Drops revocations whose tokens have all expired. The filter drops its expired buckets by itself.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.prune-interval-ms:60000}")
+    public void prune() {
+        long now = clock.millis();
+        sessions.values().removeIf(expiresAt -> expiresAt <= now);
+        users.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        if (unfiltered.get() > 0) {
+            refilter(now);
+        }
+    }
+
+    // Retries entries that were past the filter's horizon when added; once all fit, the filter is trusted again
+    private void refilter(long now) {
+        int before = unfiltered.get();
+        int remaining = 0;
+        for (var e : sessions.entrySet()) {
+            if (!filter.add(e.getKey(), e.getValue(), now)) {
+                remaining++;
+            }
+        }
+        for (var e : users.entrySet()) {
+            if (!filter.add(e.getKey(), e.getValue().expiresAtMillis(), now)) {
+                remaining++;
+            }
+        }
+        // Left untouched if add() saw a new unfiltered entry meanwhile; the next prune recounts
+        unfiltered.compareAndSet(before, remaining);
+    }
+
+    private record Entry(long revokedAtSeconds, long expiresAtMillis) {
+
+        private static Entry newest(Entry current, Entry candidate) {
+            return new Entry(
+                Math.max(current.revokedAtSeconds(), candidate.revokedAtSeconds()),
+                Math.max(current.expiresAtMillis(), candidate.expiresAtMillis())
+            );
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.br.apigateway.revocation;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies revocations pushed by auth-service as they happen. Every gateway instance consumes the whole topic
+ * (its own consumer group), starting from the latest offset; what happened before startup or while the consumer
+ * was down is filled in by {@link RevocationSync}.
+ */
+@Component
+public class RevocationListener {
+
+    public static final String TOPIC_AUTH_REVOKED = "auth.revoked";
+
+    private final RevocationList revocationList;
+
+    public RevocationListener(RevocationList revocationList) {
+        this.revocationList = revocationList;
+    }
+
+    @KafkaListener(topics = TOPIC_AUTH_REVOKED, groupId = "${security.revocation.consumer-group}")
+    public void onRevoked(Revocation revocation) {
+        revocationList.add(revocation);
+    }
+}
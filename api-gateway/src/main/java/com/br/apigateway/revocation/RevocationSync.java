@@ -0,0 +1,84 @@
+package com.br.apigateway.revocation;
+
+import com.br.apigateway.config.WebClientConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Loads the revocations recorded by auth-service at startup, then periodically re-reads them to fill in anything
+ * {@link RevocationListener} missed (consumer down, broker unavailable). Runs off the request path: requests never
+ * wait for auth-service.
+ */
+@Component
+public class RevocationSync {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationSync.class);
+    private static final ParameterizedTypeReference<List<Revocation>> REVOCATIONS = new ParameterizedTypeReference<>() {};
+    // Re-reads a short window so revocations committed slightly out of order are not missed
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    private final WebClient authWebClient;
+    private final RevocationList revocationList;
+    private final ReactiveCircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private long lastRevokedAt = 0;
+
+    public RevocationSync(
+        @Qualifier("authWebClient") WebClient authWebClient,
+        RevocationList revocationList,
+        ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+        @Value("${security.revocation.sync-timeout-ms:2000}") long timeoutMs
+    ) {
+        this.authWebClient = authWebClient;
+        this.revocationList = revocationList;
+        this.circuitBreaker = circuitBreakerFactory.create(WebClientConfig.AUTH_CIRCUIT_BREAKER);
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    /**
+     * Fetches revocations recorded since the last sync. On failure, or while the auth-service circuit is open,
+     * the current list is kept and the next run retries from the same point.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${security.revocation.sync-interval-ms:300000}")
+    public void sync() {
+        Instant since = Instant.ofEpochMilli(lastRevokedAt).minus(OVERLAP);
+        try {
+            List<Revocation> revocations = authWebClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/internal/v1/auth/revocations")
+                    .queryParam("since", since.isBefore(Instant.EPOCH) ? Instant.EPOCH : since)
+                    .build())
+                .retrieve()
+                .bodyToMono(REVOCATIONS)
+                .transform(call -> circuitBreaker.run(call, this::skipSync))
+                .block(timeout);
+            if (revocations == null) {
+                return;
+            }
+            for (Revocation revocation : revocations) {
+                revocationList.add(revocation);
+                lastRevokedAt = Math.max(lastRevokedAt, revocation.revokedAt());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not sync token revocations from auth-service: {}", e.getMessage());
+        }
+    }
+
+    // Failed call or open circuit: keep verifying locally with the revocations already known and pushed ones
+    private Mono<List<Revocation>> skipSync(Throwable error) {
+        log.warn("Skipping revocation sync, auth-service unavailable: {}", error.getMessage());
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,8 @@
+package com.br.apigateway.token;
+
+/**
+ * What the gateway needs from an access token once its signature has been checked.
+ * {@code sessionId} is the "sid" claim (the refresh token the access token was issued with), null for older tokens.
+ */
+public record VerifiedToken(String userId, String sessionId, String role, long issuedAtSeconds, long expiresAtMillis) {
+}
@@ -0,0 +1,117 @@
+package com.br.apigateway.token;
+
+import com.br.apigateway.util.JwtUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies access tokens, remembering each verified token until it expires.
+ * Clients send the same token many times during its lifetime; after the first request
+ * a token costs a SHA-256 and a hash lookup instead of a signature check.
+ * Entries are keyed by the token's SHA-256, so a heap dump holds no usable bearer tokens.
+ * Hit and miss counts are published as {@code cache.gets{cache=gateway.verified-tokens}}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // Set by auth-service; refresh tokens carry "refresh" and are never accepted as a bearer
+    private static final String TOKEN_USE_CLAIM = "token_use";
+    private static final String ACCESS_TOKEN_USE = "access";
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(
+        JwtUtils jwtUtils,
+        MeterRegistry meterRegistry,
+        @Value("${security.jwt.cache.max-size:100000}") long maxSize
+    ) {
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.verified-tokens");
+    }
+
+    /**
+     * Returns the verified token, or null when the signature is invalid, the token is malformed or expired,
+     * has no subject, or is not an access token.
+     */
+    public VerifiedToken verify(String token) {
+        String key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtils.getClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Bad signature, malformed or expired token; never cached
+            return null;
+        }
+
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        if (claims.getSubject() == null || issuedAt == null || expiration == null
+            || !ACCESS_TOKEN_USE.equals(claims.get(TOKEN_USE_CLAIM, String.class))) {
+            return null;
+        }
+
+        VerifiedToken verified = new VerifiedToken(
+            claims.getSubject(),
+            claims.get("sid", String.class),
+            claims.get("role", String.class),
+            issuedAt.getTime() / 1000,
+            expiration.getTime()
+        );
+        cache.put(key, verified);
+        return verified;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Each entry lives exactly as long as its token is valid
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMs = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,32 +1,31 @@
 package com.br.apigateway.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 
 @Component
 public class JwtUtils {
 
-    private final SecretKey secretKey;
+    // Immutable and thread-safe, so one parser serves every request
+    private final JwtParser parser;
 
     public JwtUtils(@Value("${security.jwt.secret}") String secret) {
         // HMAC-SHA requires a secret with at least 256 bits (32 bytes).
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+            .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+            .build();
     }
 
     /**
      * Decodes a JWT and returns its claims.
      */
     public Claims getClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,139 @@
+package com.br.apigateway.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long WINDOW_MS = 100;
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(40);
+
+    private long now = 0;
+
+    @Test
+    void tryAcquire_rejectsAtLimitUntilReleased() {
+        AdaptiveConcurrencyLimit limit = limit(3, 1, 100);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(3, limit.getInFlight());
+
+        limit.release(FAST, false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void release_stableLatencyAtFullUse_growsLimit() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+
+        for (int i = 0; i < 4; i++) {
+            runWindow(limit, limit.getLimit(), FAST, false);
+        }
+
+        assertTrue(limit.getLimit() > 10);
+    }
+
+    @Test
+    void release_growth_stopsAtMaxLimit() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 12);
+
+        for (int i = 0; i < 20; i++) {
+            runWindow(limit, limit.getLimit(), FAST, false);
+        }
+
+        assertEquals(12, limit.getLimit());
+    }
+
+    @Test
+    void release_latencyAboveTolerance_shrinksLimit() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+        runWindow(limit, 10, FAST, false);
+        assertEquals(10, limit.getLimit());
+
+        // Four times the baseline with tolerance 2: the gradient bottoms out at 0.5
+        runWindow(limit, limit.getLimit(), SLOW, false);
+        runWindow(limit, limit.getLimit(), SLOW, false);
+
+        assertTrue(limit.getLimit() < 10);
+    }
+
+    @Test
+    void release_latencyWithinTolerance_doesNotShrinkLimit() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+        runWindow(limit, 10, FAST, false);
+
+        runWindow(limit, limit.getLimit(), 2 * FAST, false);
+
+        assertTrue(limit.getLimit() >= 10);
+    }
+
+    @Test
+    void release_windowWithFailures_backsOffTenPercent() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+
+        runWindow(limit, 10, FAST, true);
+
+        // 10 * 0.8 + 9 * 0.2
+        assertEquals(9, limit.getLimit());
+    }
+
+    @Test
+    void release_failures_neverGoBelowMinLimit() {
+        AdaptiveConcurrencyLimit limit = limit(10, 8, 100);
+
+        for (int i = 0; i < 20; i++) {
+            runWindow(limit, limit.getLimit(), FAST, true);
+        }
+
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    void release_underusedWindow_leavesLimitUnchanged() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+        runWindow(limit, 10, FAST, false);
+        int before = limit.getLimit();
+
+        // Fewer than half the limit in flight: even a latency spike says nothing about capacity
+        runWindow(limit, 4, 10 * SLOW, false);
+
+        assertEquals(before, limit.getLimit());
+    }
+
+    @Test
+    void release_beforeWindowEnds_doesNotRecompute() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        for (int i = 0; i < 10; i++) {
+            limit.release(FAST, true);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimit limit(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimit(initial, min, max, 2.0, WINDOW_MS, () -> now);
+    }
+
+    // Runs one window with `concurrency` overlapping requests; the last release closes the window
+    private void runWindow(AdaptiveConcurrencyLimit limit, int concurrency, long latencyNanos, boolean failed) {
+        for (int i = 0; i < concurrency; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        for (int i = 0; i < concurrency - 1; i++) {
+            limit.release(latencyNanos, false);
+        }
+        now += TimeUnit.MILLISECONDS.toNanos(WINDOW_MS);
+        limit.release(latencyNanos, failed);
+    }
+}
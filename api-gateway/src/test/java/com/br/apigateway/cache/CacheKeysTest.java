@@ -0,0 +1,49 @@
+package com.br.apigateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CacheKeysTest {
+
+    @Test
+    void of_sortsQueryParametersByName() {
+        String first = CacheKeys.of(MockServerHttpRequest.get("/api/v1/products?size=20&page=1").build());
+        String second = CacheKeys.of(MockServerHttpRequest.get("/api/v1/products?page=1&size=20").build());
+
+        assertEquals("/api/v1/products?page=1&size=20", first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void of_keepsOrderOfRepeatedValues() {
+        assertEquals("/api/v1/products?tag=b&tag=a",
+            CacheKeys.of(MockServerHttpRequest.get("/api/v1/products?tag=b&tag=a").build()));
+        assertNotEquals(
+            CacheKeys.of(MockServerHttpRequest.get("/api/v1/products?tag=b&tag=a").build()),
+            CacheKeys.of(MockServerHttpRequest.get("/api/v1/products?tag=a&tag=b").build()));
+    }
+
+    @Test
+    void of_parameterWithoutValue_keepsJustItsName() {
+        assertEquals("/api/v1/products?inStock&page=2",
+            CacheKeys.of(MockServerHttpRequest.get("/api/v1/products?page=2&inStock").build()));
+    }
+
+    @Test
+    void of_withoutQuery_isThePath() {
+        assertEquals("/api/v1/categories", CacheKeys.of(MockServerHttpRequest.get("/api/v1/categories").build()));
+    }
+
+    @Test
+    void of_appendsOrigin() {
+        String key = CacheKeys.of(MockServerHttpRequest.get("/api/v1/products?page=1")
+            .header(HttpHeaders.ORIGIN, "https://shop.example")
+            .build());
+
+        assertEquals("/api/v1/products?page=1#https://shop.example", key);
+    }
+}
@@ -0,0 +1,92 @@
+package com.br.apigateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResponseCacheTest {
+
+    private final ResponseCache responseCache = new ResponseCache(new SimpleMeterRegistry(), 1_000_000, 10_000);
+
+    @Test
+    void join_firstCallerLeads_laterCallersGetTheRunningFetch() {
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        Sinks.One<CachedResponse> follower = Sinks.one();
+
+        assertSame(leader, responseCache.join("/products", leader));
+        assertSame(leader, responseCache.join("/products", follower));
+        assertSame(follower, responseCache.join("/categories", follower));
+    }
+
+    @Test
+    void finish_storesResponseAndHandsItToWaiters() {
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        responseCache.join("/products", leader);
+        CompletableFuture<CachedResponse> waiter = responseCache.join("/products", Sinks.one()).asMono().toFuture();
+        assertFalse(waiter.isDone());
+
+        CachedResponse response = response(60_000);
+        responseCache.finish("/products", leader, response);
+
+        assertSame(response, waiter.join());
+        assertSame(response, responseCache.get("/products"));
+        // The fetch is over: the next miss leads a new one
+        Sinks.One<CachedResponse> next = Sinks.one();
+        assertSame(next, responseCache.join("/products", next));
+    }
+
+    @Test
+    void finish_withoutResponse_completesWaitersEmpty() {
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        responseCache.join("/products", leader);
+        CompletableFuture<CachedResponse> waiter = responseCache.join("/products", Sinks.one()).asMono().toFuture();
+
+        responseCache.finish("/products", leader, null);
+
+        assertNull(waiter.join());
+        assertNull(responseCache.get("/products"));
+    }
+
+    @Test
+    void get_expiredEntry_returnsNull() {
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        responseCache.join("/products", leader);
+
+        responseCache.finish("/products", leader, response(-1));
+
+        assertNull(responseCache.get("/products"));
+    }
+
+    @Test
+    void finish_otherFlight_leavesTheRunningFetch() {
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        responseCache.join("/products", leader);
+        Sinks.One<CachedResponse> stale = Sinks.one();
+        responseCache.finish("/products", stale, null);
+
+        // Finishing someone else's flight leaves the running one in place
+        assertSame(leader, responseCache.join("/products", Sinks.one()));
+    }
+
+    private static CachedResponse response(long ttlMs) {
+        long now = System.currentTimeMillis();
+        return new CachedResponse(
+            HttpStatus.OK,
+            new HttpHeaders(),
+            ByteBuffer.wrap("{}".getBytes(StandardCharsets.UTF_8)),
+            null,
+            now,
+            now + ttlMs
+        );
+    }
+}
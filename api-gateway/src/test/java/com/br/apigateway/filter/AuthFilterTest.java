@@ -0,0 +1,241 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.policy.RouteAccess;
+import com.br.apigateway.policy.RoutePolicyProperties;
+import com.br.apigateway.policy.RoutePolicyTable;
+import com.br.apigateway.revocation.RevocationList;
+import com.br.apigateway.token.VerifiedToken;
+import com.br.apigateway.token.VerifiedTokenCache;
+import com.br.apigateway.util.JwtUtils;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthFilterTest {
+
+    private static final String SECRET = "01234567890123456789012345678901";
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private RevocationList revocationList;
+
+    private RoutePolicyTable table;
+    private AuthFilter authFilter;
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        table = new RoutePolicyTable(new RoutePolicyProperties(RouteAccess.AUTHENTICATED, List.of(
+            new RoutePolicyProperties.Rule("/api/v1/products/**", List.of("GET"), RouteAccess.PUBLIC),
+            new RoutePolicyProperties.Rule("/api/v1/orders/admin/**", List.of(), RouteAccess.ADMIN),
+            new RoutePolicyProperties.Rule("/api/v1/inventory/reserve", List.of(), RouteAccess.INTERNAL)
+        )));
+        authFilter = new AuthFilter(verifiedTokenCache, revocationList, table);
+    }
+
+    @Test
+    void filter_publicRoute_stripsClientIdentityHeaders() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/42")
+            .header("X-User-Id", "spoofed")
+            .header("X-User-Role", "ADMIN")
+            .header("X-Internal-Call", "true")
+            .header("Accept", "application/json"));
+
+        authFilter.filter(exchange, this::forward).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertNull(headers.getFirst("X-User-Id"));
+        assertNull(headers.getFirst("X-User-Role"));
+        assertNull(headers.getFirst("X-Internal-Call"));
+        assertEquals("application/json", headers.getFirst("Accept"));
+        verify(verifiedTokenCache, never()).verify(any());
+    }
+
+    @Test
+    void filter_publicRouteWithoutIdentityHeaders_forwardsSameExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/42"));
+
+        authFilter.filter(exchange, this::forward).block();
+
+        assertEquals(exchange, forwarded.get());
+    }
+
+    @Test
+    void filter_authenticatedRoute_replacesClientIdentityHeaders() {
+        when(verifiedTokenCache.verify("token"))
+            .thenReturn(new VerifiedToken("user-1", "session-1", "USER", 1_000L, Long.MAX_VALUE));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders/42")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+            .header("X-User-Id", "spoofed")
+            .header("X-User-Role", "ADMIN")
+            .header("X-Internal-Call", "true"));
+
+        authFilter.filter(exchange, this::forward).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals(List.of("user-1"), headers.get("X-User-Id"));
+        assertEquals(List.of("USER"), headers.get("X-User-Role"));
+        assertNull(headers.getFirst("X-Internal-Call"));
+    }
+
+    @Test
+    void filter_adminRouteWithUserToken_returnsForbidden() {
+        when(verifiedTokenCache.verify("token"))
+            .thenReturn(new VerifiedToken("user-1", "session-1", "USER", 1_000L, Long.MAX_VALUE));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders/admin")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        authFilter.filter(exchange, this::forward).block();
+
+        assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_revokedToken_returnsUnauthorized() {
+        when(verifiedTokenCache.verify("token"))
+            .thenReturn(new VerifiedToken("user-1", "session-1", "USER", 1_000L, Long.MAX_VALUE));
+        when(revocationList.isRevoked("user-1", "session-1", 1_000L)).thenReturn(true);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders/42")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        authFilter.filter(exchange, this::forward).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_internalRoute_returnsNotFoundEvenWithToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/inventory/reserve")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        authFilter.filter(exchange, this::forward).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+        verify(verifiedTokenCache, never()).verify(any());
+    }
+
+    @Test
+    void filter_dotSegments_returnBadRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.method(HttpMethod.GET, URI.create("/api/v1/products/../inventory/reserve")));
+
+        authFilter.filter(exchange, this::forward).block();
+
+        assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_encodedDotSegments_returnBadRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.method(HttpMethod.GET, URI.create("/api/v1/products/%2e%2E/inventory/reserve")));
+
+        authFilter.filter(exchange, this::forward).block();
+
+        assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+        verify(revocationList, never()).isRevoked(any(), any(), anyLong());
+    }
+
+    @Test
+    void filter_refreshTokenAsBearer_returnsUnauthorized() {
+        AuthFilter filter = withRealTokenVerification();
+        String refreshToken = Jwts.builder()
+            .subject(UUID.randomUUID().toString())
+            .id("token-id")
+            .claim("token_use", "refresh")
+            .issuedAt(new Date())
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders/42")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken));
+
+        filter.filter(exchange, this::forward).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_tokenWithoutTokenUse_returnsUnauthorized() {
+        AuthFilter filter = withRealTokenVerification();
+        String untyped = Jwts.builder()
+            .subject(UUID.randomUUID().toString())
+            .issuedAt(new Date())
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders/42")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + untyped));
+
+        filter.filter(exchange, this::forward).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_accessTokenAsBearer_isForwarded() {
+        AuthFilter filter = withRealTokenVerification();
+        String userId = UUID.randomUUID().toString();
+        String accessToken = Jwts.builder()
+            .subject(userId)
+            .claim("role", "USER")
+            .claim("sid", UUID.randomUUID().toString())
+            .claim("token_use", "access")
+            .issuedAt(new Date())
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders/42")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken));
+
+        filter.filter(exchange, this::forward).block();
+
+        assertEquals(userId, forwarded.get().getRequest().getHeaders().getFirst("X-User-Id"));
+    }
+
+    private AuthFilter withRealTokenVerification() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new JwtUtils(SECRET), new SimpleMeterRegistry(), 100);
+        return new AuthFilter(cache, revocationList, table);
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange) {
+        forwarded.set(exchange);
+        return Mono.empty();
+    }
+}
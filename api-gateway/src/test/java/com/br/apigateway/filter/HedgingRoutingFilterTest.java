@@ -0,0 +1,236 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.hedge.HedgePolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+class HedgingRoutingFilterTest {
+
+    private static final Duration SLOW = Duration.ofMillis(500);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentHashMap<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+    private final CountDownLatch loserCancelled = new CountDownLatch(1);
+
+    private DisposableServer server;
+    private HedgingRoutingFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        server = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes
+                .get("/fast", (request, response) -> {
+                    hit(request);
+                    return response.sendString(Mono.just("fast"));
+                })
+                .get("/slow", (request, response) -> {
+                    hit(request);
+                    return Mono.delay(SLOW).then(response.sendString(Mono.just("slow")).then());
+                })
+                .get("/slow-first", this::slowFirst)
+                .get("/status/{code}", (request, response) -> {
+                    hit(request);
+                    return response.status(Integer.parseInt(request.param("code"))).sendString(Mono.just("down"));
+                })
+                .get("/fail-then-ok", (request, response) -> hit(request) < 3
+                    ? response.status(503).sendString(Mono.just("down"))
+                    : response.sendString(Mono.just("ok"))))
+            .bindNow();
+
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+        when(headersFilters.getIfAvailable(any())).thenReturn(List.of());
+        filter = new HedgingRoutingFilter(HttpClient.create(), headersFilters, 1024 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void filter_fastResponse_doesNotHedge() {
+        HedgePolicy policy = policy(200, 10);
+
+        MockServerWebExchange exchange = route("/fast", policy);
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("fast", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(1, hits("/fast"));
+        assertEquals(0.0, count("gateway.hedge.fired"));
+    }
+
+    @Test
+    void filter_slowResponse_hedgesAfterTheDelay() {
+        HedgePolicy policy = policy(100, 10);
+
+        MockServerWebExchange exchange = route("/slow", policy);
+
+        assertEquals("slow", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(2, hits("/slow"));
+        assertTrue(arrivals.get(1) - arrivals.get(0) >= TimeUnit.MILLISECONDS.toNanos(80));
+        assertEquals(1.0, count("gateway.hedge.fired"));
+    }
+
+    @Test
+    void filter_hedgeAnswersFirst_winsAndCancelsThePrimary() throws InterruptedException {
+        HedgePolicy policy = policy(50, 10);
+
+        MockServerWebExchange exchange = route("/slow-first", policy);
+
+        assertEquals("hedge", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(1.0, count("gateway.hedge.won"));
+        assertTrue(loserCancelled.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void filter_budgetExhausted_doesNotHedge() {
+        // Zero percent: only the token every route starts with
+        HedgePolicy policy = policy(50, 0);
+        route("/slow", policy);
+        assertEquals(2, hits("/slow"));
+
+        MockServerWebExchange exchange = route("/slow", policy);
+
+        assertEquals("slow", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(3, hits("/slow"));
+        assertEquals(1.0, count("gateway.hedge.fired"));
+        assertEquals(1.0, count("gateway.retry.budget-exhausted"));
+    }
+
+    @Test
+    void filter_retryableStatuses_retryExactlyOnce() {
+        for (String code : List.of("502", "503", "504")) {
+            HedgePolicy policy = new HedgePolicy("route-" + code, meterRegistry, 20, 10, 50, 5000, 100, 10);
+
+            MockServerWebExchange exchange = route("/status/" + code, policy);
+
+            // Primary and hedge fail, then one retry; its error response is passed on
+            assertEquals(Integer.parseInt(code), exchange.getResponse().getStatusCode().value());
+            assertEquals("down", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+            assertEquals(3, hits("/status/" + code));
+            assertEquals(1.0, meterRegistry.counter("gateway.retry.attempts", "route", "route-" + code).count());
+        }
+    }
+
+    @Test
+    void filter_retryAfterFailures_returnsItsResponse() {
+        HedgePolicy policy = policy(20, 100);
+
+        MockServerWebExchange exchange = route("/fail-then-ok", policy);
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("ok", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(3, hits("/fail-then-ok"));
+    }
+
+    @Test
+    void filter_failuresWithoutBudget_doNotRetry() {
+        HedgePolicy policy = policy(20, 0);
+
+        MockServerWebExchange exchange = route("/status/503", policy);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+        assertEquals(2, hits("/status/503"));
+        assertEquals(0.0, count("gateway.retry.attempts"));
+        assertEquals(1.0, count("gateway.retry.budget-exhausted"));
+    }
+
+    @Test
+    void filter_requestWithoutPolicy_isLeftToTheChain() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/fast"));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://localhost:" + server.port() + "/fast"));
+        AtomicBoolean chained = new AtomicBoolean();
+        GatewayFilterChain chain = ex -> {
+            chained.set(true);
+            return Mono.empty();
+        };
+
+        filter.filter(exchange, chain).block(TIMEOUT);
+
+        assertTrue(chained.get());
+        assertEquals(0, hits("/fast"));
+    }
+
+    private MockServerWebExchange route(String path, HedgePolicy policy) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(HedgePolicy.ATTR, policy);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://localhost:" + server.port() + path));
+        AtomicBoolean chained = new AtomicBoolean();
+        GatewayFilterChain chain = ex -> {
+            chained.set(true);
+            return Mono.empty();
+        };
+
+        filter.filter(exchange, chain).block(TIMEOUT);
+
+        assertFalse(chained.get());
+        return exchange;
+    }
+
+    // Primary is slow and records its cancellation; the hedge answers at once
+    private Publisher<Void> slowFirst(HttpServerRequest request, HttpServerResponse response) {
+        if (hit(request) == 1) {
+            return Mono.delay(SLOW)
+                .then(response.sendString(Mono.just("primary")).then())
+                .doOnCancel(loserCancelled::countDown);
+        }
+        return response.sendString(Mono.just("hedge"));
+    }
+
+    private int hit(HttpServerRequest request) {
+        arrivals.add(System.nanoTime());
+        return hits.computeIfAbsent(request.uri(), uri -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    // Hedge delay fixed at initialDelayMs until 64 latencies are recorded
+    private HedgePolicy policy(long initialDelayMs, double budgetPercent) {
+        return new HedgePolicy("products", meterRegistry, initialDelayMs, 10, 1000, 5000, budgetPercent, 10);
+    }
+
+    private double count(String name) {
+        return meterRegistry.counter(name, "route", "products").count();
+    }
+}
@@ -0,0 +1,91 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.ratelimit.LocalRateLimiter;
+import com.br.apigateway.ratelimit.UserOrIpKeyResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class PageLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger served = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        served.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @Test
+    void filter_pageRequestsOverTheRate_getTooManyRequests() {
+        PageLimitFilter filter = filter(1, 2, 100);
+
+        ServerWebExchange first = page();
+        filter.filter(first, chain).block();
+        filter.filter(page(), chain).block();
+        ServerWebExchange rejected = page();
+        filter.filter(rejected, chain).block();
+
+        assertEquals("1", first.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst("Retry-After"));
+        assertEquals(2, served.get());
+        assertEquals(1.0, meterRegistry.counter("gateway.ratelimit.rejected", "route", "pages").count());
+    }
+
+    @Test
+    void filter_pageRequestsOverTheConcurrencyLimit_getServiceUnavailable() {
+        PageLimitFilter filter = filter(100, 100, 1);
+        WebFilterChain hanging = exchange -> Mono.never();
+
+        filter.filter(page(), hanging).subscribe();
+        ServerWebExchange rejected = page();
+        filter.filter(rejected, chain).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals(0, served.get());
+        assertEquals(1.0, meterRegistry.counter("gateway.admission.rejected", "route", "pages").count());
+    }
+
+    @Test
+    void filter_otherPaths_areNotLimited() {
+        PageLimitFilter filter = filter(1, 1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/42"));
+            filter.filter(exchange, chain).block();
+            assertNull(exchange.getResponse().getStatusCode());
+        }
+
+        assertEquals(5, served.get());
+    }
+
+    private PageLimitFilter filter(long rate, long burst, int concurrency) {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(mock(ConfigurationService.class), meterRegistry, 1000, 600_000, 1);
+        return new PageLimitFilter(
+            rateLimiter,
+            new UserOrIpKeyResolver(0),
+            new AdmissionControlGatewayFilterFactory(meterRegistry),
+            rate,
+            burst,
+            concurrency,
+            concurrency,
+            concurrency
+        );
+    }
+
+    private static ServerWebExchange page() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/pages/products/galaxy"));
+    }
+}
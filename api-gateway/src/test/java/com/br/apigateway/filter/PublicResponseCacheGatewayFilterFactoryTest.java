@@ -0,0 +1,220 @@
+package com.br.apigateway.filter;
+
+import com.br.apigateway.cache.CacheKeys;
+import com.br.apigateway.cache.CachedResponse;
+import com.br.apigateway.cache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PublicResponseCacheGatewayFilterFactoryTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String PATH = "/api/v1/products?page=1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCache responseCache = new ResponseCache(meterRegistry, 1_000_000, 10_000);
+    private final GatewayFilter filter =
+        new PublicResponseCacheGatewayFilterFactory(responseCache, meterRegistry, 200)
+            .apply(new PublicResponseCacheGatewayFilterFactory.Config());
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    @Test
+    void filter_missThenHit_servesSecondRequestFromCache() {
+        GatewayFilterChain chain = downstream(HttpStatus.OK, "products", headers -> headers.setCacheControl("max-age=60"));
+
+        MockServerWebExchange miss = exchange(MockServerHttpRequest.get(PATH));
+        filter.filter(miss, chain).block(TIMEOUT);
+        MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/api/v1/products?page=1"));
+        filter.filter(hit, chain).block(TIMEOUT);
+
+        assertEquals("MISS", miss.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals(HttpStatus.OK, hit.getResponse().getStatusCode());
+        assertEquals("products", hit.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals("0", hit.getResponse().getHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void filter_sharedMaxAge_winsOverMaxAge() {
+        assertEquals(60_000, cachedTtl(headers -> headers.setCacheControl("max-age=0, s-maxage=60")));
+    }
+
+    @Test
+    void filter_maxAge_setsTtl() {
+        assertEquals(10_000, cachedTtl(headers -> headers.setCacheControl("public, max-age=10")));
+    }
+
+    @Test
+    void filter_withoutMaxAge_usesDefaultTtl() {
+        assertEquals(30_000, cachedTtl(headers -> { }));
+    }
+
+    @Test
+    void filter_longMaxAge_isCappedAtMaxTtl() {
+        assertEquals(300_000, cachedTtl(headers -> headers.setCacheControl("max-age=86400")));
+    }
+
+    @Test
+    void filter_noStorePrivateOrNoCache_isNotCached() {
+        assertNotCached(HttpStatus.OK, headers -> headers.setCacheControl("no-store"));
+        assertNotCached(HttpStatus.OK, headers -> headers.setCacheControl("private, max-age=60"));
+        assertNotCached(HttpStatus.OK, headers -> headers.setCacheControl("max-age=60, no-cache"));
+    }
+
+    @Test
+    void filter_setCookieOrVaryStar_isNotCached() {
+        assertNotCached(HttpStatus.OK, headers -> headers.add(HttpHeaders.SET_COOKIE, "session=abc"));
+        assertNotCached(HttpStatus.OK, headers -> headers.add(HttpHeaders.VARY, "*"));
+    }
+
+    @Test
+    void filter_nonOkStatus_isNotCached() {
+        assertNotCached(HttpStatus.NOT_FOUND, headers -> headers.setCacheControl("max-age=60"));
+    }
+
+    @Test
+    void filter_ifNoneMatchingEtag_returnsNotModified() {
+        GatewayFilterChain chain = downstream(HttpStatus.OK, "products", headers -> {
+            headers.setCacheControl("max-age=60");
+            headers.setETag("\"v1\"");
+        });
+        filter.filter(exchange(MockServerHttpRequest.get(PATH)), chain).block(TIMEOUT);
+
+        MockServerWebExchange matching = exchange(MockServerHttpRequest.get(PATH)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"v0\", W/\"v1\""));
+        filter.filter(matching, chain).block(TIMEOUT);
+        MockServerWebExchange stale = exchange(MockServerHttpRequest.get(PATH)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"v0\""));
+        filter.filter(stale, chain).block(TIMEOUT);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, matching.getResponse().getStatusCode());
+        assertEquals("\"v1\"", matching.getResponse().getHeaders().getETag());
+        assertEquals(HttpStatus.OK, stale.getResponse().getStatusCode());
+        assertEquals("products", stale.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void filter_concurrentMiss_waitsForTheRunningFetch() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(PATH));
+        String key = CacheKeys.of(exchange.getRequest());
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        responseCache.join(key, leader);
+        GatewayFilterChain chain = downstream(HttpStatus.OK, "fetched again", headers -> { });
+
+        CompletableFuture<Void> waiting = filter.filter(exchange, chain).toFuture();
+        assertFalse(waiting.isDone());
+        responseCache.finish(key, leader, cached("shared"));
+        waiting.join();
+
+        assertEquals("HIT", exchange.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("shared", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(0, downstreamCalls.get());
+        assertEquals(1.0, meterRegistry.counter("gateway.response-cache.coalesced").count());
+    }
+
+    @Test
+    void filter_runningFetchNotCacheable_fetchesAlone() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(PATH));
+        String key = CacheKeys.of(exchange.getRequest());
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        responseCache.join(key, leader);
+        GatewayFilterChain chain = downstream(HttpStatus.OK, "fetched alone", headers -> { });
+
+        CompletableFuture<Void> waiting = filter.filter(exchange, chain).toFuture();
+        responseCache.finish(key, leader, null);
+        waiting.join();
+
+        assertEquals("fetched alone", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void filter_runningFetchTooSlow_fetchesAloneAfterTimeout() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(PATH));
+        responseCache.join(CacheKeys.of(exchange.getRequest()), Sinks.one());
+        GatewayFilterChain chain = downstream(HttpStatus.OK, "fetched alone", headers -> { });
+
+        filter.filter(exchange, chain).block(TIMEOUT);
+
+        assertEquals("fetched alone", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void filter_nonGet_isPassedThrough() {
+        GatewayFilterChain chain = downstream(HttpStatus.OK, "created", headers -> headers.setCacheControl("max-age=60"));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post(PATH));
+
+        filter.filter(exchange, chain).block(TIMEOUT);
+
+        assertNull(exchange.getResponse().getHeaders().getFirst("X-Cache"));
+        assertNull(responseCache.get(CacheKeys.of(exchange.getRequest())));
+    }
+
+    private long cachedTtl(Consumer<HttpHeaders> downstreamHeaders) {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(PATH));
+        filter.filter(exchange, downstream(HttpStatus.OK, "products", downstreamHeaders)).block(TIMEOUT);
+
+        CachedResponse cached = responseCache.get(CacheKeys.of(exchange.getRequest()));
+        assertNotNull(cached);
+        return cached.expiresAtMillis() - cached.storedAtMillis();
+    }
+
+    private void assertNotCached(HttpStatus status, Consumer<HttpHeaders> downstreamHeaders) {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(PATH));
+        filter.filter(exchange, downstream(status, "products", downstreamHeaders)).block(TIMEOUT);
+
+        assertEquals(status, exchange.getResponse().getStatusCode());
+        assertEquals("products", exchange.getResponse().getBodyAsString().block(TIMEOUT));
+        assertNull(responseCache.get(CacheKeys.of(exchange.getRequest())));
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private GatewayFilterChain downstream(HttpStatus status, String body, Consumer<HttpHeaders> headers) {
+        return exchange -> {
+            downstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            headers.accept(response.getHeaders());
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static CachedResponse cached(String body) {
+        long now = System.currentTimeMillis();
+        return new CachedResponse(
+            HttpStatus.OK,
+            new HttpHeaders(),
+            ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)),
+            null,
+            now,
+            now + 60_000
+        );
+    }
+}
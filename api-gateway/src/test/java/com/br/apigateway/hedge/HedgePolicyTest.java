@@ -0,0 +1,68 @@
+package com.br.apigateway.hedge;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgePolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void hedgeDelay_usesInitialDelayWithinBoundsUntilLatencyIsKnown() {
+        assertEquals(Duration.ofMillis(100), policy(100, 10, 1000, 10).hedgeDelay());
+        assertEquals(Duration.ofMillis(10), new HedgePolicy("low", meterRegistry, 5, 10, 1000, 5000, 10, 10).hedgeDelay());
+        assertEquals(Duration.ofMillis(1000), new HedgePolicy("high", meterRegistry, 5000, 10, 1000, 5000, 10, 10).hedgeDelay());
+    }
+
+    @Test
+    void hedgeDelay_followsObservedP95() {
+        HedgePolicy policy = policy(100, 10, 1000, 10);
+        for (int i = 0; i < 64; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(40));
+        }
+
+        assertEquals(40.0, meterRegistry.get("gateway.hedge.delay").tag("route", "products").gauge().value());
+        assertEquals(Duration.ofMillis(40), policy.hedgeDelay());
+    }
+
+    @Test
+    void tryHedgeAndTryRetry_shareTheBudgetAndCountExhaustion() {
+        HedgePolicy policy = policy(100, 10, 1000, 0);
+
+        assertTrue(policy.tryHedge());
+        assertFalse(policy.tryRetry());
+        assertFalse(policy.tryHedge());
+
+        assertEquals(1.0, count("gateway.hedge.fired"));
+        assertEquals(0.0, count("gateway.retry.attempts"));
+        assertEquals(2.0, count("gateway.retry.budget-exhausted"));
+    }
+
+    @Test
+    void onRequest_refillsTheBudget() {
+        HedgePolicy policy = policy(100, 10, 1000, 50);
+        policy.tryHedge();
+
+        policy.onRequest();
+        assertFalse(policy.tryRetry());
+        policy.onRequest();
+
+        assertTrue(policy.tryRetry());
+        assertEquals(1.0, count("gateway.retry.attempts"));
+    }
+
+    private HedgePolicy policy(long initialDelayMs, long minDelayMs, long maxDelayMs, double budgetPercent) {
+        return new HedgePolicy("products", meterRegistry, initialDelayMs, minDelayMs, maxDelayMs, 5000, budgetPercent, 10);
+    }
+
+    private double count(String name) {
+        return meterRegistry.counter(name, "route", "products").count();
+    }
+}
@@ -0,0 +1,55 @@
+package com.br.apigateway.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyTrackerTest {
+
+    private final LatencyTracker tracker = new LatencyTracker();
+
+    @Test
+    void p95Nanos_beforeFirstRecompute_returnsFallback() {
+        for (int i = 1; i <= 63; i++) {
+            tracker.record(i);
+        }
+
+        assertEquals(500, tracker.p95Nanos(500));
+    }
+
+    @Test
+    void p95Nanos_afterSixtyFourSamples_returnsTheirPercentile() {
+        for (int i = 1; i <= 64; i++) {
+            tracker.record(i);
+        }
+
+        // Sorted 1..64: index (int) (64 * 0.95) = 60
+        assertEquals(61, tracker.p95Nanos(500));
+    }
+
+    @Test
+    void p95Nanos_onlyCountsTheLatestSamples() {
+        for (int i = 0; i < 512; i++) {
+            tracker.record(1_000_000);
+        }
+        assertEquals(1_000_000, tracker.p95Nanos(500));
+
+        for (int i = 0; i < 512; i++) {
+            tracker.record(5);
+        }
+
+        assertEquals(5, tracker.p95Nanos(500));
+    }
+
+    @Test
+    void p95Nanos_keepsLastValueBetweenRecomputes() {
+        for (int i = 0; i < 64; i++) {
+            tracker.record(100);
+        }
+        for (int i = 0; i < 63; i++) {
+            tracker.record(1_000);
+        }
+
+        assertEquals(100, tracker.p95Nanos(500));
+    }
+}
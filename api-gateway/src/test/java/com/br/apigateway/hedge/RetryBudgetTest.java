@@ -0,0 +1,57 @@
+package com.br.apigateway.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryBudgetTest {
+
+    @Test
+    void tryWithdraw_startsWithOneToken() {
+        RetryBudget budget = new RetryBudget(10, 10);
+
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void deposit_addsPercentOfATokenPerRequest() {
+        RetryBudget budget = new RetryBudget(10, 10);
+        budget.tryWithdraw();
+
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void deposit_isCappedAtMaxTokens() {
+        RetryBudget budget = new RetryBudget(100, 2);
+
+        for (int i = 0; i < 50; i++) {
+            budget.deposit();
+        }
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void deposit_zeroPercent_neverRefills() {
+        RetryBudget budget = new RetryBudget(0, 10);
+        budget.tryWithdraw();
+
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+        }
+
+        assertFalse(budget.tryWithdraw());
+    }
+}
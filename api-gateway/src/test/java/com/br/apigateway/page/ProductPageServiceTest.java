@@ -0,0 +1,200 @@
+package com.br.apigateway.page;
+
+import com.br.apigateway.page.dto.Availability;
+import com.br.apigateway.page.dto.Breadcrumb;
+import com.br.apigateway.page.dto.ProductPageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductPageServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final UUID ROOT_ID = UUID.randomUUID();
+    private static final UUID PHONES_ID = UUID.randomUUID();
+    private static final UUID SMARTPHONES_ID = UUID.randomUUID();
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private Function<ClientRequest, Mono<ClientResponse>> products = this::productService;
+    private Function<ClientRequest, Mono<ClientResponse>> inventory = request -> json(HttpStatus.OK,
+        "{\"productId\":\"" + PRODUCT_ID + "\",\"quantity\":10,\"reservedQuantity\":3}");
+    private String categoriesJson = "["
+        + category(ROOT_ID, "Electronics", null) + ","
+        + category(PHONES_ID, "Phones", ROOT_ID) + ","
+        + category(SMARTPHONES_ID, "Smartphones", PHONES_ID)
+        + "]";
+
+    private final ProductPageService service = new ProductPageService(
+        client(request -> products.apply(request)),
+        client(request -> inventory.apply(request)),
+        2000, 5000, 60000, 100
+    );
+
+    @Test
+    void getBySlug_allPartsLoaded_composesThePage() {
+        ProductPageResponse page = service.getBySlug("galaxy").block(TIMEOUT);
+
+        assertEquals("Galaxy", page.product().get("name"));
+        assertEquals(new Availability(7, true), page.availability());
+        assertEquals(List.of("Electronics", "Phones", "Smartphones"),
+            page.breadcrumbs().stream().map(Breadcrumb::name).toList());
+        assertEquals(List.of(), page.unavailable());
+    }
+
+    @Test
+    void getBySlug_inventoryDown_marksAvailabilityUnavailable() {
+        inventory = request -> Mono.error(new ConnectException("Connection refused"));
+
+        ProductPageResponse page = service.getBySlug("galaxy").block(TIMEOUT);
+
+        assertNull(page.availability());
+        assertEquals(3, page.breadcrumbs().size());
+        assertEquals(List.of("availability"), page.unavailable());
+    }
+
+    @Test
+    void getBySlug_inventoryError_marksAvailabilityUnavailable() {
+        inventory = request -> json(HttpStatus.SERVICE_UNAVAILABLE, "{}");
+
+        ProductPageResponse page = service.getBySlug("galaxy").block(TIMEOUT);
+
+        assertNull(page.availability());
+        assertEquals(List.of("availability"), page.unavailable());
+    }
+
+    @Test
+    void getBySlug_categoriesDown_marksBreadcrumbsUnavailable() {
+        products = request -> request.url().getPath().equals("/api/v1/categories")
+            ? json(HttpStatus.INTERNAL_SERVER_ERROR, "{}")
+            : productService(request);
+
+        ProductPageResponse page = service.getBySlug("galaxy").block(TIMEOUT);
+
+        assertEquals("Galaxy", page.product().get("name"));
+        assertEquals(new Availability(7, true), page.availability());
+        assertNull(page.breadcrumbs());
+        assertEquals(List.of("breadcrumbs"), page.unavailable());
+    }
+
+    @Test
+    void getBySlug_productNotFound_throwsNotFound() {
+        products = request -> request.url().getPath().startsWith("/api/v1/products/slug/")
+            ? json(HttpStatus.NOT_FOUND, "{}")
+            : productService(request);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+            () -> service.getBySlug("missing").block(TIMEOUT));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    void getBySlug_productServiceError_throwsBadGateway() {
+        products = request -> request.url().getPath().startsWith("/api/v1/products/slug/")
+            ? json(HttpStatus.SERVICE_UNAVAILABLE, "{}")
+            : productService(request);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+            () -> service.getBySlug("galaxy").block(TIMEOUT));
+
+        assertEquals(HttpStatus.BAD_GATEWAY, ex.getStatusCode());
+    }
+
+    @Test
+    void getBySlug_productServiceUnreachable_throwsBadGateway() {
+        products = request -> Mono.error(new ConnectException("Connection refused"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+            () -> service.getBySlug("galaxy").block(TIMEOUT));
+
+        assertEquals(HttpStatus.BAD_GATEWAY, ex.getStatusCode());
+    }
+
+    @Test
+    void getBySlug_categoryCycle_stopsAtMaxDepth() {
+        categoriesJson = "["
+            + category(PHONES_ID, "Phones", SMARTPHONES_ID) + ","
+            + category(SMARTPHONES_ID, "Smartphones", PHONES_ID)
+            + "]";
+
+        ProductPageResponse page = service.getBySlug("galaxy").block(TIMEOUT);
+
+        assertEquals(10, page.breadcrumbs().size());
+        assertEquals("Smartphones", page.breadcrumbs().getLast().name());
+    }
+
+    @Test
+    void getBySlug_unknownCategory_returnsNoBreadcrumbs() {
+        categoriesJson = "[" + category(ROOT_ID, "Electronics", null) + "]";
+
+        ProductPageResponse page = service.getBySlug("galaxy").block(TIMEOUT);
+
+        assertEquals(List.of(), page.breadcrumbs());
+        assertEquals(List.of(), page.unavailable());
+    }
+
+    @Test
+    void getBySlug_repeated_reusesInventoryAndCategories() {
+        service.getBySlug("galaxy").block(TIMEOUT);
+        service.getBySlug("galaxy").block(TIMEOUT);
+
+        assertEquals(2, calls("/api/v1/products/slug/galaxy"));
+        assertEquals(1, calls("/api/v1/categories"));
+        assertEquals(1, calls("/api/v1/inventory/internal/" + PRODUCT_ID));
+    }
+
+    private Mono<ClientResponse> productService(ClientRequest request) {
+        if (request.url().getPath().equals("/api/v1/categories")) {
+            return json(HttpStatus.OK, categoriesJson);
+        }
+        return json(HttpStatus.OK, "{\"id\":\"" + PRODUCT_ID + "\",\"name\":\"Galaxy\",\"slug\":\"galaxy\","
+            + "\"categoryId\":\"" + SMARTPHONES_ID + "\"}");
+    }
+
+    private WebClient client(Function<ClientRequest, Mono<ClientResponse>> handler) {
+        return WebClient.builder()
+            .baseUrl("http://downstream")
+            .exchangeFunction(request -> {
+                calls.computeIfAbsent(request.url().getPath(), path -> new AtomicInteger()).incrementAndGet();
+                return handler.apply(request);
+            })
+            .build();
+    }
+
+    private int calls(String path) {
+        AtomicInteger count = calls.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private static Mono<ClientResponse> json(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build());
+    }
+
+    private static String category(UUID id, String name, UUID parentId) {
+        return "{\"id\":\"" + id + "\",\"name\":\"" + name + "\",\"slug\":\"" + name.toLowerCase() + "\","
+            + "\"parentId\":" + (parentId == null ? "null" : "\"" + parentId + "\"") + "}";
+    }
+}
@@ -0,0 +1,146 @@
+package com.br.apigateway.policy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoutePolicyTableTest {
+
+    // Same rules as gateway.security in application.yaml
+    private final RoutePolicyTable table = new RoutePolicyTable(new RoutePolicyProperties(RouteAccess.AUTHENTICATED, List.of(
+        rule("/api/v1/auth/**", RouteAccess.PUBLIC),
+        rule("/api/v1/products/**", RouteAccess.PUBLIC, "GET", "HEAD"),
+        rule("/api/v1/categories/**", RouteAccess.PUBLIC, "GET", "HEAD"),
+        rule("/api/v1/pages/**", RouteAccess.PUBLIC, "GET", "HEAD"),
+        rule("/api/v1/orders/admin/**", RouteAccess.ADMIN),
+        rule("/api/v1/inventory/**", RouteAccess.ADMIN),
+        rule("/api/v1/inventory/internal/**", RouteAccess.INTERNAL),
+        rule("/api/v1/inventory/reserve", RouteAccess.INTERNAL),
+        rule("/api/v1/inventory/release", RouteAccess.INTERNAL),
+        rule("/api/v1/inventory/confirm", RouteAccess.INTERNAL),
+        rule("/internal/**", RouteAccess.INTERNAL)
+    )));
+
+    @Test
+    void resolve_publicAndMethodSpecificRules() {
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.POST, "/api/v1/auth/login"));
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.GET, "/api/v1/products"));
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.HEAD, "/api/v1/products/42"));
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.GET, "/api/v1/pages/products/42"));
+    }
+
+    @Test
+    void resolve_methodWithoutRule_fallsBackToDefault() {
+        assertEquals(RouteAccess.AUTHENTICATED, table.resolve(HttpMethod.POST, "/api/v1/products"));
+        assertEquals(RouteAccess.AUTHENTICATED, table.resolve(HttpMethod.DELETE, "/api/v1/products/42"));
+        assertEquals(RouteAccess.AUTHENTICATED, table.resolve(HttpMethod.PUT, "/api/v1/categories/7"));
+    }
+
+    @Test
+    void resolve_methodSpecificRuleBeatsAnyMethodOnSamePattern() {
+        RoutePolicyTable table = new RoutePolicyTable(new RoutePolicyProperties(null, List.of(
+            rule("/api/v1/reviews/**", RouteAccess.ADMIN),
+            rule("/api/v1/reviews/**", RouteAccess.PUBLIC, "GET")
+        )));
+
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.GET, "/api/v1/reviews/1"));
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.POST, "/api/v1/reviews/1"));
+    }
+
+    @Test
+    void resolve_inventoryStockCalls_areInternal() {
+        assertEquals(RouteAccess.INTERNAL, table.resolve(HttpMethod.POST, "/api/v1/inventory/reserve"));
+        assertEquals(RouteAccess.INTERNAL, table.resolve(HttpMethod.POST, "/api/v1/inventory/release"));
+        assertEquals(RouteAccess.INTERNAL, table.resolve(HttpMethod.POST, "/api/v1/inventory/confirm"));
+        assertEquals(RouteAccess.INTERNAL, table.resolve(HttpMethod.GET, "/api/v1/inventory/internal/stock/42"));
+        assertEquals(RouteAccess.INTERNAL, table.resolve(HttpMethod.GET, "/internal/revocations"));
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.GET, "/api/v1/inventory/42"));
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.POST, "/api/v1/inventory/reserve/extra"));
+    }
+
+    @Test
+    void resolve_literalBeatsWildcardBeatsRest() {
+        RoutePolicyTable table = new RoutePolicyTable(new RoutePolicyProperties(null, List.of(
+            rule("/api/**", RouteAccess.ADMIN),
+            rule("/api/*/items", RouteAccess.AUTHENTICATED),
+            rule("/api/public/items", RouteAccess.PUBLIC)
+        )));
+
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.GET, "/api/public/items"));
+        assertEquals(RouteAccess.AUTHENTICATED, table.resolve(HttpMethod.GET, "/api/other/items"));
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.GET, "/api/other/things"));
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.GET, "/api"));
+    }
+
+    @Test
+    void resolve_deeperRestBeatsShallowerRest() {
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.GET, "/api/v1/orders/admin"));
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.GET, "/api/v1/orders/admin/stats/daily"));
+        assertEquals(RouteAccess.INTERNAL, table.resolve(HttpMethod.GET, "/api/v1/inventory/internal"));
+    }
+
+    @Test
+    void resolve_literalThatDoesNotMatchDeeper_fallsBackToWildcard() {
+        RoutePolicyTable table = new RoutePolicyTable(new RoutePolicyProperties(null, List.of(
+            rule("/a/b/c", RouteAccess.ADMIN),
+            rule("/a/*/d", RouteAccess.PUBLIC)
+        )));
+
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.GET, "/a/b/d"));
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.GET, "/a/b/c"));
+        assertEquals(RouteAccess.AUTHENTICATED, table.resolve(HttpMethod.GET, "/a/b/e"));
+    }
+
+    @Test
+    void resolve_dotSegments_returnNull() {
+        assertNull(table.resolve(HttpMethod.GET, "/api/v1/products/../inventory/reserve"));
+        assertNull(table.resolve(HttpMethod.GET, "/api/v1/products/./42"));
+        assertNull(table.resolve(HttpMethod.GET, "/api/v1/products/.."));
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.GET, "/api/v1/products/v1.2"));
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.GET, "/api/v1/products/..."));
+    }
+
+    @Test
+    void resolve_trailingAndRepeatedSlashes_matchSameRule() {
+        assertEquals(RouteAccess.INTERNAL, table.resolve(HttpMethod.POST, "/api/v1/inventory/reserve/"));
+        assertEquals(RouteAccess.INTERNAL, table.resolve(HttpMethod.POST, "/api/v1//inventory/reserve"));
+        assertEquals(RouteAccess.PUBLIC, table.resolve(HttpMethod.GET, "/api/v1/products/"));
+    }
+
+    @Test
+    void resolve_segmentsAreCaseSensitive() {
+        assertEquals(RouteAccess.AUTHENTICATED, table.resolve(HttpMethod.GET, "/API/v1/products"));
+        assertEquals(RouteAccess.ADMIN, table.resolve(HttpMethod.POST, "/api/v1/inventory/Reserve"));
+    }
+
+    @Test
+    void resolve_unmatchedPath_usesDefaultAccess() {
+        assertEquals(RouteAccess.AUTHENTICATED, table.resolve(HttpMethod.GET, "/api/v1/orders/42"));
+        assertEquals(RouteAccess.AUTHENTICATED, table.resolve(HttpMethod.GET, "/"));
+        assertEquals(RouteAccess.PUBLIC, new RoutePolicyTable(new RoutePolicyProperties(RouteAccess.PUBLIC, null))
+            .resolve(HttpMethod.GET, "/anything"));
+    }
+
+    @Test
+    void constructor_invalidRules_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new RoutePolicyTable(new RoutePolicyProperties(null, List.of(
+            rule("/a/**/b", RouteAccess.PUBLIC)
+        ))));
+        assertThrows(IllegalArgumentException.class, () -> new RoutePolicyTable(new RoutePolicyProperties(null, List.of(
+            rule("/a/**", RouteAccess.PUBLIC, "FETCH")
+        ))));
+        assertThrows(IllegalArgumentException.class, () -> new RoutePolicyTable(new RoutePolicyProperties(null, List.of(
+            rule("/a/b", RouteAccess.PUBLIC),
+            rule("/a/b", RouteAccess.ADMIN)
+        ))));
+    }
+
+    private static RoutePolicyProperties.Rule rule(String pattern, RouteAccess access, String... methods) {
+        return new RoutePolicyProperties.Rule(pattern, List.of(methods), access);
+    }
+}
@@ -0,0 +1,135 @@
+package com.br.apigateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class LocalRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long now = 1_000 * SECOND;
+
+    @Test
+    void isAllowed_countsDownRemainingThenRejects() {
+        LocalRateLimiter limiter = limiter(1);
+        route(limiter, "products", 1, 3, false);
+
+        assertEquals("2", allow(limiter, "products", "user-1").getHeaders().get("X-RateLimit-Remaining"));
+        assertEquals("1", allow(limiter, "products", "user-1").getHeaders().get("X-RateLimit-Remaining"));
+        assertEquals("0", allow(limiter, "products", "user-1").getHeaders().get("X-RateLimit-Remaining"));
+
+        RateLimiter.Response rejected = reject(limiter, "products", "user-1");
+        assertEquals("0", rejected.getHeaders().get("X-RateLimit-Remaining"));
+        assertEquals("1", rejected.getHeaders().get("X-RateLimit-Replenish-Rate"));
+        assertEquals("3", rejected.getHeaders().get("X-RateLimit-Burst-Capacity"));
+        assertEquals(1.0, meterRegistry.counter("gateway.ratelimit.rejected", "route", "products").count());
+    }
+
+    @Test
+    void isAllowed_refillsOneTokenPerInterval() {
+        LocalRateLimiter limiter = limiter(1);
+        route(limiter, "products", 2, 2, false);
+        allow(limiter, "products", "user-1");
+        allow(limiter, "products", "user-1");
+        reject(limiter, "products", "user-1");
+
+        now += SECOND / 2;
+        assertEquals("0", allow(limiter, "products", "user-1").getHeaders().get("X-RateLimit-Remaining"));
+        reject(limiter, "products", "user-1");
+
+        now += SECOND;
+        assertEquals("1", allow(limiter, "products", "user-1").getHeaders().get("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    void isAllowed_keysAndRoutesHaveSeparateBuckets() {
+        LocalRateLimiter limiter = limiter(1);
+        route(limiter, "products", 1, 1, false);
+        route(limiter, "orders", 1, 1, false);
+        allow(limiter, "products", "user-1");
+        reject(limiter, "products", "user-1");
+
+        allow(limiter, "products", "user-2");
+        allow(limiter, "orders", "user-1");
+    }
+
+    @Test
+    void isAllowed_retryAfter_roundsUpToWholeSeconds() {
+        // Shared between 4 nodes: 1 request every 4 seconds on this node
+        LocalRateLimiter limiter = limiter(4);
+        route(limiter, "checkout", 1, 1, true);
+        allow(limiter, "checkout", "user-1");
+
+        assertEquals("4", reject(limiter, "checkout", "user-1").getHeaders().get("Retry-After"));
+        now += SECOND / 2;
+        assertEquals("4", reject(limiter, "checkout", "user-1").getHeaders().get("Retry-After"));
+        now += SECOND / 2;
+        assertEquals("3", reject(limiter, "checkout", "user-1").getHeaders().get("Retry-After"));
+        now += 2 * SECOND + SECOND * 8 / 10;
+        assertEquals("1", reject(limiter, "checkout", "user-1").getHeaders().get("Retry-After"));
+        now += SECOND / 5;
+        allow(limiter, "checkout", "user-1");
+    }
+
+    @Test
+    void isAllowed_sharedBudget_enforcesThisNodesShare() {
+        LocalRateLimiter limiter = limiter(4);
+        route(limiter, "shared", 8, 8, true);
+        route(limiter, "local", 8, 8, false);
+
+        assertEquals("1", allow(limiter, "shared", "user-1").getHeaders().get("X-RateLimit-Remaining"));
+        assertEquals("0", allow(limiter, "shared", "user-1").getHeaders().get("X-RateLimit-Remaining"));
+        RateLimiter.Response rejected = reject(limiter, "shared", "user-1");
+        // Headers show the configured, cluster-wide budget
+        assertEquals("8", rejected.getHeaders().get("X-RateLimit-Replenish-Rate"));
+        assertEquals("8", rejected.getHeaders().get("X-RateLimit-Burst-Capacity"));
+
+        for (int i = 0; i < 8; i++) {
+            allow(limiter, "local", "user-1");
+        }
+        reject(limiter, "local", "user-1");
+    }
+
+    @Test
+    void isAllowed_sharedBurstBelowInstances_keepsOneToken() {
+        LocalRateLimiter limiter = limiter(4);
+        route(limiter, "shared", 4, 2, true);
+
+        allow(limiter, "shared", "user-1");
+        reject(limiter, "shared", "user-1");
+    }
+
+    private LocalRateLimiter limiter(int instances) {
+        return new LocalRateLimiter(mock(ConfigurationService.class), meterRegistry, 1_000, 600_000, instances, () -> now);
+    }
+
+    private static void route(LocalRateLimiter limiter, String routeId, long rate, long burst, boolean shared) {
+        LocalRateLimiter.Config config = new LocalRateLimiter.Config();
+        config.setReplenishRate(rate);
+        config.setBurstCapacity(burst);
+        config.setSharedBudget(shared);
+        limiter.getConfig().put(routeId, config);
+    }
+
+    private static RateLimiter.Response allow(LocalRateLimiter limiter, String routeId, String id) {
+        RateLimiter.Response response = limiter.isAllowed(routeId, id).block();
+        assertTrue(response.isAllowed());
+        return response;
+    }
+
+    private static RateLimiter.Response reject(LocalRateLimiter limiter, String routeId, String id) {
+        RateLimiter.Response response = limiter.isAllowed(routeId, id).block();
+        assertFalse(response.isAllowed());
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package com.br.apigateway.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringBloomFilterTest {
+
+    private static final long WINDOW_MS = 1_000;
+
+    private final ExpiringBloomFilter filter = new ExpiringBloomFilter(4, WINDOW_MS, 1 << 16);
+
+    @Test
+    void add_thenMightContain_untilItsWindowPasses() {
+        assertTrue(filter.add("session-1", 2_500, 0));
+
+        assertTrue(filter.mightContain("session-1", 0));
+        assertTrue(filter.mightContain("session-1", 2_999));
+        assertFalse(filter.mightContain("session-1", 3_000));
+    }
+
+    @Test
+    void mightContain_keyNeverAdded_returnsFalse() {
+        filter.add("session-1", 2_500, 0);
+
+        assertFalse(filter.mightContain("session-2", 0));
+    }
+
+    @Test
+    void add_alreadyExpired_isRejected() {
+        assertFalse(filter.add("session-1", 999, 1_000));
+        assertFalse(filter.mightContain("session-1", 1_000));
+    }
+
+    @Test
+    void add_pastHorizon_isRejected() {
+        assertTrue(filter.add("session-1", 3_999, 0));
+        assertFalse(filter.add("session-2", 4_000, 0));
+        assertFalse(filter.mightContain("session-2", 0));
+    }
+
+    @Test
+    void add_intoSlotOfPassedWindow_dropsTheOldBucket() {
+        filter.add("session-1", 500, 0);
+
+        // Window 4 shares the slot of window 0
+        assertTrue(filter.add("session-2", 4_500, 1_000));
+
+        assertTrue(filter.mightContain("session-2", 1_000));
+        assertFalse(filter.mightContain("session-1", 0));
+    }
+}
@@ -0,0 +1,135 @@
+package com.br.apigateway.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationListTest {
+
+    private static final long START = 1_000_000;
+
+    private final MutableClock clock = new MutableClock(START);
+    // Four one-second windows: revocations expiring more than 4s ahead are held outside the filter
+    private final RevocationList revocationList = new RevocationList(4, 1_000, 1 << 16, clock);
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID sessionId = UUID.randomUUID();
+
+    @Test
+    void isRevoked_revokedSession_untilItExpires() {
+        revocationList.add(new Revocation(userId, sessionId, START, START + 2_000));
+
+        assertTrue(revocationList.isRevoked(userId.toString(), sessionId.toString(), 0));
+        assertFalse(revocationList.isRevoked(userId.toString(), UUID.randomUUID().toString(), 0));
+        assertFalse(revocationList.isRevoked(userId.toString(), null, 0));
+
+        clock.advance(2_000);
+        assertFalse(revocationList.isRevoked(userId.toString(), sessionId.toString(), 0));
+    }
+
+    @Test
+    void isRevoked_userWideRevocation_coversTokensIssuedUpToIt() {
+        long revokedAtSeconds = START / 1000;
+        revocationList.add(new Revocation(userId, null, START, START + 3_000));
+
+        assertTrue(revocationList.isRevoked(userId.toString(), null, revokedAtSeconds - 60));
+        assertTrue(revocationList.isRevoked(userId.toString(), sessionId.toString(), revokedAtSeconds));
+        assertFalse(revocationList.isRevoked(userId.toString(), sessionId.toString(), revokedAtSeconds + 1));
+        assertFalse(revocationList.isRevoked(UUID.randomUUID().toString(), null, revokedAtSeconds - 60));
+    }
+
+    @Test
+    void add_olderUserWideRevocation_keepsTheNewest() {
+        long revokedAtSeconds = START / 1000;
+        revocationList.add(new Revocation(userId, null, START, START + 3_000));
+        revocationList.add(new Revocation(userId, null, START - 10_000, START + 3_000));
+
+        assertTrue(revocationList.isRevoked(userId.toString(), null, revokedAtSeconds));
+        assertEquals(1, revocationList.size());
+    }
+
+    @Test
+    void add_alreadyExpired_isIgnored() {
+        revocationList.add(new Revocation(userId, sessionId, START - 5_000, START));
+
+        assertEquals(0, revocationList.size());
+        assertFalse(revocationList.isRevoked(userId.toString(), sessionId.toString(), 0));
+    }
+
+    @Test
+    void isRevoked_entryPastHorizon_isCheckedExactlyUntilRefiltered() {
+        // Expires 10s ahead, past the filter's 4s horizon
+        revocationList.add(new Revocation(userId, sessionId, START, START + 10_000));
+
+        assertTrue(revocationList.isRevoked(userId.toString(), sessionId.toString(), 0));
+        assertFalse(revocationList.isRevoked(userId.toString(), UUID.randomUUID().toString(), 0));
+
+        // Still past the horizon: stays outside the filter
+        clock.advance(5_000);
+        revocationList.prune();
+        assertTrue(revocationList.isRevoked(userId.toString(), sessionId.toString(), 0));
+
+        // Now within the horizon: moved into the filter, and still revoked through it
+        clock.advance(2_000);
+        revocationList.prune();
+        assertTrue(revocationList.isRevoked(userId.toString(), sessionId.toString(), 0));
+        assertFalse(revocationList.isRevoked(userId.toString(), UUID.randomUUID().toString(), 0));
+    }
+
+    @Test
+    void prune_dropsExpiredEntries() {
+        revocationList.add(new Revocation(userId, sessionId, START, START + 1_000));
+        revocationList.add(new Revocation(userId, null, START, START + 3_000));
+        assertEquals(2, revocationList.size());
+
+        clock.advance(1_000);
+        revocationList.prune();
+        assertEquals(1, revocationList.size());
+
+        clock.advance(2_000);
+        revocationList.prune();
+        assertEquals(0, revocationList.size());
+        assertFalse(revocationList.isRevoked(userId.toString(), null, 0));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
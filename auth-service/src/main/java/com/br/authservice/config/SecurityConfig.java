@@ -11,15 +11,16 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     /**
-     * Allows unauthenticated access to auth endpoints and actuator,
+     * Allows unauthenticated access to auth endpoints, internal endpoints and actuator,
      * and secures any other endpoint by default.
+     * Internal endpoints are not routed by the gateway; only services inside the network reach them.
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/v1/auth/**", "/actuator/**").permitAll()
+                .requestMatchers("/api/v1/auth/**", "/internal/v1/auth/**", "/actuator/**").permitAll()
                 .anyRequest().authenticated()
             )
             .httpBasic(Customizer.withDefaults())
@@ -0,0 +1,33 @@
+package com.br.authservice.controller;
+
+import com.br.authservice.service.AuthService;
+import com.br.authservice.service.dto.RevocationResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/internal/v1/auth")
+public class RevocationController {
+
+    private final AuthService authService;
+
+    public RevocationController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    /**
+     * Returns the revocations gateways need to deny access tokens locally (used by API Gateway).
+     */
+    @GetMapping("/revocations")
+    public ResponseEntity<List<RevocationResponse>> revocations(
+        @RequestParam(name = "since", defaultValue = "1970-01-01T00:00:00Z") Instant since
+    ) {
+        return ResponseEntity.ok(authService.findRevocationsSince(since));
+    }
+}
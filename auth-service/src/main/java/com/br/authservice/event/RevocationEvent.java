@@ -0,0 +1,10 @@
+package com.br.authservice.event;
+
+import java.util.UUID;
+
+/**
+ * Published to {@code auth.revoked}. Times are epoch milliseconds.
+ * With a {@code tokenId} only access tokens of that session are revoked; without one, every access token
+ * of {@code userId} issued up to {@code revokedAt}. Gateways drop the entry after {@code expiresAt}.
+ */
+public record RevocationEvent(UUID userId, UUID tokenId, long revokedAt, long expiresAt) {}
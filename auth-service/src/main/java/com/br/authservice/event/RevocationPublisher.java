@@ -0,0 +1,31 @@
+package com.br.authservice.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class RevocationPublisher {
+
+    public static final String TOPIC_AUTH_REVOKED = "auth.revoked";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public RevocationPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    /**
+     * Pushes a revocation to the gateways. A lost message is recovered by the gateways' periodic
+     * resync from {@code /internal/v1/auth/revocations}, so failures are only logged.
+     */
+    public void publish(RevocationEvent event) {
+        kafkaTemplate.send(TOPIC_AUTH_REVOKED, event.userId().toString(), event)
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.warn("Could not publish revocation for user {}: {}", event.userId(), ex.getMessage());
+                }
+            });
+    }
+}
@@ -0,0 +1,25 @@
+package com.br.authservice.job;
+
+import com.br.authservice.repository.TokenRevocationRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+public class RevocationCleanupJob {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    public RevocationCleanupJob(TokenRevocationRepository tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    /**
+     * Deletes revocations whose access tokens have all expired.
+     */
+    @Scheduled(cron = "${security.revocation.cleanup-cron:0 */10 * * * *}")
+    public void deleteExpired() {
+        tokenRevocationRepository.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -27,8 +27,11 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(nullable = false, length = 256, unique = true)
-    private String token;
+    /**
+     * SHA-256 of the opaque id ("jti") carried by the signed refresh token; the token itself is never stored.
+     */
+    @Column(name = "token_hash", nullable = false, length = 32, unique = true)
+    private byte[] tokenHash;
 
     @Column(name = "user_id", nullable = false)
     private UUID userId;
@@ -0,0 +1,18 @@
+package com.br.authservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Session columns of a refresh token, served from the covering index on its hash.
+ */
+public interface RefreshSessionView {
+
+    UUID getId();
+
+    UUID getUserId();
+
+    LocalDateTime getExpiryDate();
+
+    Boolean getRevoked();
+}
@@ -2,8 +2,12 @@ package com.br.authservice.repository;
 
 import com.br.authservice.model.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,7 +15,70 @@ import java.util.UUID;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshSessionView> findByTokenHash(byte[] tokenHash);
 
-    List<RefreshToken> findByUserIdAndRevokedFalseOrderByCreatedAtAsc(UUID userId);
+    /**
+     * Inserts a session and revokes the user's active sessions beyond the newest four, recording a
+     * token_revocation for each, in one statement. Returns the ids of the revoked sessions.
+     * All parts see the same snapshot, so the new row is not counted by the window.
+     */
+    @Transactional
+    @Query(value = """
+        WITH capped AS (
+            UPDATE refresh_token
+            SET revoked = TRUE
+            WHERE id IN (
+                SELECT id FROM refresh_token
+                WHERE user_id = :userId
+                  AND revoked = FALSE
+                ORDER BY created_at DESC
+                OFFSET 4
+            )
+            RETURNING id, user_id
+        ),
+        recorded AS (
+            INSERT INTO token_revocation (id, user_id, token_id, revoked_at, expires_at)
+            SELECT gen_random_uuid(), user_id, id, :now, :revocationExpiresAt FROM capped
+        ),
+        created AS (
+            INSERT INTO refresh_token (id, token_hash, user_id, expiry_date, revoked, created_at)
+            VALUES (:id, :tokenHash, :userId, :expiryDate, FALSE, :now)
+        )
+        SELECT id FROM capped
+        """, nativeQuery = true)
+    List<UUID> createCapped(
+        @Param("id") UUID id,
+        @Param("tokenHash") byte[] tokenHash,
+        @Param("userId") UUID userId,
+        @Param("expiryDate") LocalDateTime expiryDate,
+        @Param("now") LocalDateTime now,
+        @Param("revocationExpiresAt") LocalDateTime revocationExpiresAt
+    );
+
+    /**
+     * Revokes the user's active session with the given token hash and records its token_revocation
+     * in one statement. Returns the revoked session id, or nothing if no active session matched.
+     */
+    @Transactional
+    @Query(value = """
+        WITH revoked AS (
+            UPDATE refresh_token
+            SET revoked = TRUE
+            WHERE token_hash = :tokenHash
+              AND user_id = :userId
+              AND revoked = FALSE
+            RETURNING id, user_id
+        ),
+        recorded AS (
+            INSERT INTO token_revocation (id, user_id, token_id, revoked_at, expires_at)
+            SELECT gen_random_uuid(), user_id, id, :now, :revocationExpiresAt FROM revoked
+        )
+        SELECT id FROM revoked
+        """, nativeQuery = true)
+    List<UUID> revokeByTokenHash(
+        @Param("tokenHash") byte[] tokenHash,
+        @Param("userId") UUID userId,
+        @Param("now") LocalDateTime now,
+        @Param("revocationExpiresAt") LocalDateTime revocationExpiresAt
+    );
 }
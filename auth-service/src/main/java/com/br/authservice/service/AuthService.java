@@ -1,30 +1,59 @@
 package com.br.authservice.service;
 
 import com.br.authservice.client.UserServiceClient;
-import com.br.authservice.model.RefreshToken;
+import com.br.authservice.event.RevocationEvent;
+import com.br.authservice.event.RevocationPublisher;
+import com.br.authservice.repository.RefreshSessionView;
 import com.br.authservice.repository.RefreshTokenRepository;
+import com.br.authservice.repository.TokenRevocationRepository;
 import com.br.authservice.service.dto.AuthResponse;
 import com.br.authservice.service.dto.LoginRequest;
 import com.br.authservice.service.dto.LogoutRequest;
 import com.br.authservice.service.dto.RefreshTokenRequest;
 import com.br.authservice.service.dto.RegisterRequest;
+import com.br.authservice.service.dto.RevocationResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class AuthService {
 
+    private static final int TOKEN_ID_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationRepository tokenRevocationRepository;
     private final JwtService jwtService;
     private final UserServiceClient userServiceClient;
+    private final RevocationPublisher revocationPublisher;
 
-    public AuthService(RefreshTokenRepository refreshTokenRepository, JwtService jwtService, UserServiceClient userServiceClient) {
+    public AuthService(
+        RefreshTokenRepository refreshTokenRepository,
+        TokenRevocationRepository tokenRevocationRepository,
+        JwtService jwtService,
+        UserServiceClient userServiceClient,
+        RevocationPublisher revocationPublisher
+    ) {
         this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationRepository = tokenRevocationRepository;
         this.jwtService = jwtService;
         this.userServiceClient = userServiceClient;
+        this.revocationPublisher = revocationPublisher;
     }
 
     /**
@@ -39,14 +68,17 @@ public class AuthService {
             throw new IllegalStateException("Could not create user");
         }
 
-        // Generate tokens for the newly created user
-        String accessToken = jwtService.generateAccessToken(createdUser.id(), createdUser.email(), createdUser.role());
-        String refreshToken = jwtService.generateRefreshToken(createdUser.id());
+        // Persist the session first; its id becomes the access token's session id
+        Session session = openSession(createdUser.id());
 
-        // Persist refresh token for session control
-        saveRefreshToken(createdUser.id(), refreshToken);
+        String accessToken = jwtService.generateAccessToken(
+            createdUser.id(),
+            createdUser.email(),
+            createdUser.role(),
+            session.id()
+        );
 
-        return new AuthResponse(accessToken, refreshToken);
+        return new AuthResponse(accessToken, session.refreshToken());
     }
 
     /**
@@ -61,78 +93,170 @@ public class AuthService {
             throw new IllegalStateException("Invalid credentials");
         }
 
+        Session session = openSession(loginResponse.id());
+
         String accessToken = jwtService.generateAccessToken(
             loginResponse.id(),
             loginResponse.email(),
-            loginResponse.role()
+            loginResponse.role(),
+            session.id()
         );
-        String refreshToken = jwtService.generateRefreshToken(loginResponse.id());
-
-        saveRefreshToken(loginResponse.id(), refreshToken);
 
-        return new AuthResponse(accessToken, refreshToken);
+        return new AuthResponse(accessToken, session.refreshToken());
     }
 
     /**
      * Refreshes the access token using a valid refresh token.
+     * The signature and expiry are checked before the single lookup by token hash.
      */
     public AuthResponse refresh(RefreshTokenRequest request) {
-        RefreshToken token = refreshTokenRepository.findByToken(request.getRefreshToken())
+        Claims claims = parseRefreshToken(request.getRefreshToken());
+        RefreshSessionView session = refreshTokenRepository.findByTokenHash(hash(claims.getId()))
             .orElseThrow(() -> new IllegalArgumentException("Refresh token not found"));
 
         // Reject revoked tokens
-        if (Boolean.TRUE.equals(token.getRevoked())) {
+        if (Boolean.TRUE.equals(session.getRevoked())) {
             throw new IllegalArgumentException("Refresh token revoked");
         }
 
         // Reject expired tokens
-        if (token.getExpiryDate().isBefore(LocalDateTime.now())) {
+        if (session.getExpiryDate().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("Refresh token expired");
         }
 
-        UUID userId = token.getUserId();
         // Access token regenerated; refresh token remains the same
-        String accessToken = jwtService.generateAccessToken(userId, null, null);
+        String accessToken = jwtService.generateAccessToken(session.getUserId(), null, null, session.getId());
 
         return new AuthResponse(accessToken, request.getRefreshToken());
     }
 
     /**
-     * Revokes a refresh token (logout).
+     * Revokes a refresh token (logout) and the access tokens issued with it.
      */
     public void logout(LogoutRequest request) {
-        RefreshToken token = refreshTokenRepository.findByToken(request.getRefreshToken())
-            .orElseThrow(() -> new IllegalArgumentException("Refresh token not found"));
+        Claims claims = parseRefreshToken(request.getRefreshToken());
+        UUID userId = UUID.fromString(claims.getSubject());
 
-        // Mark refresh token as revoked
-        token.setRevoked(true);
-        refreshTokenRepository.save(token);
+        LocalDateTime now = now();
+        List<UUID> revoked = refreshTokenRepository.revokeByTokenHash(
+            hash(claims.getId()),
+            userId,
+            now,
+            revocationExpiresAt(now)
+        );
+        if (revoked.isEmpty()) {
+            throw new IllegalArgumentException("Refresh token not found");
+        }
+
+        publishRevocations(userId, revoked, now);
+    }
+
+    /**
+     * Returns revocations recorded after {@code since} that still affect unexpired access tokens.
+     */
+    public List<RevocationResponse> findRevocationsSince(Instant since) {
+        LocalDateTime now = LocalDateTime.now();
+        return tokenRevocationRepository
+            .findByRevokedAtAfterAndExpiresAtAfterOrderByRevokedAtAsc(LocalDateTime.ofInstant(since, ZoneId.systemDefault()), now)
+            .stream()
+            .map(revocation -> new RevocationResponse(
+                revocation.getUserId(),
+                revocation.getTokenId(),
+                toEpochMilli(revocation.getRevokedAt()),
+                toEpochMilli(revocation.getExpiresAt())
+            ))
+            .toList();
     }
 
     /**
      * Validates access token.
      */
     public boolean validate(String token) {
-        return jwtService.isTokenValid(token);
+        return jwtService.isAccessTokenValid(token);
+    }
+
+    /**
+     * Stores a new session and applies the 5-session cap in one statement, then pushes the
+     * revocation of every session the cap closed to the gateways.
+     */
+    private Session openSession(UUID userId) {
+        UUID sessionId = UUID.randomUUID();
+        String tokenId = newTokenId();
+        String refreshToken = jwtService.generateRefreshToken(userId, tokenId);
+
+        LocalDateTime now = now();
+        List<UUID> capped = refreshTokenRepository.createCapped(
+            sessionId,
+            hash(tokenId),
+            userId,
+            now.plus(Duration.ofMillis(jwtService.getRefreshTokenExpirationMs())),
+            now,
+            revocationExpiresAt(now)
+        );
+        publishRevocations(userId, capped, now);
+
+        return new Session(sessionId, refreshToken);
+    }
+
+    /**
+     * A revocation record outlives the session's access tokens by at most one access token lifetime.
+     */
+    private LocalDateTime revocationExpiresAt(LocalDateTime revokedAt) {
+        return revokedAt.plus(Duration.ofMillis(jwtService.getAccessTokenExpirationMs()));
     }
 
-    private void saveRefreshToken(UUID userId, String token) {
-        // Enforce max 5 active refresh tokens per user
-        List<RefreshToken> activeTokens = refreshTokenRepository.findByUserIdAndRevokedFalseOrderByCreatedAtAsc(userId);
-        if (activeTokens.size() >= 5) {
-            RefreshToken oldest = activeTokens.get(0);
-            oldest.setRevoked(true);
-            refreshTokenRepository.save(oldest);
+    private void publishRevocations(UUID userId, List<UUID> sessionIds, LocalDateTime revokedAt) {
+        for (UUID sessionId : sessionIds) {
+            revocationPublisher.publish(new RevocationEvent(
+                userId,
+                sessionId,
+                toEpochMilli(revokedAt),
+                toEpochMilli(revocationExpiresAt(revokedAt))
+            ));
         }
+    }
 
-        // Persist the new refresh token
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUserId(userId);
-        refreshToken.setToken(token);
-        refreshToken.setExpiryDate(LocalDateTime.now().plusDays(7));
-        refreshToken.setRevoked(false);
-        refreshTokenRepository.save(refreshToken);
+    private Claims parseRefreshToken(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.getClaims(token);
+        } catch (ExpiredJwtException e) {
+            throw new IllegalArgumentException("Refresh token expired");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        // Refresh tokens issued before token_use was added have none; they are still told apart by their jti
+        String tokenUse = claims.get(JwtService.TOKEN_USE_CLAIM, String.class);
+        if (claims.getId() == null || claims.getSubject() == null
+            || (tokenUse != null && !JwtService.REFRESH_TOKEN_USE.equals(tokenUse))) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        return claims;
     }
 
-    
+    private static String newTokenId() {
+        byte[] bytes = new byte[TOKEN_ID_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] hash(String tokenId) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Truncated to millis so the stored rows and the pushed events agree exactly
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Session(UUID id, String refreshToken) {
+    }
 }
@@ -14,6 +14,13 @@ import java.util.UUID;
 @Service
 public class JwtService {
 
+    /**
+     * Claim telling access tokens from refresh tokens, so neither is accepted in place of the other.
+     */
+    public static final String TOKEN_USE_CLAIM = "token_use";
+    public static final String ACCESS_TOKEN_USE = "access";
+    public static final String REFRESH_TOKEN_USE = "refresh";
+
     private final SecretKey secretKey;
     private final long accessTokenExpirationMs;
     private final long refreshTokenExpirationMs;
@@ -31,8 +38,9 @@ public class JwtService {
 
     /**
      * Generates an access token with user data (subject + claims).
+     * {@code sessionId} is the id of the refresh token it was issued with ("sid"), so it can be revoked with it.
      */
-    public String generateAccessToken(UUID userId, String email, String role) {
+    public String generateAccessToken(UUID userId, String email, String role, UUID sessionId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + accessTokenExpirationMs);
 
@@ -40,6 +48,8 @@ public class JwtService {
             .subject(userId.toString())
             .claim("email", email)
             .claim("role", role)
+            .claim("sid", sessionId == null ? null : sessionId.toString())
+            .claim(TOKEN_USE_CLAIM, ACCESS_TOKEN_USE)
             .issuedAt(now)
             .expiration(expiry)
             .signWith(secretKey)
@@ -47,20 +57,37 @@ public class JwtService {
     }
 
     /**
-     * Generates a refresh token with only the subject (userId).
+     * Generates a refresh token with the subject (userId) and an opaque token id ("jti").
+     * Only a hash of the token id is stored, so the signed token is the sole carrier of the id.
      */
-    public String generateRefreshToken(UUID userId) {
+    public String generateRefreshToken(UUID userId, String tokenId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + refreshTokenExpirationMs);
 
         return Jwts.builder()
             .subject(userId.toString())
+            .id(tokenId)
+            .claim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
             .issuedAt(now)
             .expiration(expiry)
             .signWith(secretKey)
             .compact();
     }
 
+    /**
+     * Returns how long an access token stays valid after it is issued.
+     */
+    public long getAccessTokenExpirationMs() {
+        return accessTokenExpirationMs;
+    }
+
+    /**
+     * Returns how long a refresh token stays valid after it is issued.
+     */
+    public long getRefreshTokenExpirationMs() {
+        return refreshTokenExpirationMs;
+    }
+
     /**
      * Validates token signature and expiration.
      */
@@ -73,6 +100,17 @@ public class JwtService {
         }
     }
 
+    /**
+     * Validates signature and expiration, and that the token is an access token.
+     */
+    public boolean isAccessTokenValid(String token) {
+        try {
+            return ACCESS_TOKEN_USE.equals(getClaims(token).get(TOKEN_USE_CLAIM, String.class));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     /**
      * Returns all claims from a token.
      */
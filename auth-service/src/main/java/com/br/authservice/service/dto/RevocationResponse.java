@@ -0,0 +1,9 @@
+package com.br.authservice.service.dto;
+
+import java.util.UUID;
+
+/**
+ * Same shape as {@code RevocationEvent}: times are epoch milliseconds, and a {@code tokenId} narrows
+ * the revocation to one session.
+ */
+public record RevocationResponse(UUID userId, UUID tokenId, long revokedAt, long expiresAt) {}
@@ -0,0 +1,11 @@
+-- Access tokens of a user issued up to revoked_at are denied until expires_at,
+-- after which every such token has expired on its own and the row can be deleted.
+CREATE TABLE token_revocation (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_token_revocation_revoked_at ON token_revocation (revoked_at);
+CREATE INDEX idx_token_revocation_expires_at ON token_revocation (expires_at);
@@ -0,0 +1,3 @@
+-- A revocation covers one session (token_id, the refresh token id carried as "sid" by its access tokens)
+-- or, when token_id is null, every access token of the user issued up to revoked_at.
+ALTER TABLE token_revocation ADD COLUMN token_id UUID;
@@ -0,0 +1,15 @@
+-- Refresh tokens are stored as the SHA-256 of their opaque id instead of the full JWT.
+-- Sessions issued before this change carry no id, so they are revoked and keep a placeholder hash
+-- that no token can match; their users sign in again.
+ALTER TABLE refresh_token ADD COLUMN token_hash BYTEA;
+UPDATE refresh_token SET token_hash = sha256(convert_to(token, 'UTF8')), revoked = TRUE;
+ALTER TABLE refresh_token ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_token ADD CONSTRAINT chk_refresh_token_hash_length CHECK (octet_length(token_hash) = 32);
+ALTER TABLE refresh_token DROP COLUMN token;
+
+-- Covers refresh lookups: every column read by a refresh is in the index
+CREATE UNIQUE INDEX idx_refresh_token_hash ON refresh_token (token_hash) INCLUDE (id, user_id, expiry_date, revoked);
+
+-- Serves the session-cap window over a user's active sessions
+DROP INDEX idx_refresh_token_user_id;
+CREATE INDEX idx_refresh_token_user_active ON refresh_token (user_id, created_at DESC) WHERE revoked = FALSE;
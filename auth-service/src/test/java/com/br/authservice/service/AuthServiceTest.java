@@ -1,13 +1,18 @@
 package com.br.authservice.service;
 
 import com.br.authservice.client.UserServiceClient;
-import com.br.authservice.model.RefreshToken;
+import com.br.authservice.event.RevocationPublisher;
+import com.br.authservice.repository.RefreshSessionView;
 import com.br.authservice.repository.RefreshTokenRepository;
+import com.br.authservice.repository.TokenRevocationRepository;
 import com.br.authservice.service.dto.AuthResponse;
 import com.br.authservice.service.dto.LoginRequest;
 import com.br.authservice.service.dto.LogoutRequest;
 import com.br.authservice.service.dto.RefreshTokenRequest;
 import com.br.authservice.service.dto.RegisterRequest;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -16,15 +21,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,17 +45,29 @@ class AuthServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
     @Mock
     private JwtService jwtService;
 
     @Mock
     private UserServiceClient userServiceClient;
 
+    @Mock
+    private RevocationPublisher revocationPublisher;
+
     @InjectMocks
     private AuthService authService;
 
     @Captor
-    private ArgumentCaptor<RefreshToken> refreshTokenCaptor;
+    private ArgumentCaptor<String> tokenIdCaptor;
+
+    @Captor
+    private ArgumentCaptor<UUID> sessionIdCaptor;
+
+    @Captor
+    private ArgumentCaptor<byte[]> tokenHashCaptor;
 
     @Test
     void register_success_returnsTokens() {
@@ -58,20 +81,18 @@ class AuthServiceTest {
         UUID userId = UUID.randomUUID();
         when(userServiceClient.createUser(any()))
             .thenReturn(new UserServiceClient.UserResponse(userId, "user@email.com", "USER"));
-        when(jwtService.generateAccessToken(userId, "user@email.com", "USER")).thenReturn("access");
-        when(jwtService.generateRefreshToken(userId)).thenReturn("refresh");
-        when(refreshTokenRepository.findByUserIdAndRevokedFalseOrderByCreatedAtAsc(userId))
-            .thenReturn(List.of());
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(jwtService.generateAccessToken(eq(userId), eq("user@email.com"), eq("USER"), any())).thenReturn("access");
+        stubNewSession(userId, List.of());
 
         AuthResponse response = authService.register(request);
 
         assertEquals("access", response.getAccessToken());
         assertEquals("refresh", response.getRefreshToken());
-        verify(refreshTokenRepository).save(refreshTokenCaptor.capture());
-        RefreshToken saved = refreshTokenCaptor.getValue();
-        assertEquals(userId, saved.getUserId());
-        assertEquals("refresh", saved.getToken());
+        verify(jwtService).generateRefreshToken(eq(userId), tokenIdCaptor.capture());
+        verify(refreshTokenRepository).createCapped(sessionIdCaptor.capture(), tokenHashCaptor.capture(), eq(userId),
+            any(), any(), any());
+        assertArrayEquals(sha256(tokenIdCaptor.getValue()), tokenHashCaptor.getValue());
+        verify(jwtService).generateAccessToken(userId, "user@email.com", "USER", sessionIdCaptor.getValue());
     }
 
     @Test
@@ -83,84 +104,160 @@ class AuthServiceTest {
         UUID userId = UUID.randomUUID();
         when(userServiceClient.validateLogin(any()))
             .thenReturn(new UserServiceClient.LoginResponse(userId, "user@email.com", "USER", "ACTIVE"));
-        when(jwtService.generateAccessToken(userId, "user@email.com", "USER")).thenReturn("access");
-        when(jwtService.generateRefreshToken(userId)).thenReturn("refresh");
-        when(refreshTokenRepository.findByUserIdAndRevokedFalseOrderByCreatedAtAsc(userId))
-            .thenReturn(List.of());
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(jwtService.generateAccessToken(eq(userId), eq("user@email.com"), eq("USER"), any())).thenReturn("access");
+        stubNewSession(userId, List.of());
 
         AuthResponse response = authService.login(request);
 
         assertEquals("access", response.getAccessToken());
         assertEquals("refresh", response.getRefreshToken());
+        verify(revocationPublisher, never()).publish(any());
     }
 
     @Test
     void refresh_valid_returnsNewAccessToken() {
         UUID userId = UUID.randomUUID();
-        RefreshToken token = new RefreshToken();
-        token.setUserId(userId);
-        token.setToken("refresh");
-        token.setRevoked(false);
-        token.setExpiryDate(LocalDateTime.now().plusDays(1));
+        UUID sessionId = UUID.randomUUID();
 
-        when(refreshTokenRepository.findByToken("refresh")).thenReturn(Optional.of(token));
-        when(jwtService.generateAccessToken(userId, null, null)).thenReturn("new-access");
+        when(jwtService.getClaims("refresh")).thenReturn(refreshClaims(userId, "token-id"));
+        when(refreshTokenRepository.findByTokenHash(any()))
+            .thenReturn(Optional.of(session(sessionId, userId, LocalDateTime.now().plusDays(1), false)));
+        when(jwtService.generateAccessToken(userId, null, null, sessionId)).thenReturn("new-access");
 
-        AuthResponse response = authService.refresh(new RefreshTokenRequest() {{
-            setRefreshToken("refresh");
-        }});
+        AuthResponse response = authService.refresh(refreshRequest("refresh"));
 
         assertEquals("new-access", response.getAccessToken());
         assertEquals("refresh", response.getRefreshToken());
+        byte[] expectedHash = sha256("token-id");
+        verify(refreshTokenRepository).findByTokenHash(argThat(hash -> Arrays.equals(expectedHash, hash)));
     }
 
     @Test
     void refresh_revoked_throws() {
-        RefreshToken token = new RefreshToken();
-        token.setToken("refresh");
-        token.setRevoked(true);
-        token.setExpiryDate(LocalDateTime.now().plusDays(1));
-
-        when(refreshTokenRepository.findByToken("refresh")).thenReturn(Optional.of(token));
+        UUID userId = UUID.randomUUID();
+        when(jwtService.getClaims("refresh")).thenReturn(refreshClaims(userId, "token-id"));
+        when(refreshTokenRepository.findByTokenHash(any()))
+            .thenReturn(Optional.of(session(UUID.randomUUID(), userId, LocalDateTime.now().plusDays(1), true)));
 
-        assertThrows(IllegalArgumentException.class, () -> authService.refresh(new RefreshTokenRequest() {{
-            setRefreshToken("refresh");
-        }}));
+        assertThrows(IllegalArgumentException.class, () -> authService.refresh(refreshRequest("refresh")));
     }
 
     @Test
     void refresh_expired_throws() {
-        RefreshToken token = new RefreshToken();
-        token.setToken("refresh");
-        token.setRevoked(false);
-        token.setExpiryDate(LocalDateTime.now().minusDays(1));
+        UUID userId = UUID.randomUUID();
+        when(jwtService.getClaims("refresh")).thenReturn(refreshClaims(userId, "token-id"));
+        when(refreshTokenRepository.findByTokenHash(any()))
+            .thenReturn(Optional.of(session(UUID.randomUUID(), userId, LocalDateTime.now().minusDays(1), false)));
 
-        when(refreshTokenRepository.findByToken("refresh")).thenReturn(Optional.of(token));
+        assertThrows(IllegalArgumentException.class, () -> authService.refresh(refreshRequest("refresh")));
+    }
 
-        assertThrows(IllegalArgumentException.class, () -> authService.refresh(new RefreshTokenRequest() {{
-            setRefreshToken("refresh");
-        }}));
+    @Test
+    void refresh_badSignature_throwsWithoutLookup() {
+        when(jwtService.getClaims("forged")).thenThrow(new SignatureException("bad signature"));
+
+        assertThrows(IllegalArgumentException.class, () -> authService.refresh(refreshRequest("forged")));
+        verify(refreshTokenRepository, never()).findByTokenHash(any());
     }
 
     @Test
     void logout_revokesToken() {
-        RefreshToken token = new RefreshToken();
-        token.setToken("refresh");
-        token.setRevoked(false);
-        token.setExpiryDate(LocalDateTime.now().plusDays(1));
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
 
-        when(refreshTokenRepository.findByToken("refresh")).thenReturn(Optional.of(token));
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(jwtService.getClaims("refresh")).thenReturn(refreshClaims(userId, "token-id"));
+        when(jwtService.getAccessTokenExpirationMs()).thenReturn(900000L);
+        when(refreshTokenRepository.revokeByTokenHash(any(), eq(userId), any(), any())).thenReturn(List.of(sessionId));
 
         LogoutRequest request = new LogoutRequest();
         request.setRefreshToken("refresh");
 
         authService.logout(request);
 
-        verify(refreshTokenRepository).save(refreshTokenCaptor.capture());
-        RefreshToken saved = refreshTokenCaptor.getValue();
-        assertNotNull(saved);
-        assertEquals(true, saved.getRevoked());
+        verify(revocationPublisher).publish(argThat(event ->
+            userId.equals(event.userId()) && sessionId.equals(event.tokenId()) && event.expiresAt() > event.revokedAt()));
+    }
+
+    @Test
+    void logout_unknownToken_throws() {
+        UUID userId = UUID.randomUUID();
+        when(jwtService.getClaims("refresh")).thenReturn(refreshClaims(userId, "token-id"));
+        when(jwtService.getAccessTokenExpirationMs()).thenReturn(900000L);
+        when(refreshTokenRepository.revokeByTokenHash(any(), eq(userId), any(), any())).thenReturn(List.of());
+
+        LogoutRequest request = new LogoutRequest();
+        request.setRefreshToken("refresh");
+
+        assertThrows(IllegalArgumentException.class, () -> authService.logout(request));
+        verify(revocationPublisher, never()).publish(any());
+    }
+
+    @Test
+    void login_sessionCapReached_revokesOldestSession() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("user@email.com");
+        request.setPassword("SenhaForte1");
+
+        UUID userId = UUID.randomUUID();
+        UUID oldest = UUID.randomUUID();
+
+        when(userServiceClient.validateLogin(any()))
+            .thenReturn(new UserServiceClient.LoginResponse(userId, "user@email.com", "USER", "ACTIVE"));
+        when(jwtService.generateAccessToken(eq(userId), eq("user@email.com"), eq("USER"), any())).thenReturn("access");
+        stubNewSession(userId, List.of(oldest));
+
+        authService.login(request);
+
+        verify(revocationPublisher).publish(argThat(event ->
+            userId.equals(event.userId()) && oldest.equals(event.tokenId()) && event.expiresAt() > event.revokedAt()));
+    }
+
+    private void stubNewSession(UUID userId, List<UUID> capped) {
+        when(jwtService.generateRefreshToken(eq(userId), any())).thenReturn("refresh");
+        when(jwtService.getRefreshTokenExpirationMs()).thenReturn(604800000L);
+        when(jwtService.getAccessTokenExpirationMs()).thenReturn(900000L);
+        when(refreshTokenRepository.createCapped(any(), any(), eq(userId), any(), any(), any())).thenReturn(capped);
+    }
+
+    private static Claims refreshClaims(UUID userId, String tokenId) {
+        return Jwts.claims().subject(userId.toString()).id(tokenId).build();
+    }
+
+    private static RefreshTokenRequest refreshRequest(String token) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(token);
+        return request;
+    }
+
+    private static RefreshSessionView session(UUID id, UUID userId, LocalDateTime expiryDate, boolean revoked) {
+        return new RefreshSessionView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public LocalDateTime getExpiryDate() {
+                return expiryDate;
+            }
+
+            @Override
+            public Boolean getRevoked() {
+                return revoked;
+            }
+        };
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JwtServiceTest {
@@ -16,9 +17,36 @@ class JwtServiceTest {
         JwtService jwtService = new JwtService(secret, 1000, 2000);
 
         UUID userId = UUID.randomUUID();
-        String token = jwtService.generateAccessToken(userId, "user@email.com", "USER");
+        String token = jwtService.generateAccessToken(userId, "user@email.com", "USER", UUID.randomUUID());
 
         assertTrue(jwtService.isTokenValid(token));
         assertEquals(userId, jwtService.getUserId(token));
     }
+
+    @Test
+    void generateRefreshToken_carriesTokenId() {
+        String secret = "01234567890123456789012345678901";
+        JwtService jwtService = new JwtService(secret, 1000, 2000);
+
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.generateRefreshToken(userId, "token-id");
+
+        assertEquals("token-id", jwtService.getClaims(token).getId());
+        assertEquals(userId, jwtService.getUserId(token));
+    }
+
+    @Test
+    void tokens_carryTheirUse_andOnlyAccessTokensValidateAsAccess() {
+        String secret = "01234567890123456789012345678901";
+        JwtService jwtService = new JwtService(secret, 1000, 2000);
+
+        UUID userId = UUID.randomUUID();
+        String accessToken = jwtService.generateAccessToken(userId, "user@email.com", "USER", UUID.randomUUID());
+        String refreshToken = jwtService.generateRefreshToken(userId, "token-id");
+
+        assertEquals("access", jwtService.getClaims(accessToken).get(JwtService.TOKEN_USE_CLAIM, String.class));
+        assertEquals("refresh", jwtService.getClaims(refreshToken).get(JwtService.TOKEN_USE_CLAIM, String.class));
+        assertTrue(jwtService.isAccessTokenValid(accessToken));
+        assertFalse(jwtService.isAccessTokenValid(refreshToken));
+    }
 }
@@ -1,13 +1,17 @@
 package com.br.inventoryservice.controller;
 
 import com.br.inventoryservice.exception.BusinessException;
+import com.br.inventoryservice.service.dto.BulkAdjustInventoryRequest;
 import com.br.inventoryservice.service.dto.ConfirmStockRequest;
+import com.br.inventoryservice.service.dto.InventoryPointInTimeResponse;
 import com.br.inventoryservice.service.dto.InventoryResponse;
 import com.br.inventoryservice.service.dto.ReleaseStockRequest;
 import com.br.inventoryservice.service.dto.ReserveStockRequest;
 import com.br.inventoryservice.service.dto.UpdateInventoryRequest;
 import com.br.inventoryservice.service.InventoryService;
+import com.br.inventoryservice.service.InventorySnapshotService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,8 +21,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,9 +33,11 @@ import java.util.UUID;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final InventorySnapshotService inventorySnapshotService;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, InventorySnapshotService inventorySnapshotService) {
         this.inventoryService = inventoryService;
+        this.inventorySnapshotService = inventorySnapshotService;
     }
 
     /**
@@ -44,6 +52,19 @@ public class InventoryController {
         return ResponseEntity.status(HttpStatus.OK).body(inventoryService.getByProductId(productId));
     }
 
+    /**
+     * Reconstructs the stock of a product at a past instant from snapshots and movements (admin only).
+     */
+    @GetMapping("/{productId}/history")
+    public ResponseEntity<InventoryPointInTimeResponse> getStockAt(
+        @RequestHeader("X-User-Role") String role,
+        @PathVariable UUID productId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        ensureAdmin(role);
+        return ResponseEntity.status(HttpStatus.OK).body(inventorySnapshotService.getStockAt(productId, at));
+    }
+
     /**
      * Returns inventory for a product (internal calls only).
      */
@@ -69,6 +90,18 @@ public class InventoryController {
         return ResponseEntity.status(HttpStatus.OK).body(inventoryService.updateInventory(productId, request));
     }
 
+    /**
+     * Applies quantity deltas to many products in one transaction, e.g. a supplier shipment (admin only).
+     */
+    @PostMapping("/adjustments")
+    public ResponseEntity<List<InventoryResponse>> bulkAdjust(
+        @RequestBody @Valid BulkAdjustInventoryRequest request,
+        @RequestHeader("X-User-Role") String role
+    ) {
+        ensureAdmin(role);
+        return ResponseEntity.status(HttpStatus.OK).body(inventoryService.bulkAdjust(request));
+    }
+
     /**
      * Reserves stock for an order (internal only).
      */
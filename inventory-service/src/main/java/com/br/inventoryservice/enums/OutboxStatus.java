@@ -0,0 +1,9 @@
+package com.br.inventoryservice.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    /**
+     * Parked after exhausting its attempts; left for manual action and skipped by the relay.
+     */
+    FAILED
+}
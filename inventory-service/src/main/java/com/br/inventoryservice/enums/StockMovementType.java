@@ -4,5 +4,9 @@ public enum StockMovementType {
     IN,
     OUT,
     RESERVE,
-    RELEASE
+    RELEASE,
+    /**
+     * Manual correction; quantity is signed (negative removes stock).
+     */
+    ADJUSTMENT
 }
@@ -0,0 +1,10 @@
+package com.br.inventoryservice.enums;
+
+public enum StockReservationStatus {
+    RESERVED,
+    /**
+     * Also recorded when the release arrives before any reserve, so a late reserve becomes a no-op.
+     */
+    RELEASED,
+    CONFIRMED
+}
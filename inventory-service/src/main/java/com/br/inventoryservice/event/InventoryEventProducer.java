@@ -1,8 +1,16 @@
 package com.br.inventoryservice.event;
 
-import org.springframework.kafka.core.KafkaTemplate;
+import com.br.inventoryservice.exception.BusinessException;
+import com.br.inventoryservice.model.OutboxEvent;
+import com.br.inventoryservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
+/**
+ * Records inventory events in the outbox as part of the caller's transaction.
+ * {@link InventoryOutboxRelay} publishes them to Kafka after commit, so rolled back changes never emit events.
+ */
 @Component
 public class InventoryEventProducer {
 
@@ -11,25 +19,40 @@ public class InventoryEventProducer {
     public static final String TOPIC_STOCK_CONFIRMED = "inventory.stock.confirmed";
     public static final String TOPIC_STOCK_LOW_ALERT = "inventory.stock.low-alert";
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
-    public InventoryEventProducer(KafkaTemplate<String, Object> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public InventoryEventProducer(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
     }
 
     public void publishStockReserved(StockReservedEvent event) {
-        kafkaTemplate.send(TOPIC_STOCK_RESERVED, event.productId().toString(), event);
+        enqueue(TOPIC_STOCK_RESERVED, event.orderId().toString(), event);
     }
 
     public void publishStockReleased(StockReleasedEvent event) {
-        kafkaTemplate.send(TOPIC_STOCK_RELEASED, event.productId().toString(), event);
+        enqueue(TOPIC_STOCK_RELEASED, event.orderId().toString(), event);
     }
 
     public void publishStockConfirmed(StockConfirmedEvent event) {
-        kafkaTemplate.send(TOPIC_STOCK_CONFIRMED, event.productId().toString(), event);
+        enqueue(TOPIC_STOCK_CONFIRMED, event.orderId().toString(), event);
     }
 
     public void publishStockLowAlert(StockLowAlertEvent event) {
-        kafkaTemplate.send(TOPIC_STOCK_LOW_ALERT, event.productId().toString(), event);
+        enqueue(TOPIC_STOCK_LOW_ALERT, event.productId().toString(), event);
+    }
+
+    private void enqueue(String topic, String key, Object event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(key)
+                .eventType(event.getClass().getName())
+                .payload(objectMapper.writeValueAsString(event))
+                .build());
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Problem serializing event for topic: " + topic);
+        }
     }
 }
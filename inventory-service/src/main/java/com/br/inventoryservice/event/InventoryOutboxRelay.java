@@ -0,0 +1,172 @@
+package com.br.inventoryservice.event;
+
+import com.br.inventoryservice.enums.OutboxStatus;
+import com.br.inventoryservice.model.OutboxEvent;
+import com.br.inventoryservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the inventory outbox to Kafka in batches.
+ * Each batch is sent without waiting per record, then awaited as a whole. A row is deleted only after its ack,
+ * and only while every older row of the same key in the batch was acked too (at-least-once, in key order).
+ * A row that fails on its own (it cannot be deserialized, or Kafka rejects it with a non-retriable error) is
+ * retried up to {@code max-attempts} times, then parked as FAILED so it cannot hold back its key forever.
+ */
+@Slf4j
+@Component
+public class InventoryOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter parked;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final int maxAttempts;
+
+    public InventoryOutboxRelay(
+        OutboxEventRepository outboxEventRepository,
+        KafkaTemplate<String, Object> kafkaTemplate,
+        ObjectMapper objectMapper,
+        TransactionTemplate transactionTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${inventory.outbox.batch-size:200}") int batchSize,
+        @Value("${inventory.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+        @Value("${inventory.outbox.max-attempts:5}") int maxAttempts
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.parked = Counter.builder("inventory.outbox.failed")
+            .description("Outbox events parked after exhausting their attempts")
+            .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Inventory outbox relay failed, batch will be retried: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Rows behind a row that already failed for the same key are not sent at all
+        Set<String> blockedKeys = new HashSet<>();
+        List<CompletableFuture<?>> acks = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            if (blockedKeys.contains(event.getMessageKey())) {
+                acks.add(null);
+                continue;
+            }
+            CompletableFuture<?> ack = send(event);
+            if (ack.isCompletedExceptionally()) {
+                blockedKeys.add(event.getMessageKey());
+            }
+            acks.add(ack);
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(acks.stream().filter(Objects::nonNull).toArray(CompletableFuture[]::new))
+                .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Kafka did not ack the whole outbox batch: {}", e.getMessage());
+        }
+
+        List<OutboxEvent> delivered = new ArrayList<>(batch.size());
+        blockedKeys.clear();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            CompletableFuture<?> ack = acks.get(i);
+            if (ack != null && ack.state() == Future.State.SUCCESS && !blockedKeys.contains(event.getMessageKey())) {
+                delivered.add(event);
+                continue;
+            }
+            blockedKeys.add(event.getMessageKey());
+            if (ack != null && ack.state() == Future.State.FAILED) {
+                recordFailure(event, ack.exceptionNow());
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.deleteAllInBatch(delivered);
+        }
+        // A short batch means the backlog is drained or blocked on a failed send; wait for the next poll.
+        return delivered.size() == batch.size() ? batch.size() : 0;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getMessageKey(), deserialize(event));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Counts a failure against the row, unless Kafka itself is unavailable (a retriable error).
+     */
+    private void recordFailure(OutboxEvent event, Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return;
+            }
+        }
+
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(error.getMessage());
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            parked.increment();
+            log.error("Parked inventory outbox event {} ({}) after {} attempts: {}",
+                event.getId(), event.getEventType(), attempts, error.getMessage());
+        } else {
+            log.warn("Inventory outbox event {} failed (attempt {}): {}", event.getId(), attempts, error.getMessage());
+        }
+        outboxEventRepository.save(event);
+    }
+
+    private Object deserialize(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot deserialize outbox event " + event.getId(), e);
+        }
+    }
+}
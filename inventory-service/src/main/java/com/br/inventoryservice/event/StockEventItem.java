@@ -0,0 +1,8 @@
+package com.br.inventoryservice.event;
+
+import java.util.UUID;
+
+public record StockEventItem(
+    UUID productId,
+    int quantity
+) {}
@@ -1,12 +1,12 @@
 package com.br.inventoryservice.event;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public record StockReleasedEvent(
     UUID eventId,
     Instant occurredAt,
     UUID orderId,
-    UUID productId,
-    int quantity
+    List<StockEventItem> items
 ) {}
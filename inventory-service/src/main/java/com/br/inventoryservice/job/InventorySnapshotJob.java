@@ -0,0 +1,37 @@
+package com.br.inventoryservice.job;
+
+import com.br.inventoryservice.service.InventorySnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically compacts stock movements into inventory snapshots, bounding how many movements
+ * a point-in-time query has to replay.
+ */
+@Slf4j
+@Component
+public class InventorySnapshotJob {
+
+    private final InventorySnapshotService inventorySnapshotService;
+    private final long settleSeconds;
+
+    public InventorySnapshotJob(
+        InventorySnapshotService inventorySnapshotService,
+        @Value("${inventory.snapshots.settle-seconds:60}") long settleSeconds
+    ) {
+        this.inventorySnapshotService = inventorySnapshotService;
+        this.settleSeconds = settleSeconds;
+    }
+
+    @Scheduled(cron = "${inventory.snapshots.cron:0 0 * * * *}")
+    public void takeSnapshots() {
+        // Movements get created_at before commit, so stay behind in-flight transactions
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(settleSeconds);
+        int written = inventorySnapshotService.takeSnapshots(cutoff);
+        log.info("Wrote {} inventory snapshots at {}", written, cutoff);
+    }
+}
@@ -0,0 +1,55 @@
+package com.br.inventoryservice.job;
+
+import com.br.inventoryservice.repository.StockMovementPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps monthly stock_movement partitions created ahead of time and detaches the ones past retention,
+ * so inserts never hit the default partition and the live journal size stays bounded.
+ */
+@Slf4j
+@Component
+public class StockMovementPartitionJob {
+
+    private final StockMovementPartitionRepository partitionRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public StockMovementPartitionJob(
+        StockMovementPartitionRepository partitionRepository,
+        @Value("${inventory.stock-movement.partitions.months-ahead:3}") int monthsAhead,
+        @Value("${inventory.stock-movement.partitions.retention-months:12}") int retentionMonths
+    ) {
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(cron = "${inventory.stock-movement.partitions.cron:0 0 3 * * *}")
+    @Transactional
+    public void maintainPartitions() {
+        LocalDateTime currentMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            partitionRepository.ensurePartition(currentMonth.plusMonths(i));
+        }
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+
+        List<String> expired = partitionRepository.findPartitionsEndingBefore(currentMonth.minusMonths(retentionMonths));
+        for (String partition : expired) {
+            partitionRepository.archivePartition(partition);
+            log.info("Archived stock movement partition {} to schema {}", partition, StockMovementPartitionRepository.ARCHIVE_SCHEMA);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -41,6 +42,13 @@ public class Inventory {
     @Column(name = "min_stock_alert", nullable = false)
     private Integer minStockAlert;
 
+    /**
+     * Guards writes that read the row without locking it (e.g. a manual update racing a reservation).
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
@@ -0,0 +1,75 @@
+package com.br.inventoryservice.repository;
+
+import com.br.inventoryservice.model.Inventory;
+import com.br.inventoryservice.model.StockMovement;
+import com.br.inventoryservice.utils.UuidUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based inventory writes for bulk operations, bypassing per-entity JPA round trips.
+ */
+@Repository
+public class InventoryBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds each delta to the quantity of its product in a single UPDATE and returns the updated rows.
+     * Products without an inventory row are not returned.
+     */
+    public List<Inventory> addQuantities(List<UUID> productIds, List<Integer> deltas) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                UPDATE inventory i
+                SET quantity = i.quantity + v.delta,
+                    version = i.version + 1,
+                    updated_at = now()
+                FROM unnest(?::uuid[], ?::integer[]) AS v(product_id, delta)
+                WHERE i.product_id = v.product_id
+                RETURNING i.id, i.product_id, i.quantity, i.reserved_quantity, i.min_stock_alert, i.version, i.updated_at
+                """);
+            ps.setArray(1, connection.createArrayOf("uuid", productIds.toArray()));
+            ps.setArray(2, connection.createArrayOf("integer", deltas.toArray()));
+            return ps;
+        }, (rs, rowNum) -> Inventory.builder()
+            .id(rs.getObject("id", UUID.class))
+            .productId(rs.getObject("product_id", UUID.class))
+            .quantity(rs.getInt("quantity"))
+            .reservedQuantity(rs.getInt("reserved_quantity"))
+            .minStockAlert(rs.getInt("min_stock_alert"))
+            .version(rs.getLong("version"))
+            .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+            .build());
+    }
+
+    /**
+     * Inserts stock movements with JDBC batching.
+     */
+    public void insertMovements(List<StockMovement> movements, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO stock_movement (id, inventory_id, type, quantity, reason, order_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """, movements, batchSize, (ps, movement) -> {
+            ps.setObject(1, UuidUtils.timeOrdered());
+            ps.setObject(2, movement.getInventory().getId());
+            ps.setString(3, movement.getType().name());
+            ps.setInt(4, movement.getQuantity());
+            ps.setString(5, movement.getReason());
+            ps.setObject(6, movement.getOrderId(), Types.OTHER);
+            ps.setTimestamp(7, now);
+        });
+    }
+}
@@ -1,10 +1,14 @@
 package com.br.inventoryservice.repository;
 
 import com.br.inventoryservice.model.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,6 +18,26 @@ public interface InventoryRepository extends JpaRepository<Inventory, UUID> {
 
     Optional<Inventory> findByProductId(UUID productId);
 
-    @Query("SELECT i FROM Inventory i WHERE i.quantity <= i.minStockAlert")
+    /**
+     * Locks the rows in product id order, so transactions touching overlapping products never deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productId IN :productIds ORDER BY i.productId")
+    List<Inventory> lockByProductIds(@Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * Same as {@link #lockByProductIds}, by inventory id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.id IN :ids ORDER BY i.productId")
+    List<Inventory> lockByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Served by the partial index on the generated is_low column.
+     */
+    @Query(value = "SELECT * FROM inventory WHERE is_low", nativeQuery = true)
     List<Inventory> findLowStock();
+
+    @Query("SELECT i FROM Inventory i WHERE NOT EXISTS (SELECT 1 FROM InventorySnapshot s WHERE s.inventoryId = i.id)")
+    List<Inventory> findWithoutSnapshot();
 }
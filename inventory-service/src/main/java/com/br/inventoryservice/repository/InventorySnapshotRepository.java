@@ -0,0 +1,47 @@
+package com.br.inventoryservice.repository;
+
+import com.br.inventoryservice.model.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, UUID> {
+
+    Optional<InventorySnapshot> findFirstByInventoryIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(
+        UUID inventoryId,
+        LocalDateTime at
+    );
+
+    /**
+     * Movement totals since each inventory's latest snapshot, up to the cutoff.
+     * Inventories without movements in that window are not returned.
+     */
+    @Query(value = """
+        WITH latest AS (
+            SELECT DISTINCT ON (s.inventory_id) s.inventory_id, s.quantity, s.reserved_quantity, s.snapshot_at
+            FROM inventory_snapshot s
+            WHERE s.snapshot_at <= :cutoff
+            ORDER BY s.inventory_id, s.snapshot_at DESC
+        )
+        SELECT m.inventory_id AS inventoryId,
+               l.quantity AS snapshotQuantity,
+               l.reserved_quantity AS snapshotReservedQuantity,
+               m.type AS type,
+               SUM(m.quantity) AS quantity,
+               COUNT(*) AS movements
+        FROM latest l
+        JOIN stock_movement m
+          ON m.inventory_id = l.inventory_id
+         AND m.created_at > l.snapshot_at
+         AND m.created_at <= :cutoff
+        GROUP BY m.inventory_id, l.quantity, l.reserved_quantity, m.type
+        """, nativeQuery = true)
+    List<SnapshotMovementTotal> sumMovementsSinceLatestSnapshot(@Param("cutoff") LocalDateTime cutoff);
+}
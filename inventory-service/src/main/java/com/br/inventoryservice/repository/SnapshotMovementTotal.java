@@ -0,0 +1,11 @@
+package com.br.inventoryservice.repository;
+
+/**
+ * Movement totals since an inventory's latest snapshot, carrying the levels recorded in that snapshot.
+ */
+public interface SnapshotMovementTotal extends StockMovementTotal {
+
+    Integer getSnapshotQuantity();
+
+    Integer getSnapshotReservedQuantity();
+}
@@ -0,0 +1,63 @@
+package com.br.inventoryservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Partition maintenance for the monthly range-partitioned stock_movement journal.
+ */
+@Repository
+public class StockMovementPartitionRepository {
+
+    public static final String ARCHIVE_SCHEMA = "stock_movement_archive";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockMovementPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the monthly partition containing the given instant if it does not exist yet.
+     */
+    public String ensurePartition(LocalDateTime month) {
+        return jdbcTemplate.queryForObject(
+            "SELECT ensure_stock_movement_partition(?)",
+            String.class,
+            Timestamp.valueOf(month)
+        );
+    }
+
+    /**
+     * Lists the monthly partitions attached to stock_movement whose whole range ends at or before the given instant.
+     * The default partition is never returned.
+     */
+    public List<String> findPartitionsEndingBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.queryForList("""
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'stock_movement'
+              AND c.relname ~ '^stock_movement_p[0-9]{6}$'
+              AND to_timestamp(substring(c.relname FROM '[0-9]{6}$'), 'YYYYMM') + INTERVAL '1 month' <= ?
+            ORDER BY c.relname
+            """, String.class, Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * Detaches a partition from the journal and moves it to the archive schema, where it can be dumped or dropped.
+     */
+    public void archivePartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE stock_movement DETACH PARTITION " + quote(partition));
+        jdbcTemplate.execute("ALTER TABLE " + quote(partition) + " SET SCHEMA " + ARCHIVE_SCHEMA);
+    }
+
+    private String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
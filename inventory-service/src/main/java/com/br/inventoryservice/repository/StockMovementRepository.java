@@ -3,8 +3,11 @@ package com.br.inventoryservice.repository;
 import com.br.inventoryservice.enums.StockMovementType;
 import com.br.inventoryservice.model.StockMovement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,4 +15,18 @@ import java.util.UUID;
 public interface StockMovementRepository extends JpaRepository<StockMovement, UUID> {
 
     List<StockMovement> findByOrderIdAndType(UUID orderId, StockMovementType type);
+
+    @Query(value = """
+        SELECT m.inventory_id AS inventoryId, m.type AS type, SUM(m.quantity) AS quantity, COUNT(*) AS movements
+        FROM stock_movement m
+        WHERE m.inventory_id = :inventoryId
+          AND m.created_at > :from
+          AND m.created_at <= :to
+        GROUP BY m.inventory_id, m.type
+        """, nativeQuery = true)
+    List<StockMovementTotal> sumByInventoryBetween(
+        @Param("inventoryId") UUID inventoryId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
 }
@@ -0,0 +1,17 @@
+package com.br.inventoryservice.repository;
+
+import java.util.UUID;
+
+/**
+ * Sum of stock movement quantities of one type for one inventory over a time window.
+ */
+public interface StockMovementTotal {
+
+    UUID getInventoryId();
+
+    String getType();
+
+    Long getQuantity();
+
+    Long getMovements();
+}
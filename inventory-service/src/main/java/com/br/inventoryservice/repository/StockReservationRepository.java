@@ -0,0 +1,33 @@
+package com.br.inventoryservice.repository;
+
+import com.br.inventoryservice.model.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    /**
+     * Records the order's state unless it already has one. Returns 1 when this call created the row.
+     * A concurrent call for the same order waits for the first one to commit and then returns 0.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO stock_reservation (order_id, status, updated_at)
+        VALUES (:orderId, :status, now())
+        ON CONFLICT (order_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("orderId") UUID orderId, @Param("status") String status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId = :orderId")
+    Optional<StockReservation> lockByOrderId(@Param("orderId") UUID orderId);
+}
@@ -2,50 +2,72 @@ package com.br.inventoryservice.service;
 
 import com.br.inventoryservice.event.InventoryEventProducer;
 import com.br.inventoryservice.event.StockConfirmedEvent;
+import com.br.inventoryservice.event.StockEventItem;
 import com.br.inventoryservice.event.StockLowAlertEvent;
 import com.br.inventoryservice.event.StockReleasedEvent;
 import com.br.inventoryservice.event.StockReservedEvent;
+import com.br.inventoryservice.service.dto.BulkAdjustInventoryRequest;
 import com.br.inventoryservice.service.dto.ConfirmStockRequest;
+import com.br.inventoryservice.service.dto.InventoryAdjustmentRequest;
 import com.br.inventoryservice.service.dto.InventoryResponse;
 import com.br.inventoryservice.service.dto.ReleaseStockRequest;
 import com.br.inventoryservice.service.dto.ReserveStockRequest;
 import com.br.inventoryservice.service.dto.StockItemRequest;
 import com.br.inventoryservice.service.dto.UpdateInventoryRequest;
 import com.br.inventoryservice.enums.StockMovementType;
+import com.br.inventoryservice.enums.StockReservationStatus;
 import com.br.inventoryservice.exception.BusinessException;
 import com.br.inventoryservice.exception.ResourceNotFoundException;
 import com.br.inventoryservice.model.Inventory;
 import com.br.inventoryservice.model.StockMovement;
+import com.br.inventoryservice.model.StockReservation;
+import com.br.inventoryservice.repository.InventoryBulkRepository;
 import com.br.inventoryservice.repository.InventoryRepository;
 import com.br.inventoryservice.repository.StockMovementRepository;
+import com.br.inventoryservice.repository.StockReservationRepository;
 import com.br.inventoryservice.service.mapper.InventoryMapper;
 import jakarta.validation.Valid;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.time.Instant;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class InventoryService {
 
+    private static final int BULK_BATCH_SIZE = 500;
+
     private final InventoryRepository inventoryRepository;
+    private final InventoryBulkRepository inventoryBulkRepository;
     private final StockMovementRepository stockMovementRepository;
+    private final StockReservationRepository stockReservationRepository;
     private final InventoryMapper inventoryMapper;
     private final InventoryEventProducer inventoryEventProducer;
+    private final LowStockCache lowStockCache;
 
     public InventoryService(
         InventoryRepository inventoryRepository,
+        InventoryBulkRepository inventoryBulkRepository,
         StockMovementRepository stockMovementRepository,
+        StockReservationRepository stockReservationRepository,
         InventoryMapper inventoryMapper,
-        InventoryEventProducer inventoryEventProducer
+        InventoryEventProducer inventoryEventProducer,
+        LowStockCache lowStockCache
     ) {
         this.inventoryRepository = inventoryRepository;
+        this.inventoryBulkRepository = inventoryBulkRepository;
         this.stockMovementRepository = stockMovementRepository;
+        this.stockReservationRepository = stockReservationRepository;
         this.inventoryMapper = inventoryMapper;
         this.inventoryEventProducer = inventoryEventProducer;
+        this.lowStockCache = lowStockCache;
     }
 
     @Transactional(readOnly = true)
@@ -59,22 +81,111 @@ public class InventoryService {
     public InventoryResponse updateInventory(UUID productId, @Valid UpdateInventoryRequest request) {
         Inventory inventory = inventoryRepository.findByProductId(productId)
             .orElseThrow(() -> new ResourceNotFoundException("Inventory", productId.toString()));
+        boolean wasLow = LowStockCache.isLow(inventory);
+        int delta = request.getQuantity() - inventory.getQuantity();
 
         inventory.setQuantity(request.getQuantity());
         inventory.setMinStockAlert(request.getMinStockAlert());
 
         Inventory saved = inventoryRepository.save(inventory);
-        publishLowStockIfNeeded(saved);
+        if (delta != 0) {
+            stockMovementRepository.save(StockMovement.builder()
+                .inventory(saved)
+                .type(movementTypeFor(delta))
+                .quantity(delta)
+                .reason("Manual inventory update")
+                .build());
+        }
+        trackLowStock(saved, wasLow);
         return inventoryMapper.toResponse(saved);
     }
 
+    /**
+     * Applies many quantity deltas (e.g. a supplier shipment) in one transaction.
+     * Quantities are updated set-based per chunk of products, one movement is written per line in
+     * JDBC batches, and low-stock alerts are evaluated once per product at the end.
+     */
+    @Transactional
+    public List<InventoryResponse> bulkAdjust(@Valid BulkAdjustInventoryRequest request) {
+        Map<UUID, Integer> deltas = new LinkedHashMap<>();
+        for (InventoryAdjustmentRequest item : request.getItems()) {
+            if (item.getDelta() == 0) {
+                throw new BusinessException("Adjustment delta must not be zero for product: " + item.getProductId());
+            }
+            deltas.merge(item.getProductId(), item.getDelta(), Integer::sum);
+        }
+
+        List<UUID> productIds = new ArrayList<>(deltas.keySet());
+        Map<UUID, Inventory> adjusted = new HashMap<>((int) (productIds.size() / 0.75f) + 1);
+        for (int from = 0; from < productIds.size(); from += BULK_BATCH_SIZE) {
+            List<UUID> chunk = productIds.subList(from, Math.min(from + BULK_BATCH_SIZE, productIds.size()));
+            List<Integer> chunkDeltas = chunk.stream().map(deltas::get).toList();
+            for (Inventory inventory : inventoryBulkRepository.addQuantities(chunk, chunkDeltas)) {
+                adjusted.put(inventory.getProductId(), inventory);
+            }
+        }
+
+        if (adjusted.size() < productIds.size()) {
+            String missing = productIds.stream()
+                .filter(productId -> !adjusted.containsKey(productId))
+                .map(UUID::toString)
+                .collect(Collectors.joining(", "));
+            throw new ResourceNotFoundException("Inventory", missing);
+        }
+
+        for (Inventory inventory : adjusted.values()) {
+            if (inventory.getQuantity() < inventory.getReservedQuantity()) {
+                throw new BusinessException("Adjustment leaves stock below the reserved quantity for product: " + inventory.getProductId());
+            }
+        }
+
+        List<StockMovement> movements = new ArrayList<>(request.getItems().size());
+        for (InventoryAdjustmentRequest item : request.getItems()) {
+            movements.add(StockMovement.builder()
+                .inventory(adjusted.get(item.getProductId()))
+                .type(movementTypeFor(item.getDelta()))
+                .quantity(item.getDelta())
+                .reason(item.getReason())
+                .build());
+        }
+        inventoryBulkRepository.insertMovements(movements, BULK_BATCH_SIZE);
+
+        List<InventoryResponse> result = new ArrayList<>(productIds.size());
+        for (UUID productId : productIds) {
+            Inventory inventory = adjusted.get(productId);
+            boolean wasLow = inventory.getQuantity() - deltas.get(productId) <= inventory.getMinStockAlert();
+            trackLowStock(inventory, wasLow);
+            result.add(inventoryMapper.toResponse(inventory));
+        }
+
+        return result;
+    }
+
+    /**
+     * Reserves stock for an order. Idempotent per order: a retried request returns the
+     * current state of the already reserved items without reserving again, and a reserve
+     * arriving after the order was released reserves nothing.
+     */
     @Transactional
     public List<InventoryResponse> reserveStock(@Valid ReserveStockRequest request) {
+        if (stockReservationRepository.insertIfAbsent(request.getOrderId(), StockReservationStatus.RESERVED.name()) == 0) {
+            return currentState(stockMovementRepository.findByOrderIdAndType(request.getOrderId(), StockMovementType.RESERVE));
+        }
+
+        Map<UUID, Inventory> inventories = new HashMap<>();
+        List<UUID> productIds = request.getItems().stream().map(StockItemRequest::getProductId).distinct().toList();
+        for (Inventory inventory : inventoryRepository.lockByProductIds(productIds)) {
+            inventories.put(inventory.getProductId(), inventory);
+        }
+
         List<Inventory> updated = new ArrayList<>();
+        List<StockEventItem> eventItems = new ArrayList<>(request.getItems().size());
 
         for (StockItemRequest item : request.getItems()) {
-            Inventory inventory = inventoryRepository.findByProductId(item.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Inventory", item.getProductId().toString()));
+            Inventory inventory = inventories.get(item.getProductId());
+            if (inventory == null) {
+                throw new ResourceNotFoundException("Inventory", item.getProductId().toString());
+            }
 
             int available = inventory.getQuantity() - inventory.getReservedQuantity();
             if (available < item.getQuantity()) {
@@ -99,28 +210,48 @@ public class InventoryService {
 
             stockMovementRepository.save(movement);
             inventoryRepository.save(inventory);
-            inventoryEventProducer.publishStockReserved(new StockReservedEvent(
-                UUID.randomUUID(),
-                Instant.now(),
-                request.getOrderId(),
-                item.getProductId(),
-                item.getQuantity()
-            ));
+            lowStockCache.update(inventory);
+            eventItems.add(new StockEventItem(item.getProductId(), item.getQuantity()));
         }
 
+        inventoryEventProducer.publishStockReserved(new StockReservedEvent(
+            UUID.randomUUID(),
+            Instant.now(),
+            request.getOrderId(),
+            eventItems
+        ));
+
         return updated.stream().map(inventoryMapper::toResponse).toList();
     }
 
+    /**
+     * Releases the reservation of an order. Releasing an already released order is a no-op.
+     * A release for an order with no reservation yet records the order as released, so a
+     * reserve still in flight becomes a no-op instead of leaving stock reserved.
+     */
     @Transactional
     public List<InventoryResponse> releaseStock(@Valid ReleaseStockRequest request) {
+        if (stockReservationRepository.insertIfAbsent(request.getOrderId(), StockReservationStatus.RELEASED.name()) == 1) {
+            return List.of();
+        }
+
+        StockReservation reservation = lockReservation(request.getOrderId());
         List<StockMovement> reserves = stockMovementRepository.findByOrderIdAndType(request.getOrderId(), StockMovementType.RESERVE);
-        if (reserves.isEmpty()) {
-            throw new BusinessException("No reserved stock found for order: " + request.getOrderId());
+        if (reservation.getStatus() == StockReservationStatus.RELEASED) {
+            return currentState(reserves);
+        }
+        if (reservation.getStatus() == StockReservationStatus.CONFIRMED) {
+            throw new BusinessException("Stock already confirmed for order: " + request.getOrderId());
         }
 
+        reservation.setStatus(StockReservationStatus.RELEASED);
+        stockReservationRepository.save(reservation);
+        Map<UUID, Inventory> inventories = lockInventories(reserves);
+
         List<InventoryResponse> result = new ArrayList<>();
+        List<StockEventItem> eventItems = new ArrayList<>(reserves.size());
         for (StockMovement reserve : reserves) {
-            Inventory inventory = reserve.getInventory();
+            Inventory inventory = inventories.get(reserve.getInventory().getId());
             inventory.setReservedQuantity(inventory.getReservedQuantity() - reserve.getQuantity());
 
             StockMovement release = StockMovement.builder()
@@ -133,29 +264,46 @@ public class InventoryService {
 
             stockMovementRepository.save(release);
             inventoryRepository.save(inventory);
-            inventoryEventProducer.publishStockReleased(new StockReleasedEvent(
-                UUID.randomUUID(),
-                Instant.now(),
-                request.getOrderId(),
-                reserve.getInventory().getProductId(),
-                reserve.getQuantity()
-            ));
+            lowStockCache.update(inventory);
+            eventItems.add(new StockEventItem(inventory.getProductId(), reserve.getQuantity()));
             result.add(inventoryMapper.toResponse(inventory));
         }
 
+        inventoryEventProducer.publishStockReleased(new StockReleasedEvent(
+            UUID.randomUUID(),
+            Instant.now(),
+            request.getOrderId(),
+            eventItems
+        ));
+
         return result;
     }
 
+    /**
+     * Turns the reservation of an order into stock output. Confirming an already confirmed order is a no-op.
+     */
     @Transactional
     public List<InventoryResponse> confirmStock(@Valid ConfirmStockRequest request) {
+        StockReservation reservation = stockReservationRepository.lockByOrderId(request.getOrderId())
+            .filter(current -> current.getStatus() != StockReservationStatus.RELEASED)
+            .orElseThrow(() -> new BusinessException("No reserved stock found for order: " + request.getOrderId()));
         List<StockMovement> reserves = stockMovementRepository.findByOrderIdAndType(request.getOrderId(), StockMovementType.RESERVE);
         if (reserves.isEmpty()) {
             throw new BusinessException("No reserved stock found for order: " + request.getOrderId());
         }
+        if (reservation.getStatus() == StockReservationStatus.CONFIRMED) {
+            return currentState(reserves);
+        }
+
+        reservation.setStatus(StockReservationStatus.CONFIRMED);
+        stockReservationRepository.save(reservation);
+        Map<UUID, Inventory> inventories = lockInventories(reserves);
 
         List<InventoryResponse> result = new ArrayList<>();
+        List<StockEventItem> eventItems = new ArrayList<>(reserves.size());
         for (StockMovement reserve : reserves) {
-            Inventory inventory = reserve.getInventory();
+            Inventory inventory = inventories.get(reserve.getInventory().getId());
+            boolean wasLow = LowStockCache.isLow(inventory);
             inventory.setQuantity(inventory.getQuantity() - reserve.getQuantity());
             inventory.setReservedQuantity(inventory.getReservedQuantity() - reserve.getQuantity());
 
@@ -169,27 +317,32 @@ public class InventoryService {
 
             stockMovementRepository.save(out);
             inventoryRepository.save(inventory);
-            inventoryEventProducer.publishStockConfirmed(new StockConfirmedEvent(
-                UUID.randomUUID(),
-                Instant.now(),
-                request.getOrderId(),
-                reserve.getInventory().getProductId(),
-                reserve.getQuantity()
-            ));
-            publishLowStockIfNeeded(inventory);
+            eventItems.add(new StockEventItem(inventory.getProductId(), reserve.getQuantity()));
+            trackLowStock(inventory, wasLow);
             result.add(inventoryMapper.toResponse(inventory));
         }
 
+        inventoryEventProducer.publishStockConfirmed(new StockConfirmedEvent(
+            UUID.randomUUID(),
+            Instant.now(),
+            request.getOrderId(),
+            eventItems
+        ));
+
         return result;
     }
 
-    @Transactional(readOnly = true)
     public List<InventoryResponse> listLowStock() {
-        return inventoryRepository.findLowStock().stream().map(inventoryMapper::toResponse).toList();
+        return lowStockCache.list();
     }
 
-    private void publishLowStockIfNeeded(Inventory inventory) {
-        if (inventory.getQuantity() <= inventory.getMinStockAlert()) {
+    /**
+     * Keeps the low-stock set current and alerts only when the inventory crosses into low stock,
+     * not on every change while it stays below the threshold.
+     */
+    private void trackLowStock(Inventory inventory, boolean wasLow) {
+        lowStockCache.update(inventory);
+        if (!wasLow && LowStockCache.isLow(inventory)) {
             inventoryEventProducer.publishStockLowAlert(new StockLowAlertEvent(
                 UUID.randomUUID(),
                 Instant.now(),
@@ -199,4 +352,31 @@ public class InventoryService {
             ));
         }
     }
+
+    private StockMovementType movementTypeFor(int delta) {
+        return delta > 0 ? StockMovementType.IN : StockMovementType.ADJUSTMENT;
+    }
+
+    private StockReservation lockReservation(UUID orderId) {
+        return stockReservationRepository.lockByOrderId(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Stock reservation", orderId.toString()));
+    }
+
+    /**
+     * Locks the inventories of the given movements, keyed by inventory id.
+     */
+    private Map<UUID, Inventory> lockInventories(List<StockMovement> movements) {
+        List<UUID> ids = movements.stream().map(movement -> movement.getInventory().getId()).distinct().toList();
+        Map<UUID, Inventory> locked = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.lockByIds(ids)) {
+            locked.put(inventory.getId(), inventory);
+        }
+        return locked;
+    }
+
+    private List<InventoryResponse> currentState(List<StockMovement> movements) {
+        return movements.stream()
+            .map(movement -> inventoryMapper.toResponse(movement.getInventory()))
+            .toList();
+    }
 }
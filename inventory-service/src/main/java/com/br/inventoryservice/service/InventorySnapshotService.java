@@ -0,0 +1,133 @@
+package com.br.inventoryservice.service;
+
+import com.br.inventoryservice.enums.StockMovementType;
+import com.br.inventoryservice.exception.BusinessException;
+import com.br.inventoryservice.exception.ResourceNotFoundException;
+import com.br.inventoryservice.model.Inventory;
+import com.br.inventoryservice.model.InventorySnapshot;
+import com.br.inventoryservice.repository.InventoryRepository;
+import com.br.inventoryservice.repository.InventorySnapshotRepository;
+import com.br.inventoryservice.repository.SnapshotMovementTotal;
+import com.br.inventoryservice.repository.StockMovementRepository;
+import com.br.inventoryservice.repository.StockMovementTotal;
+import com.br.inventoryservice.service.dto.InventoryPointInTimeResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Point-in-time stock reconstruction: the nearest snapshot at or before the requested instant,
+ * with the stock movements recorded after it folded forward.
+ */
+@Service
+public class InventorySnapshotService {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventorySnapshotRepository inventorySnapshotRepository;
+    private final StockMovementRepository stockMovementRepository;
+
+    public InventorySnapshotService(
+        InventoryRepository inventoryRepository,
+        InventorySnapshotRepository inventorySnapshotRepository,
+        StockMovementRepository stockMovementRepository
+    ) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventorySnapshotRepository = inventorySnapshotRepository;
+        this.stockMovementRepository = stockMovementRepository;
+    }
+
+    /**
+     * Reconstructs the stock of a product at the given instant.
+     * Reads one snapshot plus the movements between that snapshot and the instant.
+     */
+    @Transactional(readOnly = true)
+    public InventoryPointInTimeResponse getStockAt(UUID productId, LocalDateTime at) {
+        Inventory inventory = inventoryRepository.findByProductId(productId)
+            .orElseThrow(() -> new ResourceNotFoundException("Inventory", productId.toString()));
+
+        InventorySnapshot snapshot = inventorySnapshotRepository
+            .findFirstByInventoryIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(inventory.getId(), at)
+            .orElseThrow(() -> new BusinessException("No inventory snapshot available at or before " + at + " for product: " + productId));
+
+        List<StockMovementTotal> totals = stockMovementRepository.sumByInventoryBetween(
+            inventory.getId(),
+            snapshot.getSnapshotAt(),
+            at
+        );
+
+        StockLevel level = new StockLevel(snapshot.getQuantity(), snapshot.getReservedQuantity());
+        long movementsApplied = 0;
+        for (StockMovementTotal total : totals) {
+            level = level.apply(StockMovementType.valueOf(total.getType()), total.getQuantity());
+            movementsApplied += total.getMovements();
+        }
+
+        return new InventoryPointInTimeResponse(
+            productId,
+            at,
+            level.quantity(),
+            level.reservedQuantity(),
+            snapshot.getSnapshotAt(),
+            movementsApplied
+        );
+    }
+
+    /**
+     * Compacts the journal into new snapshots at the cutoff.
+     * Inventories without a snapshot are seeded from their current levels; the others get a new
+     * snapshot only if they moved since their latest one. Returns the number of snapshots written.
+     */
+    @Transactional
+    public int takeSnapshots(LocalDateTime cutoff) {
+        List<InventorySnapshot> snapshots = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Inventory inventory : inventoryRepository.findWithoutSnapshot()) {
+            snapshots.add(InventorySnapshot.builder()
+                .inventoryId(inventory.getId())
+                .quantity(inventory.getQuantity())
+                .reservedQuantity(inventory.getReservedQuantity())
+                .snapshotAt(now)
+                .build());
+        }
+
+        Map<UUID, StockLevel> levels = new LinkedHashMap<>();
+        for (SnapshotMovementTotal total : inventorySnapshotRepository.sumMovementsSinceLatestSnapshot(cutoff)) {
+            StockLevel level = levels.getOrDefault(
+                total.getInventoryId(),
+                new StockLevel(total.getSnapshotQuantity(), total.getSnapshotReservedQuantity())
+            );
+            levels.put(total.getInventoryId(), level.apply(StockMovementType.valueOf(total.getType()), total.getQuantity()));
+        }
+
+        levels.forEach((inventoryId, level) -> snapshots.add(InventorySnapshot.builder()
+            .inventoryId(inventoryId)
+            .quantity(level.quantity())
+            .reservedQuantity(level.reservedQuantity())
+            .snapshotAt(cutoff)
+            .build()));
+
+        inventorySnapshotRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+
+    private record StockLevel(int quantity, int reservedQuantity) {
+
+        StockLevel apply(StockMovementType type, long amount) {
+            int delta = Math.toIntExact(amount);
+            return switch (type) {
+                case IN -> new StockLevel(quantity + delta, reservedQuantity);
+                case OUT -> new StockLevel(quantity - delta, reservedQuantity - delta);
+                case RESERVE -> new StockLevel(quantity, reservedQuantity + delta);
+                case RELEASE -> new StockLevel(quantity, reservedQuantity - delta);
+                case ADJUSTMENT -> new StockLevel(quantity + delta, reservedQuantity);
+            };
+        }
+    }
+}
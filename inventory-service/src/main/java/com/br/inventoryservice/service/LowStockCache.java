@@ -0,0 +1,97 @@
+package com.br.inventoryservice.service;
+
+import com.br.inventoryservice.model.Inventory;
+import com.br.inventoryservice.repository.InventoryRepository;
+import com.br.inventoryservice.service.dto.InventoryResponse;
+import com.br.inventoryservice.service.mapper.InventoryMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of low-stock inventories, keyed by product id.
+ * Loaded once from the is_low partial index, then updated incrementally after each committed
+ * quantity or reservation change, since the cached entries carry the reserved quantity too.
+ * A periodic reload picks up changes made by other instances.
+ */
+@Component
+public class LowStockCache {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryMapper inventoryMapper;
+
+    private volatile Map<UUID, InventoryResponse> lowStock;
+
+    public LowStockCache(InventoryRepository inventoryRepository, InventoryMapper inventoryMapper) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryMapper = inventoryMapper;
+    }
+
+    public static boolean isLow(Inventory inventory) {
+        return inventory.getQuantity() <= inventory.getMinStockAlert();
+    }
+
+    public List<InventoryResponse> list() {
+        Map<UUID, InventoryResponse> current = lowStock;
+        if (current == null) {
+            current = reload();
+        }
+        return List.copyOf(current.values());
+    }
+
+    /**
+     * Applies the inventory's current levels to the set once the surrounding transaction commits.
+     */
+    public void update(Inventory inventory) {
+        UUID productId = inventory.getProductId();
+        InventoryResponse response = isLow(inventory) ? inventoryMapper.toResponse(inventory) : null;
+
+        Runnable apply = () -> {
+            Map<UUID, InventoryResponse> current = lowStock;
+            if (current == null) {
+                return;
+            }
+            if (response != null) {
+                current.put(productId, response);
+            } else {
+                current.remove(productId);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    @Scheduled(
+        fixedDelayString = "${inventory.low-stock.refresh-ms:300000}",
+        initialDelayString = "${inventory.low-stock.refresh-ms:300000}"
+    )
+    public void refresh() {
+        if (lowStock != null) {
+            reload();
+        }
+    }
+
+    private Map<UUID, InventoryResponse> reload() {
+        Map<UUID, InventoryResponse> loaded = new ConcurrentHashMap<>();
+        for (Inventory inventory : inventoryRepository.findLowStock()) {
+            loaded.put(inventory.getProductId(), inventoryMapper.toResponse(inventory));
+        }
+        lowStock = loaded;
+        return loaded;
+    }
+}
@@ -0,0 +1,23 @@
+package com.br.inventoryservice.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkAdjustInventoryRequest {
+
+    @Valid
+    @NotEmpty
+    @Size(max = 10000)
+    private List<InventoryAdjustmentRequest> items;
+
+    public List<InventoryAdjustmentRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InventoryAdjustmentRequest> items) {
+        this.items = items;
+    }
+}
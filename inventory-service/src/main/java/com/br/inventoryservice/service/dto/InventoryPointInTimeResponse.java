@@ -0,0 +1,13 @@
+package com.br.inventoryservice.service.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record InventoryPointInTimeResponse(
+    UUID productId,
+    LocalDateTime at,
+    Integer quantity,
+    Integer reservedQuantity,
+    LocalDateTime snapshotAt,
+    Long movementsApplied
+) {}
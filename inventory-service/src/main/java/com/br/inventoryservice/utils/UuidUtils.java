@@ -0,0 +1,20 @@
+package com.br.inventoryservice.utils;
+
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+
+import java.util.UUID;
+
+public class UuidUtils {
+
+    /**
+     * Generates a time-ordered UUID (RFC 9562 version 7) for rows inserted outside Hibernate.
+     * Uses the same generator as {@code @UuidGenerator(style = VERSION_7)}, so ids written by JDBC
+     * batches and by entities share one layout and ordering.
+     *
+     * @return UUID whose first 48 bits are the current Unix time in milliseconds
+     */
+    public static UUID timeOrdered() {
+        // The session argument is not used by the version 7 strategy
+        return UuidVersion7Strategy.INSTANCE.generateUuid(null);
+    }
+}
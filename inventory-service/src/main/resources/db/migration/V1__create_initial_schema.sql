@@ -0,0 +1,24 @@
+CREATE TABLE inventory (
+    id UUID PRIMARY KEY,
+    product_id UUID NOT NULL UNIQUE,
+    quantity INTEGER NOT NULL,
+    reserved_quantity INTEGER NOT NULL,
+    min_stock_alert INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE stock_movement (
+    id UUID PRIMARY KEY,
+    inventory_id UUID NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    quantity INTEGER NOT NULL,
+    reason VARCHAR(200) NOT NULL,
+    order_id UUID,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_stock_movement_inventory
+        FOREIGN KEY (inventory_id)
+        REFERENCES inventory (id)
+);
+
+CREATE INDEX idx_stock_movement_inventory_id ON stock_movement (inventory_id);
+CREATE INDEX idx_stock_movement_order_id ON stock_movement (order_id);
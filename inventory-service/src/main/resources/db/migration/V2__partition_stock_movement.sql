@@ -0,0 +1,76 @@
+-- =============================================
+-- Migration V2: stock_movement becomes a monthly range-partitioned journal
+-- Existing databases (baselined at V1) have their rows copied into the new table.
+-- =============================================
+
+CREATE SCHEMA IF NOT EXISTS stock_movement_archive;
+
+ALTER TABLE stock_movement RENAME TO stock_movement_legacy;
+ALTER TABLE stock_movement_legacy RENAME CONSTRAINT fk_stock_movement_inventory TO fk_stock_movement_legacy_inventory;
+DROP INDEX IF EXISTS idx_stock_movement_inventory_id;
+DROP INDEX IF EXISTS idx_stock_movement_order_id;
+
+-- The partition key must be part of the primary key
+CREATE TABLE stock_movement (
+    id UUID NOT NULL,
+    inventory_id UUID NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    quantity INTEGER NOT NULL,
+    reason VARCHAR(200) NOT NULL,
+    order_id UUID,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_stock_movement PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_stock_movement_inventory
+        FOREIGN KEY (inventory_id)
+        REFERENCES inventory (id)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside the monthly partitions; the partition job stays ahead so it remains empty
+CREATE TABLE stock_movement_default PARTITION OF stock_movement DEFAULT;
+
+-- Creates (if missing) the monthly partition containing the given instant and returns its name.
+-- Used by this migration and by StockMovementPartitionJob.
+CREATE OR REPLACE FUNCTION ensure_stock_movement_partition(p_month TIMESTAMP)
+RETURNS TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_from TIMESTAMP := date_trunc('month', p_month);
+    v_to TIMESTAMP := v_from + INTERVAL '1 month';
+    v_name TEXT := 'stock_movement_p' || to_char(v_from, 'YYYYMM');
+BEGIN
+    IF to_regclass(v_name) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF stock_movement FOR VALUES FROM (%L) TO (%L)',
+            v_name, v_from, v_to
+        );
+    END IF;
+    RETURN v_name;
+END;
+$$;
+
+DO $$
+DECLARE
+    v_month TIMESTAMP;
+    v_last TIMESTAMP := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', coalesce(min(created_at), now())) INTO v_month FROM stock_movement_legacy;
+    WHILE v_month <= v_last LOOP
+        PERFORM ensure_stock_movement_partition(v_month);
+        v_month := v_month + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+INSERT INTO stock_movement (id, inventory_id, type, quantity, reason, order_id, created_at)
+SELECT id, inventory_id, type, quantity, reason, order_id, created_at
+FROM stock_movement_legacy;
+
+DROP TABLE stock_movement_legacy;
+
+-- BRIN: the journal is appended in created_at order, so the index stays a handful of pages
+CREATE INDEX idx_stock_movement_created_at_brin ON stock_movement USING BRIN (created_at);
+CREATE INDEX idx_stock_movement_order_id_type ON stock_movement (order_id, type);
+CREATE INDEX idx_stock_movement_inventory_id ON stock_movement (inventory_id);
+
+COMMENT ON TABLE stock_movement IS 'Stock movement journal, range-partitioned by month on created_at';
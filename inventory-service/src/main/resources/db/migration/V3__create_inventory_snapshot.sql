@@ -0,0 +1,22 @@
+-- =============================================
+-- Migration V3: compact inventory snapshots for point-in-time stock reconstruction
+-- =============================================
+
+CREATE TABLE inventory_snapshot (
+    id UUID PRIMARY KEY,
+    inventory_id UUID NOT NULL,
+    quantity INTEGER NOT NULL,
+    reserved_quantity INTEGER NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_inventory_snapshot_inventory
+        FOREIGN KEY (inventory_id)
+        REFERENCES inventory (id)
+);
+
+CREATE INDEX idx_inventory_snapshot_inventory_at ON inventory_snapshot (inventory_id, snapshot_at DESC);
+
+-- Replay reads the movements of one inventory between a snapshot and the requested instant
+DROP INDEX IF EXISTS idx_stock_movement_inventory_id;
+CREATE INDEX idx_stock_movement_inventory_created_at ON stock_movement (inventory_id, created_at);
+
+COMMENT ON TABLE inventory_snapshot IS 'Periodic inventory levels; replay folds stock_movement forward from the nearest snapshot';
@@ -0,0 +1,10 @@
+-- =============================================
+-- Migration V4: low-stock flag maintained by the database
+-- quantity <= min_stock_alert compares two columns, so no plain index can serve it;
+-- a stored generated column plus a partial index keeps only the low rows indexed.
+-- =============================================
+
+ALTER TABLE inventory
+    ADD COLUMN is_low BOOLEAN GENERATED ALWAYS AS (quantity <= min_stock_alert) STORED;
+
+CREATE INDEX idx_inventory_is_low ON inventory (product_id) WHERE is_low;
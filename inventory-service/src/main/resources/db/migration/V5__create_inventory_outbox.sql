@@ -0,0 +1,15 @@
+-- =============================================
+-- Migration V5: transactional outbox for inventory events
+-- Rows are written in the same transaction as the stock change and deleted once Kafka acks them.
+-- =============================================
+
+CREATE TABLE inventory_outbox (
+    id UUID PRIMARY KEY,
+    topic VARCHAR(100) NOT NULL,
+    message_key VARCHAR(100) NOT NULL,
+    event_type VARCHAR(200) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE inventory_outbox IS 'Pending inventory events; ids are time-ordered, so the relay drains in primary key order';
@@ -0,0 +1,11 @@
+-- =============================================
+-- Migration V6: park outbox rows that keep failing
+-- A row that cannot be deserialized or is rejected by Kafka is retried up to inventory.outbox.max-attempts,
+-- then marked FAILED so it no longer holds back later events.
+-- =============================================
+
+ALTER TABLE inventory_outbox ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'PENDING';
+ALTER TABLE inventory_outbox ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE inventory_outbox ADD COLUMN last_error TEXT;
+
+CREATE INDEX idx_inventory_outbox_pending ON inventory_outbox (id) WHERE status = 'PENDING';
@@ -0,0 +1,30 @@
+-- =============================================
+-- Migration V7: per-order reservation state and optimistic locking on inventory
+-- stock_movement is partitioned by created_at, so it cannot carry a unique (order_id, type) index;
+-- stock_reservation holds one row per order instead, and its primary key serializes reserve/release retries.
+-- =============================================
+
+CREATE TABLE stock_reservation (
+    order_id UUID PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Orders reserved before this migration; archived partitions are not consulted
+INSERT INTO stock_reservation (order_id, status, updated_at)
+SELECT order_id,
+       CASE
+           WHEN bool_or(type = 'RELEASE') THEN 'RELEASED'
+           WHEN bool_or(type = 'OUT') THEN 'CONFIRMED'
+           ELSE 'RESERVED'
+       END,
+       max(created_at)
+FROM stock_movement
+WHERE order_id IS NOT NULL
+  AND type IN ('RESERVE', 'RELEASE', 'OUT')
+GROUP BY order_id
+HAVING bool_or(type = 'RESERVE');
+
+ALTER TABLE inventory ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON TABLE stock_reservation IS 'Reservation state per order; a RELEASED row without RESERVE movements is a tombstone for a release that arrived first';
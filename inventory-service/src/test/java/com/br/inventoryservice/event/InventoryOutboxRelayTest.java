@@ -0,0 +1,106 @@
+package com.br.inventoryservice.event;
+
+import com.br.inventoryservice.enums.OutboxStatus;
+import com.br.inventoryservice.model.OutboxEvent;
+import com.br.inventoryservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.NotLeaderOrFollowerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryOutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new InventoryOutboxRelay(
+            outboxEventRepository,
+            kafkaTemplate,
+            new ObjectMapper(),
+            new TransactionTemplate(transactionManager),
+            meterRegistry,
+            10,
+            1000,
+            2
+        );
+    }
+
+    @Test
+    void relay_poisonRow_isParkedAfterMaxAttemptsWithoutBlockingOtherKeys() {
+        OutboxEvent poison = event("order-a", "com.br.inventoryservice.event.Missing");
+        OutboxEvent healthy = event("order-b", String.class.getName());
+
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(poison, healthy));
+        when(kafkaTemplate.send(eq("inventory.stock.reserved"), eq("order-b"), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        assertEquals(1, poison.getAttempts());
+        assertEquals(OutboxStatus.PENDING, poison.getStatus());
+        verify(outboxEventRepository).deleteAllInBatch(List.of(healthy));
+
+        relay.relay();
+
+        assertEquals(2, poison.getAttempts());
+        assertEquals(OutboxStatus.FAILED, poison.getStatus());
+        assertEquals(1.0, meterRegistry.counter("inventory.outbox.failed").count());
+    }
+
+    @Test
+    void relay_brokerUnavailable_doesNotCountAttempts() {
+        OutboxEvent event = event("order-a", String.class.getName());
+
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(event));
+        when(kafkaTemplate.send(eq("inventory.stock.reserved"), eq("order-a"), any()))
+            .thenReturn(CompletableFuture.failedFuture(new NotLeaderOrFollowerException("leader moved")));
+
+        relay.relay();
+
+        assertEquals(0, event.getAttempts());
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        verify(outboxEventRepository, never()).save(any());
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+    }
+
+    private OutboxEvent event(String key, String type) {
+        return OutboxEvent.builder()
+            .id(UUID.randomUUID())
+            .topic("inventory.stock.reserved")
+            .messageKey(key)
+            .eventType(type)
+            .payload("\"payload\"")
+            .build();
+    }
+}
@@ -1,12 +1,24 @@
 package com.br.inventoryservice.service;
 
 import com.br.inventoryservice.enums.StockMovementType;
+import com.br.inventoryservice.enums.StockReservationStatus;
+import com.br.inventoryservice.event.InventoryEventProducer;
+import com.br.inventoryservice.event.StockLowAlertEvent;
+import com.br.inventoryservice.event.StockReservedEvent;
 import com.br.inventoryservice.exception.BusinessException;
 import com.br.inventoryservice.exception.ResourceNotFoundException;
 import com.br.inventoryservice.model.Inventory;
 import com.br.inventoryservice.model.StockMovement;
+import com.br.inventoryservice.model.StockReservation;
+import com.br.inventoryservice.repository.InventoryBulkRepository;
 import com.br.inventoryservice.repository.InventoryRepository;
 import com.br.inventoryservice.repository.StockMovementRepository;
+import com.br.inventoryservice.repository.StockReservationRepository;
+import com.br.inventoryservice.service.dto.BulkAdjustInventoryRequest;
+import com.br.inventoryservice.service.dto.ConfirmStockRequest;
+import com.br.inventoryservice.service.dto.InventoryAdjustmentRequest;
+import com.br.inventoryservice.service.dto.InventoryResponse;
+import com.br.inventoryservice.service.dto.ReleaseStockRequest;
 import com.br.inventoryservice.service.dto.ReserveStockRequest;
 import com.br.inventoryservice.service.dto.StockItemRequest;
 import com.br.inventoryservice.service.dto.UpdateInventoryRequest;
@@ -24,7 +36,13 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,9 +55,21 @@ class InventoryServiceTest {
     @Mock
     private StockMovementRepository stockMovementRepository;
 
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
     @Mock
     private InventoryMapper inventoryMapper;
 
+    @Mock
+    private InventoryEventProducer inventoryEventProducer;
+
+    @Mock
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Mock
+    private LowStockCache lowStockCache;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -75,6 +105,65 @@ class InventoryServiceTest {
         assertEquals(10, inventory.getQuantity());
         assertEquals(3, inventory.getMinStockAlert());
         verify(inventoryRepository).save(inventory);
+        verify(stockMovementRepository).save(argThat(movement ->
+            movement.getType() == StockMovementType.IN && movement.getQuantity() == 5));
+    }
+
+    @Test
+    void updateInventory_alreadyLow_doesNotRepublishAlert() {
+        UUID productId = UUID.randomUUID();
+        Inventory inventory = Inventory.builder()
+            .id(UUID.randomUUID())
+            .productId(productId)
+            .quantity(2)
+            .reservedQuantity(0)
+            .minStockAlert(5)
+            .build();
+
+        UpdateInventoryRequest request = new UpdateInventoryRequest();
+        request.setQuantity(1);
+        request.setMinStockAlert(5);
+
+        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        inventoryService.updateInventory(productId, request);
+
+        verify(lowStockCache).update(inventory);
+        verify(inventoryEventProducer, never()).publishStockLowAlert(any(StockLowAlertEvent.class));
+    }
+
+    @Test
+    void bulkAdjust_aggregatesPerProductAndAlertsOnce() {
+        UUID productId = UUID.randomUUID();
+        Inventory adjusted = Inventory.builder()
+            .id(UUID.randomUUID())
+            .productId(productId)
+            .quantity(3)
+            .reservedQuantity(0)
+            .minStockAlert(5)
+            .build();
+
+        BulkAdjustInventoryRequest request = new BulkAdjustInventoryRequest();
+        request.setItems(List.of(adjustment(productId, -4), adjustment(productId, -3)));
+
+        when(inventoryBulkRepository.addQuantities(List.of(productId), List.of(-7))).thenReturn(List.of(adjusted));
+
+        inventoryService.bulkAdjust(request);
+
+        verify(inventoryBulkRepository).insertMovements(argThat(movements ->
+            movements.size() == 2 && movements.stream().allMatch(m -> m.getType() == StockMovementType.ADJUSTMENT)), anyInt());
+        verify(inventoryEventProducer, times(1)).publishStockLowAlert(any(StockLowAlertEvent.class));
+    }
+
+    @Test
+    void bulkAdjust_unknownProduct_throws() {
+        BulkAdjustInventoryRequest request = new BulkAdjustInventoryRequest();
+        request.setItems(List.of(adjustment(UUID.randomUUID(), 10)));
+
+        when(inventoryBulkRepository.addQuantities(anyList(), anyList())).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.bulkAdjust(request));
     }
 
     @Test
@@ -95,7 +184,8 @@ class InventoryServiceTest {
         item.setQuantity(1);
         request.setItems(List.of(item));
 
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+        when(stockReservationRepository.insertIfAbsent(request.getOrderId(), "RESERVED")).thenReturn(1);
+        when(inventoryRepository.lockByProductIds(List.of(productId))).thenReturn(List.of(inventory));
 
         assertThrows(BusinessException.class, () -> inventoryService.reserveStock(request));
     }
@@ -118,34 +208,167 @@ class InventoryServiceTest {
         item.setQuantity(2);
         request.setItems(List.of(item));
 
-        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+        when(stockReservationRepository.insertIfAbsent(request.getOrderId(), "RESERVED")).thenReturn(1);
+        when(inventoryRepository.lockByProductIds(List.of(productId))).thenReturn(List.of(inventory));
         when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(inv -> inv.getArgument(0));
         when(inventoryRepository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
 
         inventoryService.reserveStock(request);
 
         assertEquals(3, inventory.getReservedQuantity());
+        verify(lowStockCache).update(inventory);
+    }
+
+    @Test
+    void reserveStock_alreadyReserved_isNoOp() {
+        UUID orderId = UUID.randomUUID();
+        Inventory inventory = Inventory.builder()
+            .id(UUID.randomUUID())
+            .productId(UUID.randomUUID())
+            .quantity(10)
+            .reservedQuantity(2)
+            .minStockAlert(1)
+            .build();
+        StockMovement reserve = StockMovement.builder()
+            .inventory(inventory)
+            .type(StockMovementType.RESERVE)
+            .quantity(2)
+            .orderId(orderId)
+            .build();
+
+        ReserveStockRequest request = new ReserveStockRequest();
+        request.setOrderId(orderId);
+        StockItemRequest item = new StockItemRequest();
+        item.setProductId(inventory.getProductId());
+        item.setQuantity(2);
+        request.setItems(List.of(item));
+
+        when(stockReservationRepository.insertIfAbsent(orderId, "RESERVED")).thenReturn(0);
+        when(stockMovementRepository.findByOrderIdAndType(orderId, StockMovementType.RESERVE)).thenReturn(List.of(reserve));
+
+        inventoryService.reserveStock(request);
+
+        assertEquals(2, inventory.getReservedQuantity());
+        verify(stockMovementRepository, never()).save(any(StockMovement.class));
+        verify(inventoryEventProducer, never()).publishStockReserved(any());
     }
 
     @Test
-    void releaseStock_noReserve_throws() {
-        when(stockMovementRepository.findByOrderIdAndType(any(), any())).thenReturn(List.of());
+    void reserveStock_afterRelease_reservesNothing() {
+        UUID orderId = UUID.randomUUID();
+        ReserveStockRequest request = new ReserveStockRequest();
+        request.setOrderId(orderId);
+        StockItemRequest item = new StockItemRequest();
+        item.setProductId(UUID.randomUUID());
+        item.setQuantity(2);
+        request.setItems(List.of(item));
+
+        when(stockReservationRepository.insertIfAbsent(orderId, "RESERVED")).thenReturn(0);
+        when(stockMovementRepository.findByOrderIdAndType(orderId, StockMovementType.RESERVE)).thenReturn(List.of());
+
+        List<InventoryResponse> result = inventoryService.reserveStock(request);
+
+        assertTrue(result.isEmpty());
+        verify(inventoryRepository, never()).lockByProductIds(anyList());
+        verify(inventoryEventProducer, never()).publishStockReserved(any());
+    }
+
+    @Test
+    void reserveStock_publishesOneEventPerOrder() {
+        UUID firstProductId = UUID.randomUUID();
+        UUID secondProductId = UUID.randomUUID();
+        Inventory first = Inventory.builder()
+            .id(UUID.randomUUID())
+            .productId(firstProductId)
+            .quantity(10)
+            .reservedQuantity(0)
+            .minStockAlert(1)
+            .build();
+        Inventory second = Inventory.builder()
+            .id(UUID.randomUUID())
+            .productId(secondProductId)
+            .quantity(10)
+            .reservedQuantity(0)
+            .minStockAlert(1)
+            .build();
+
+        ReserveStockRequest request = new ReserveStockRequest();
+        request.setOrderId(UUID.randomUUID());
+        StockItemRequest firstItem = new StockItemRequest();
+        firstItem.setProductId(firstProductId);
+        firstItem.setQuantity(1);
+        StockItemRequest secondItem = new StockItemRequest();
+        secondItem.setProductId(secondProductId);
+        secondItem.setQuantity(2);
+        request.setItems(List.of(firstItem, secondItem));
+
+        when(stockReservationRepository.insertIfAbsent(request.getOrderId(), "RESERVED")).thenReturn(1);
+        when(inventoryRepository.lockByProductIds(List.of(firstProductId, secondProductId))).thenReturn(List.of(first, second));
+
+        inventoryService.reserveStock(request);
+
+        verify(inventoryEventProducer, times(1)).publishStockReserved(argThat((StockReservedEvent event) ->
+            event.orderId().equals(request.getOrderId()) && event.items().size() == 2));
+    }
+
+    @Test
+    void releaseStock_beforeReserve_recordsReleaseAndReturnsNothing() {
+        UUID orderId = UUID.randomUUID();
+        when(stockReservationRepository.insertIfAbsent(orderId, "RELEASED")).thenReturn(1);
+
+        List<InventoryResponse> result = inventoryService.releaseStock(releaseRequest(orderId));
+
+        assertTrue(result.isEmpty());
+        verify(stockMovementRepository, never()).save(any(StockMovement.class));
+        verify(inventoryEventProducer, never()).publishStockReleased(any());
+    }
+
+    @Test
+    void releaseStock_alreadyReleased_isNoOp() {
+        UUID orderId = UUID.randomUUID();
+        Inventory inventory = Inventory.builder()
+            .id(UUID.randomUUID())
+            .productId(UUID.randomUUID())
+            .quantity(10)
+            .reservedQuantity(3)
+            .minStockAlert(1)
+            .build();
+        StockMovement reserve = StockMovement.builder()
+            .inventory(inventory)
+            .type(StockMovementType.RESERVE)
+            .quantity(2)
+            .orderId(orderId)
+            .build();
+
+        when(stockReservationRepository.insertIfAbsent(orderId, "RELEASED")).thenReturn(0);
+        when(stockReservationRepository.lockByOrderId(orderId)).thenReturn(Optional.of(reservation(orderId, StockReservationStatus.RELEASED)));
+        when(stockMovementRepository.findByOrderIdAndType(orderId, StockMovementType.RESERVE)).thenReturn(List.of(reserve));
+
+        inventoryService.releaseStock(releaseRequest(orderId));
+
+        assertEquals(3, inventory.getReservedQuantity());
+        verify(inventoryRepository, never()).lockByIds(anyList());
+        verify(inventoryEventProducer, never()).publishStockReleased(any());
+    }
+
+    @Test
+    void releaseStock_confirmed_throws() {
+        UUID orderId = UUID.randomUUID();
+        when(stockReservationRepository.insertIfAbsent(orderId, "RELEASED")).thenReturn(0);
+        when(stockReservationRepository.lockByOrderId(orderId)).thenReturn(Optional.of(reservation(orderId, StockReservationStatus.CONFIRMED)));
+        when(stockMovementRepository.findByOrderIdAndType(orderId, StockMovementType.RESERVE)).thenReturn(List.of());
 
         assertThrows(BusinessException.class, () ->
-            inventoryService.releaseStock(new com.br.inventoryservice.service.dto.ReleaseStockRequest() {{
-                setOrderId(UUID.randomUUID());
-            }})
+            inventoryService.releaseStock(releaseRequest(orderId))
         );
     }
 
     @Test
     void confirmStock_noReserve_throws() {
-        when(stockMovementRepository.findByOrderIdAndType(any(), any())).thenReturn(List.of());
+        when(stockReservationRepository.lockByOrderId(any())).thenReturn(Optional.empty());
 
         assertThrows(BusinessException.class, () ->
-            inventoryService.confirmStock(new com.br.inventoryservice.service.dto.ConfirmStockRequest() {{
-                setOrderId(UUID.randomUUID());
-            }})
+            inventoryService.confirmStock(confirmRequest(UUID.randomUUID()))
         );
     }
 
@@ -167,16 +390,21 @@ class InventoryServiceTest {
             .orderId(orderId)
             .build();
 
+        StockReservation reservation = reservation(orderId, StockReservationStatus.RESERVED);
+
+        when(stockReservationRepository.insertIfAbsent(orderId, "RELEASED")).thenReturn(0);
+        when(stockReservationRepository.lockByOrderId(orderId)).thenReturn(Optional.of(reservation));
         when(stockMovementRepository.findByOrderIdAndType(orderId, StockMovementType.RESERVE))
             .thenReturn(List.of(reserve));
+        when(inventoryRepository.lockByIds(List.of(inventory.getId()))).thenReturn(List.of(inventory));
         when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(inv -> inv.getArgument(0));
         when(inventoryRepository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        inventoryService.releaseStock(new com.br.inventoryservice.service.dto.ReleaseStockRequest() {{
-            setOrderId(orderId);
-        }});
+        inventoryService.releaseStock(releaseRequest(orderId));
 
         assertEquals(3, inventory.getReservedQuantity());
+        assertEquals(StockReservationStatus.RELEASED, reservation.getStatus());
+        verify(lowStockCache).update(inventory);
     }
 
     @Test
@@ -197,16 +425,74 @@ class InventoryServiceTest {
             .orderId(orderId)
             .build();
 
+        when(stockReservationRepository.lockByOrderId(orderId)).thenReturn(Optional.of(reservation(orderId, StockReservationStatus.RESERVED)));
         when(stockMovementRepository.findByOrderIdAndType(orderId, StockMovementType.RESERVE))
             .thenReturn(List.of(reserve));
+        when(inventoryRepository.lockByIds(List.of(inventory.getId()))).thenReturn(List.of(inventory));
         when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(inv -> inv.getArgument(0));
         when(inventoryRepository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        inventoryService.confirmStock(new com.br.inventoryservice.service.dto.ConfirmStockRequest() {{
-            setOrderId(orderId);
-        }});
+        inventoryService.confirmStock(confirmRequest(orderId));
 
         assertEquals(8, inventory.getQuantity());
         assertEquals(2, inventory.getReservedQuantity());
+        verify(inventoryEventProducer, never()).publishStockLowAlert(any(StockLowAlertEvent.class));
+    }
+
+    @Test
+    void confirmStock_crossingThreshold_publishesLowAlert() {
+        UUID orderId = UUID.randomUUID();
+        Inventory inventory = Inventory.builder()
+            .id(UUID.randomUUID())
+            .productId(UUID.randomUUID())
+            .quantity(6)
+            .reservedQuantity(2)
+            .minStockAlert(5)
+            .build();
+
+        StockMovement reserve = StockMovement.builder()
+            .inventory(inventory)
+            .type(StockMovementType.RESERVE)
+            .quantity(2)
+            .orderId(orderId)
+            .build();
+
+        when(stockReservationRepository.lockByOrderId(orderId)).thenReturn(Optional.of(reservation(orderId, StockReservationStatus.RESERVED)));
+        when(stockMovementRepository.findByOrderIdAndType(orderId, StockMovementType.RESERVE))
+            .thenReturn(List.of(reserve));
+        when(inventoryRepository.lockByIds(List.of(inventory.getId()))).thenReturn(List.of(inventory));
+        when(stockMovementRepository.save(any(StockMovement.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        inventoryService.confirmStock(confirmRequest(orderId));
+
+        verify(inventoryEventProducer).publishStockLowAlert(any(StockLowAlertEvent.class));
+    }
+
+    private StockReservation reservation(UUID orderId, StockReservationStatus status) {
+        return StockReservation.builder()
+            .orderId(orderId)
+            .status(status)
+            .build();
+    }
+
+    private ReleaseStockRequest releaseRequest(UUID orderId) {
+        ReleaseStockRequest request = new ReleaseStockRequest();
+        request.setOrderId(orderId);
+        return request;
+    }
+
+    private ConfirmStockRequest confirmRequest(UUID orderId) {
+        ConfirmStockRequest request = new ConfirmStockRequest();
+        request.setOrderId(orderId);
+        return request;
+    }
+
+    private InventoryAdjustmentRequest adjustment(UUID productId, int delta) {
+        InventoryAdjustmentRequest item = new InventoryAdjustmentRequest();
+        item.setProductId(productId);
+        item.setDelta(delta);
+        item.setReason("Supplier shipment");
+        return item;
     }
 }
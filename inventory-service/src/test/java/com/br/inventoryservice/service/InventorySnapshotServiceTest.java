@@ -0,0 +1,93 @@
+package com.br.inventoryservice.service;
+
+import com.br.inventoryservice.exception.BusinessException;
+import com.br.inventoryservice.model.Inventory;
+import com.br.inventoryservice.model.InventorySnapshot;
+import com.br.inventoryservice.repository.InventoryRepository;
+import com.br.inventoryservice.repository.InventorySnapshotRepository;
+import com.br.inventoryservice.repository.StockMovementRepository;
+import com.br.inventoryservice.repository.StockMovementTotal;
+import com.br.inventoryservice.service.dto.InventoryPointInTimeResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventorySnapshotServiceTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventorySnapshotRepository inventorySnapshotRepository;
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @InjectMocks
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Test
+    void getStockAt_foldsMovementsForwardFromSnapshot() {
+        UUID productId = UUID.randomUUID();
+        Inventory inventory = Inventory.builder().id(UUID.randomUUID()).productId(productId).build();
+        LocalDateTime snapshotAt = LocalDateTime.of(2026, 3, 10, 14, 0);
+        LocalDateTime at = snapshotAt.plusMinutes(3);
+        InventorySnapshot snapshot = InventorySnapshot.builder()
+            .inventoryId(inventory.getId())
+            .quantity(10)
+            .reservedQuantity(2)
+            .snapshotAt(snapshotAt)
+            .build();
+
+        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+        when(inventorySnapshotRepository.findFirstByInventoryIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(inventory.getId(), at))
+            .thenReturn(Optional.of(snapshot));
+        when(stockMovementRepository.sumByInventoryBetween(inventory.getId(), snapshotAt, at)).thenReturn(List.of(
+            total(inventory.getId(), "IN", 5, 1),
+            total(inventory.getId(), "RESERVE", 4, 2),
+            total(inventory.getId(), "OUT", 3, 1),
+            total(inventory.getId(), "RELEASE", 1, 1)
+        ));
+
+        InventoryPointInTimeResponse response = inventorySnapshotService.getStockAt(productId, at);
+
+        assertEquals(12, response.quantity());
+        assertEquals(2, response.reservedQuantity());
+        assertEquals(5L, response.movementsApplied());
+        assertEquals(snapshotAt, response.snapshotAt());
+    }
+
+    @Test
+    void getStockAt_noSnapshot_throws() {
+        UUID productId = UUID.randomUUID();
+        Inventory inventory = Inventory.builder().id(UUID.randomUUID()).productId(productId).build();
+
+        when(inventoryRepository.findByProductId(productId)).thenReturn(Optional.of(inventory));
+        when(inventorySnapshotRepository.findFirstByInventoryIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(any(), any()))
+            .thenReturn(Optional.empty());
+
+        assertThrows(BusinessException.class, () -> inventorySnapshotService.getStockAt(productId, LocalDateTime.now()));
+    }
+
+    private StockMovementTotal total(UUID inventoryId, String type, long quantity, long movements) {
+        return new StockMovementTotal() {
+            public UUID getInventoryId() { return inventoryId; }
+            public String getType() { return type; }
+            public Long getQuantity() { return quantity; }
+            public Long getMovements() { return movements; }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.br.orderservice.config;
+
+import com.br.orderservice.event.CheckoutRequestedCommand;
+import com.br.orderservice.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+@Slf4j
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Retries failed records with exponential backoff. A checkout command that still fails
+     * (e.g. a downstream service stays unavailable) cancels its order instead of leaving it pending.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(
+        OrderService orderService,
+        @Value("${order.checkout.async.max-retries:5}") int maxRetries,
+        @Value("${order.checkout.async.retry-backoff-ms:1000}") long retryBackoffMs
+    ) {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxRetries);
+        backOff.setInitialInterval(retryBackoffMs);
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(retryBackoffMs * 16);
+
+        return new DefaultErrorHandler((record, exception) -> {
+            if (record.value() instanceof CheckoutRequestedCommand command) {
+                log.warn("Giving up on checkout of order {}: {}", command.orderId(), exception.getMessage());
+                orderService.failCheckout(command.orderId(), "Checkout could not be completed");
+            } else {
+                log.error("Dropping record from {} after retries: {}", record.topic(), exception.getMessage());
+            }
+        }, backOff);
+    }
+}
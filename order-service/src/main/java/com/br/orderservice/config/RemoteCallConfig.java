@@ -0,0 +1,19 @@
+package com.br.orderservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class RemoteCallConfig {
+
+    /**
+     * Virtual-thread executor for blocking Feign calls, so fanned-out calls do not hold platform threads.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService remoteCallExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -1,15 +1,23 @@
 package com.br.orderservice.controller;
 
+import com.br.orderservice.enums.OrderStatusEnum;
 import com.br.orderservice.exception.ForbiddenException;
 import com.br.orderservice.service.OrderService;
+import com.br.orderservice.service.dto.BulkUpdateOrderStatusRequest;
+import com.br.orderservice.service.dto.BulkUpdateOrderStatusResponse;
 import com.br.orderservice.service.dto.CancelOrderRequest;
+import com.br.orderservice.service.dto.CheckoutAcceptedResponse;
 import com.br.orderservice.service.dto.CreateOrderRequest;
 import com.br.orderservice.service.dto.OrderResponse;
+import com.br.orderservice.service.dto.OrderScrollResponse;
+import com.br.orderservice.service.dto.OrderStatusHistoryResponse;
+import com.br.orderservice.service.dto.OrderStatusResponse;
 import com.br.orderservice.service.dto.UpdateOrderStatusRequest;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,8 +26,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -43,6 +54,45 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(userId, request));
     }
 
+    /**
+     * Accepts an order for asynchronous checkout and returns immediately with its id.
+     * Progress is followed through {@code GET /api/v1/orders/{id}/status}.
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutAcceptedResponse> submitCheckout(
+        @RequestHeader("X-User-Id") UUID userId,
+        @RequestBody @Valid CreateOrderRequest request
+    ) {
+        CheckoutAcceptedResponse response = orderService.submitCheckout(userId, request);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/v1/orders/" + response.orderId() + "/status"))
+            .body(response);
+    }
+
+    /**
+     * Returns the current status of an order if caller is owner or admin.
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<OrderStatusResponse> getStatus(
+        @PathVariable UUID id,
+        @RequestHeader("X-User-Id") UUID userId,
+        @RequestHeader("X-User-Role") String role
+    ) {
+        return ResponseEntity.ok(orderService.getOrderStatus(id, userId, role));
+    }
+
+    /**
+     * Returns the status timeline of an order, oldest first, if caller is owner or admin.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<OrderStatusHistoryResponse>> getHistory(
+        @PathVariable UUID id,
+        @RequestHeader("X-User-Id") UUID userId,
+        @RequestHeader("X-User-Role") String role
+    ) {
+        return ResponseEntity.ok(orderService.getOrderHistory(id, userId, role));
+    }
+
     /**
      * Returns paginated orders of the authenticated user.
      */
@@ -55,15 +105,27 @@ public class OrderController {
     }
 
     /**
-     * Returns one order by id if caller is owner or admin.
+     * Returns orders of the authenticated user newest first, by cursor and without a total count.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> getById(
+    @GetMapping("/scroll")
+    public ResponseEntity<OrderScrollResponse> scrollMyOrders(
+        @RequestHeader("X-User-Id") UUID userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(orderService.scrollMyOrders(userId, cursor, size));
+    }
+
+    /**
+     * Returns one order by id if caller is owner or admin, served from its pre-rendered view.
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getById(
         @PathVariable UUID id,
         @RequestHeader("X-User-Id") UUID userId,
         @RequestHeader("X-User-Role") String role
     ) {
-        return ResponseEntity.ok(orderService.getOrderById(id, userId, role));
+        return ResponseEntity.ok(orderService.getOrderJson(id, userId, role));
     }
 
     /**
@@ -92,6 +154,20 @@ public class OrderController {
         return ResponseEntity.ok(orderService.listAllOrders(pageable));
     }
 
+    /**
+     * Returns all orders newest first for admins, optionally by status, by cursor and without a total count.
+     */
+    @GetMapping("/admin/scroll")
+    public ResponseEntity<OrderScrollResponse> scrollAllOrders(
+        @RequestHeader("X-User-Role") String role,
+        @RequestParam(required = false) OrderStatusEnum status,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        ensureAdmin(role);
+        return ResponseEntity.ok(orderService.scrollAllOrders(status, cursor, size));
+    }
+
     /**
      * Updates order status following transition rules (admin only).
      */
@@ -106,6 +182,19 @@ public class OrderController {
         return ResponseEntity.ok(orderService.updateOrderStatus(id, actorId, request));
     }
 
+    /**
+     * Moves many orders from one status to another in one request (admin only).
+     */
+    @PostMapping("/admin/status-transitions")
+    public ResponseEntity<BulkUpdateOrderStatusResponse> bulkUpdateStatus(
+        @RequestHeader("X-User-Role") String role,
+        @RequestHeader("X-User-Id") UUID actorId,
+        @RequestBody @Valid BulkUpdateOrderStatusRequest request
+    ) {
+        ensureAdmin(role);
+        return ResponseEntity.ok(orderService.bulkUpdateOrderStatus(actorId, request));
+    }
+
     private void ensureAdmin(String role) {
         if (!"ADMIN".equalsIgnoreCase(role)) {
             throw new ForbiddenException("Access denied");
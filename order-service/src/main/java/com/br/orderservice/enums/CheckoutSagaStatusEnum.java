@@ -0,0 +1,9 @@
+package com.br.orderservice.enums;
+
+public enum CheckoutSagaStatusEnum {
+    RUNNING,
+    COMPENSATING,
+    COMPLETED,
+    COMPENSATED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.br.orderservice.enums;
+
+public enum CheckoutSagaStepEnum {
+    RESERVE_STOCK,
+    CONFIRM_ORDER,
+    PUBLISH_ORDER_CREATED,
+    RETRACT_ORDER_CREATED,
+    RELEASE_STOCK,
+    CANCEL_ORDER,
+    DONE
+}
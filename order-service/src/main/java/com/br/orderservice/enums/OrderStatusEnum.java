@@ -1,6 +1,8 @@
 package com.br.orderservice.enums;
 
 public enum OrderStatusEnum {
+    PENDING_VALIDATION,
+    PENDING_RESERVATION,
     PENDING_PAYMENT,
     PAYMENT_CONFIRMED,
     PAYMENT_FAILED,
@@ -0,0 +1,10 @@
+package com.br.orderservice.enums;
+
+public enum OutboxStatusEnum {
+    PENDING,
+    PUBLISHED,
+    /**
+     * Parked after exhausting its attempts; left for manual action and skipped by the relay.
+     */
+    FAILED
+}
@@ -0,0 +1,31 @@
+package com.br.orderservice.event;
+
+import com.br.orderservice.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes checkout commands queued by the asynchronous checkout endpoint.
+ * Failures are retried by the container error handler (see {@code KafkaConfig}).
+ */
+@Slf4j
+@Component
+public class CheckoutCommandListener {
+
+    private final OrderService orderService;
+
+    public CheckoutCommandListener(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @KafkaListener(
+        topics = OrderEventProducer.TOPIC_CHECKOUT_REQUESTED,
+        groupId = "order-service-checkout",
+        concurrency = "${order.checkout.async.consumer-concurrency:4}"
+    )
+    public void onCheckoutRequested(CheckoutRequestedCommand command) {
+        log.debug("Processing checkout command for order {}", command.orderId());
+        orderService.completeCheckout(command);
+    }
+}
@@ -0,0 +1,18 @@
+package com.br.orderservice.event;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command to validate, price and reserve an order accepted as PENDING_VALIDATION.
+ */
+public record CheckoutRequestedCommand(
+    UUID commandId,
+    Instant occurredAt,
+    UUID orderId,
+    UUID userId,
+    UUID addressId,
+    List<CheckoutRequestedItem> items,
+    String notes
+) {}
@@ -0,0 +1,8 @@
+package com.br.orderservice.event;
+
+import java.util.UUID;
+
+public record CheckoutRequestedItem(
+    UUID productId,
+    Integer quantity
+) {}
@@ -1,8 +1,17 @@
 package com.br.orderservice.event;
 
-import org.springframework.kafka.core.KafkaTemplate;
+import com.br.orderservice.exception.BusinessException;
+import com.br.orderservice.model.OutboxEvent;
+import com.br.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
+/**
+ * Records order events and commands in the outbox as part of the caller's transaction.
+ * {@link OrderOutboxRelay} publishes them to Kafka after commit, so rolled back changes never emit events
+ * and committed ones survive a broker outage.
+ */
 @Component
 public class OrderEventProducer {
 
@@ -10,26 +19,46 @@ public class OrderEventProducer {
     public static final String TOPIC_ORDER_CANCELLED = "order.cancelled";
     public static final String TOPIC_ORDER_PAID = "order.paid";
     public static final String TOPIC_ORDER_SHIPPED = "order.shipped";
+    public static final String TOPIC_CHECKOUT_REQUESTED = "order.checkout.requested";
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
-    public OrderEventProducer(KafkaTemplate<String, Object> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public OrderEventProducer(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
     }
 
     public void publishOrderCreated(OrderCreatedEvent event) {
-        kafkaTemplate.send(TOPIC_ORDER_CREATED, event.orderId().toString(), event);
+        enqueue(TOPIC_ORDER_CREATED, event.orderId().toString(), event);
     }
 
     public void publishOrderCancelled(OrderCancelledEvent event) {
-        kafkaTemplate.send(TOPIC_ORDER_CANCELLED, event.orderId().toString(), event);
+        enqueue(TOPIC_ORDER_CANCELLED, event.orderId().toString(), event);
     }
 
     public void publishOrderPaid(OrderPaidEvent event) {
-        kafkaTemplate.send(TOPIC_ORDER_PAID, event.orderId().toString(), event);
+        enqueue(TOPIC_ORDER_PAID, event.orderId().toString(), event);
     }
 
     public void publishOrderShipped(OrderShippedEvent event) {
-        kafkaTemplate.send(TOPIC_ORDER_SHIPPED, event.orderId().toString(), event);
+        enqueue(TOPIC_ORDER_SHIPPED, event.orderId().toString(), event);
+    }
+
+    public void publishCheckoutRequested(CheckoutRequestedCommand command) {
+        enqueue(TOPIC_CHECKOUT_REQUESTED, command.orderId().toString(), command);
+    }
+
+    private void enqueue(String topic, String key, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTopic(topic);
+        outboxEvent.setMessageKey(key);
+        outboxEvent.setEventType(event.getClass().getName());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Problem serializing event for topic: " + topic);
+        }
+        outboxEventRepository.save(outboxEvent);
     }
 }
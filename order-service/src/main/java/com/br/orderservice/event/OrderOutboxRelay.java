@@ -0,0 +1,211 @@
+package com.br.orderservice.event;
+
+import com.br.orderservice.enums.OutboxStatusEnum;
+import com.br.orderservice.model.OutboxEvent;
+import com.br.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the order outbox to Kafka in batches, in id order.
+ * Each batch is sent without waiting per record, then awaited as a whole. A row is marked published only
+ * after its ack, and only while every older row of the same key in the batch was acked too, so a failed
+ * event is retried before anything that followed it for the same order.
+ * A row that fails on its own (it cannot be deserialized, or Kafka rejects it with a non-retriable error) is
+ * retried up to {@code max-attempts} times, then parked as FAILED so it cannot hold back its order forever.
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final Counter parked;
+    private final AtomicLong lagMs = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+
+    public OrderOutboxRelay(
+        OutboxEventRepository outboxEventRepository,
+        KafkaTemplate<String, Object> kafkaTemplate,
+        ObjectMapper objectMapper,
+        TransactionTemplate transactionTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${order.outbox.batch-size:200}") int batchSize,
+        @Value("${order.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+        @Value("${order.outbox.retention-hours:24}") long retentionHours,
+        @Value("${order.outbox.max-attempts:5}") int maxAttempts
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retention = Duration.ofHours(retentionHours);
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("order.outbox.lag", lagMs, value -> value.get() / 1000.0)
+            .description("Age of the oldest unpublished outbox event")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("order.outbox.pending", pending, AtomicLong::get)
+            .description("Number of unpublished outbox events")
+            .register(meterRegistry);
+        this.parked = Counter.builder("order.outbox.failed")
+            .description("Outbox events parked after exhausting their attempts")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer locked;
+            do {
+                locked = transactionTemplate.execute(status -> relayBatch());
+            } while (locked != null && locked == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Order outbox relay failed, batch will be retried: {}", e.getMessage());
+        } finally {
+            refreshLag();
+        }
+    }
+
+    @Scheduled(cron = "${order.outbox.cleanup-cron:0 15 * * * *}")
+    public void deletePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+            outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention))
+        );
+        log.info("Deleted {} published order outbox events", deleted);
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Rows behind a row that already failed for the same key are not sent at all
+        Set<String> blockedKeys = new HashSet<>();
+        List<CompletableFuture<?>> acks = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            if (blockedKeys.contains(event.getMessageKey())) {
+                acks.add(null);
+                continue;
+            }
+            CompletableFuture<?> ack = send(event);
+            if (ack.isCompletedExceptionally()) {
+                blockedKeys.add(event.getMessageKey());
+            }
+            acks.add(ack);
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(acks.stream().filter(Objects::nonNull).toArray(CompletableFuture[]::new))
+                .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Kafka did not ack the whole outbox batch: {}", e.getMessage());
+        }
+
+        List<UUID> acked = new ArrayList<>(batch.size());
+        blockedKeys.clear();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            CompletableFuture<?> ack = acks.get(i);
+            if (ack != null && ack.state() == Future.State.SUCCESS && !blockedKeys.contains(event.getMessageKey())) {
+                acked.add(event.getId());
+                continue;
+            }
+            blockedKeys.add(event.getMessageKey());
+            if (ack != null && ack.state() == Future.State.FAILED) {
+                recordFailure(event, ack.exceptionNow());
+            }
+        }
+
+        if (!acked.isEmpty()) {
+            outboxEventRepository.markPublished(acked, LocalDateTime.now());
+        }
+        // A short batch means the backlog is drained or blocked on a failed send; wait for the next poll.
+        return acked.size() == batch.size() ? batch.size() : 0;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getMessageKey(), deserialize(event));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Counts a failure against the row, unless Kafka itself is unavailable (a retriable error).
+     */
+    private void recordFailure(OutboxEvent event, Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return;
+            }
+        }
+
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(error.getMessage());
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxStatusEnum.FAILED);
+            parked.increment();
+            log.error("Parked order outbox event {} ({}) after {} attempts: {}",
+                event.getId(), event.getEventType(), attempts, error.getMessage());
+        } else {
+            log.warn("Order outbox event {} failed (attempt {}): {}", event.getId(), attempts, error.getMessage());
+        }
+        outboxEventRepository.save(event);
+    }
+
+    private void refreshLag() {
+        try {
+            LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+            lagMs.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+            pending.set(outboxEventRepository.countByStatus(OutboxStatusEnum.PENDING));
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh order outbox lag: {}", e.getMessage());
+        }
+    }
+
+    private Object deserialize(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot deserialize outbox event " + event.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.br.orderservice.exception;
+
+public class RemoteServiceException extends RuntimeException {
+
+    public RemoteServiceException(String message) {
+        super(message);
+    }
+}
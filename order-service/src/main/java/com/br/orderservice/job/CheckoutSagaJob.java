@@ -0,0 +1,62 @@
+package com.br.orderservice.job;
+
+import com.br.orderservice.repository.CheckoutSagaRepository;
+import com.br.orderservice.service.CheckoutSagaOrchestrator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumes checkout sagas whose retry is due, including the ones left in flight by a restart.
+ */
+@Slf4j
+@Component
+public class CheckoutSagaJob {
+
+    private final CheckoutSagaRepository checkoutSagaRepository;
+    private final CheckoutSagaOrchestrator checkoutSagaOrchestrator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long leaseMs;
+
+    public CheckoutSagaJob(
+        CheckoutSagaRepository checkoutSagaRepository,
+        CheckoutSagaOrchestrator checkoutSagaOrchestrator,
+        TransactionTemplate transactionTemplate,
+        @Value("${order.checkout.saga.batch-size:50}") int batchSize,
+        @Value("${order.checkout.saga.lease-ms:30000}") long leaseMs
+    ) {
+        this.checkoutSagaRepository = checkoutSagaRepository;
+        this.checkoutSagaOrchestrator = checkoutSagaOrchestrator;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+    }
+
+    @Scheduled(fixedDelayString = "${order.checkout.saga.poll-interval-ms:1000}")
+    public void resumeDueSagas() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> due = transactionTemplate.execute(status ->
+            checkoutSagaRepository.claimDue(now, now.plusNanos(leaseMs * 1_000_000), batchSize)
+        );
+        if (due == null || due.isEmpty()) {
+            return;
+        }
+
+        log.debug("Resuming {} checkout sagas", due.size());
+        for (UUID orderId : due) {
+            try {
+                checkoutSagaOrchestrator.resume(orderId);
+            } catch (RuntimeException e) {
+                // The lease expires and the saga is picked up again on a later run
+                log.warn("Could not resume checkout saga {}: {}", orderId, e.getMessage());
+            }
+        }
+    }
+}
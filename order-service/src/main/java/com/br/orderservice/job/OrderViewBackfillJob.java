@@ -0,0 +1,67 @@
+package com.br.orderservice.job;
+
+import com.br.orderservice.model.Order;
+import com.br.orderservice.repository.OrderRepository;
+import com.br.orderservice.service.OrderViewProjector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Writes the order view of orders that have none, e.g. orders created before the view existed.
+ * Reads never write the view, so this job is what makes those orders a single primary-key read.
+ */
+@Slf4j
+@Component
+public class OrderViewBackfillJob {
+
+    private final OrderRepository orderRepository;
+    private final OrderViewProjector orderViewProjector;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OrderViewBackfillJob(
+        OrderRepository orderRepository,
+        OrderViewProjector orderViewProjector,
+        TransactionTemplate transactionTemplate,
+        @Value("${order.view.backfill.batch-size:200}") int batchSize
+    ) {
+        this.orderRepository = orderRepository;
+        this.orderViewProjector = orderViewProjector;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${order.view.backfill.interval-ms:300000}",
+        initialDelayString = "${order.view.backfill.initial-delay-ms:30000}"
+    )
+    public void backfill() {
+        try {
+            int total = 0;
+            Integer written;
+            do {
+                written = transactionTemplate.execute(status -> backfillBatch());
+                total += written == null ? 0 : written;
+            } while (written != null && written == batchSize);
+            if (total > 0) {
+                log.info("Backfilled {} order views", total);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Order view backfill failed, will be retried: {}", e.getMessage());
+        }
+    }
+
+    private int backfillBatch() {
+        List<Order> orders = orderRepository.findWithoutView(Limit.of(batchSize));
+        for (Order order : orders) {
+            orderViewProjector.rebuild(order);
+        }
+        return orders.size();
+    }
+}
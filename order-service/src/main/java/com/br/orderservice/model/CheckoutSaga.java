@@ -0,0 +1,76 @@
+package com.br.orderservice.model;
+
+import com.br.orderservice.enums.CheckoutSagaStatusEnum;
+import com.br.orderservice.enums.CheckoutSagaStepEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Persisted state of one checkout saga, keyed by the order it creates.
+ */
+@Entity
+@Table(name = "checkout_saga")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CheckoutSaga {
+
+    @Id
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CheckoutSagaStatusEnum status;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CheckoutSagaStepEnum step;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Bumped by every save and by the resume job's claim, so a runner that lost its lease cannot overwrite the saga.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public boolean isFinished() {
+        return status == CheckoutSagaStatusEnum.COMPLETED
+            || status == CheckoutSagaStatusEnum.COMPENSATED
+            || status == CheckoutSagaStatusEnum.FAILED;
+    }
+}
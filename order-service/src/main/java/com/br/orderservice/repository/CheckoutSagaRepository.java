@@ -0,0 +1,39 @@
+package com.br.orderservice.repository;
+
+import com.br.orderservice.model.CheckoutSaga;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CheckoutSagaRepository extends JpaRepository<CheckoutSaga, UUID> {
+
+    /**
+     * Leases due in-flight sagas by pushing their next attempt to {@code leaseUntil}.
+     * Rows locked by another instance are skipped; a lease left by a crashed instance simply expires.
+     * The version is bumped, so a runner still holding the row from before fails on its next save.
+     */
+    @Query(value = """
+        UPDATE checkout_saga
+        SET next_attempt_at = :leaseUntil, version = version + 1
+        WHERE order_id IN (
+            SELECT order_id FROM checkout_saga
+            WHERE status IN ('RUNNING', 'COMPENSATING')
+              AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING order_id
+        """, nativeQuery = true)
+    List<UUID> claimDue(
+        @Param("now") LocalDateTime now,
+        @Param("leaseUntil") LocalDateTime leaseUntil,
+        @Param("limit") int limit
+    );
+}
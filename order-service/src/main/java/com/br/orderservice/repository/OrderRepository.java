@@ -1,14 +1,101 @@
 package com.br.orderservice.repository;
 
+import com.br.orderservice.enums.OrderStatusEnum;
 import com.br.orderservice.model.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
     Page<Order> findByUserId(UUID userId, Pageable pageable);
+
+    Optional<OrderStatusView> findStatusById(UUID id);
+
+    /**
+     * Highest order number matching {@code pattern}, used to resume a node's order number sequence on startup.
+     */
+    @Query("SELECT MAX(o.orderNumber) FROM Order o WHERE o.orderNumber LIKE :pattern")
+    String findMaxOrderNumberLike(@Param("pattern") String pattern);
+
+    /**
+     * Orders that have no row in the order view yet, for the backfill.
+     */
+    @Query("SELECT o FROM Order o WHERE NOT EXISTS (SELECT 1 FROM OrderView v WHERE v.orderId = o.id)")
+    List<Order> findWithoutView(Limit limit);
+
+    /**
+     * Moves every listed order that is still in {@code fromStatus} to {@code toStatus} in one statement,
+     * and returns the ids that were moved. Orders in any other status are left untouched.
+     */
+    @Query(value = """
+        UPDATE orders
+        SET status = :toStatus, updated_at = :updatedAt
+        WHERE id IN (:ids)
+          AND status = :fromStatus
+        RETURNING id
+        """, nativeQuery = true)
+    List<UUID> transitionAll(
+        @Param("ids") Collection<UUID> ids,
+        @Param("fromStatus") String fromStatus,
+        @Param("toStatus") String toStatus,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    /*
+     * Keyset listings, newest first. The "after" variants continue strictly below the
+     * (createdAt, id) of the last row already returned. None of them runs a count query.
+     */
+
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findLatestByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query("""
+        SELECT o FROM Order o
+        WHERE o.userId = :userId
+          AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id))
+        ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    List<Order> findLatestByUserIdAfter(
+        @Param("userId") UUID userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Limit limit
+    );
+
+    @Query("SELECT o FROM Order o WHERE o.status = :status ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findLatestByStatus(@Param("status") OrderStatusEnum status, Limit limit);
+
+    @Query("""
+        SELECT o FROM Order o
+        WHERE o.status = :status
+          AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id))
+        ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    List<Order> findLatestByStatusAfter(
+        @Param("status") OrderStatusEnum status,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Limit limit
+    );
+
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findLatest(Limit limit);
+
+    @Query("""
+        SELECT o FROM Order o
+        WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)
+        ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    List<Order> findLatestAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
 }
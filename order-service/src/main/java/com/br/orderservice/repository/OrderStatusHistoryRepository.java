@@ -9,5 +9,5 @@ import java.util.UUID;
 
 @Repository
 public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, UUID> {
-    List<OrderStatusHistory> findByOrderIdOrderByCreatedAtAsc(UUID orderId);
+    List<OrderStatusHistory> findByOrderIdOrderByCreatedAtAscIdAsc(UUID orderId);
 }
@@ -0,0 +1,22 @@
+package com.br.orderservice.repository;
+
+import com.br.orderservice.enums.OrderStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Status columns of an order, read without loading the full row.
+ */
+public interface OrderStatusView {
+
+    UUID getId();
+
+    UUID getUserId();
+
+    String getOrderNumber();
+
+    OrderStatusEnum getStatus();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,48 @@
+package com.br.orderservice.repository;
+
+import com.br.orderservice.model.OrderView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface OrderViewRepository extends JpaRepository<OrderView, UUID> {
+
+    /**
+     * Writes the rendered view of an order in one statement, without reading it first.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_view (order_id, user_id, body, updated_at)
+        VALUES (:orderId, :userId, :body, :updatedAt)
+        ON CONFLICT (order_id) DO UPDATE
+        SET body = EXCLUDED.body, updated_at = EXCLUDED.updated_at
+        """, nativeQuery = true)
+    int upsert(
+        @Param("orderId") UUID orderId,
+        @Param("userId") UUID userId,
+        @Param("body") String body,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    /**
+     * Writes the view of an order unless one exists; used by the backfill, which must not overwrite a newer view.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_view (order_id, user_id, body, updated_at)
+        VALUES (:orderId, :userId, :body, :updatedAt)
+        ON CONFLICT (order_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(
+        @Param("orderId") UUID orderId,
+        @Param("userId") UUID userId,
+        @Param("body") String body,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+}
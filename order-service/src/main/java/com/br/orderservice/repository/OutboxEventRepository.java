@@ -0,0 +1,61 @@
+package com.br.orderservice.repository;
+
+import com.br.orderservice.enums.OutboxStatusEnum;
+import com.br.orderservice.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Locks the oldest pending events; rows locked by another relay instance and parked rows are skipped.
+     * A row is only returned when no older pending row of the same key is left outside the batch,
+     * so two instances never publish events of one order out of order.
+     */
+    @Query(value = """
+        WITH batch AS (
+            SELECT id, message_key FROM order_outbox
+            WHERE status = 'PENDING'
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        SELECT o.* FROM order_outbox o
+        JOIN batch b ON b.id = o.id
+        WHERE NOT EXISTS (
+            SELECT 1 FROM order_outbox older
+            WHERE older.message_key = b.message_key
+              AND older.status = 'PENDING'
+              AND older.id < b.id
+              AND older.id NOT IN (SELECT id FROM batch)
+        )
+        ORDER BY o.id
+        """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.publishedAt = :publishedAt, e.status = com.br.orderservice.enums.OutboxStatusEnum.PUBLISHED
+        WHERE e.id IN :ids
+        """)
+    int markPublished(@Param("ids") Collection<UUID> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query(value = "SELECT MIN(created_at) FROM order_outbox WHERE status = 'PENDING'", nativeQuery = true)
+    LocalDateTime findOldestPendingCreatedAt();
+
+    long countByStatus(OutboxStatusEnum status);
+}
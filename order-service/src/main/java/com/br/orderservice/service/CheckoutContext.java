@@ -0,0 +1,17 @@
+package com.br.orderservice.service;
+
+import com.br.orderservice.service.dto.AddressResponse;
+import com.br.orderservice.service.dto.ProductResponse;
+import com.br.orderservice.service.dto.UserResponse;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remote data a checkout is built from: the buyer, the shipping address and the active products by id.
+ */
+public record CheckoutContext(
+    UserResponse user,
+    AddressResponse address,
+    Map<UUID, ProductResponse> productsById
+) {}
@@ -0,0 +1,379 @@
+package com.br.orderservice.service;
+
+import com.br.orderservice.client.InventoryServiceClient;
+import com.br.orderservice.enums.CheckoutSagaStatusEnum;
+import com.br.orderservice.enums.CheckoutSagaStepEnum;
+import com.br.orderservice.enums.OrderStatusEnum;
+import com.br.orderservice.event.OrderCancelledEvent;
+import com.br.orderservice.event.OrderCreatedEvent;
+import com.br.orderservice.event.OrderCreatedItemEvent;
+import com.br.orderservice.event.OrderEventProducer;
+import com.br.orderservice.exception.BusinessException;
+import com.br.orderservice.exception.ResourceNotFoundException;
+import com.br.orderservice.model.CheckoutSaga;
+import com.br.orderservice.model.Order;
+import com.br.orderservice.model.OrderItem;
+import com.br.orderservice.model.OrderStatusHistory;
+import com.br.orderservice.repository.CheckoutSagaRepository;
+import com.br.orderservice.repository.OrderItemRepository;
+import com.br.orderservice.repository.OrderRepository;
+import com.br.orderservice.repository.OrderStatusHistoryRepository;
+import com.br.orderservice.service.dto.InventoryOrderRequest;
+import com.br.orderservice.service.dto.InventoryReserveItemRequest;
+import com.br.orderservice.service.dto.InventoryReserveRequest;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Drives a checkout through its steps and, when a step cannot succeed, through its compensations.
+ * Forward: RESERVE_STOCK -> CONFIRM_ORDER -> PUBLISH_ORDER_CREATED.
+ * Compensation: [RETRACT_ORDER_CREATED] -> RELEASE_STOCK -> CANCEL_ORDER.
+ * Every step is idempotent, so a step interrupted by a crash is simply run again when the saga is resumed.
+ * Events are written to the outbox in the same transaction that advances the saga.
+ * While a runner owns the saga, every save pushes its lease forward, so the resume job only claims it once the
+ * runner has released it (retry scheduled) or stalled past the lease; a stale runner then fails on the version check.
+ */
+@Slf4j
+@Service
+public class CheckoutSagaOrchestrator {
+
+    private static final String INTERNAL_CALL_HEADER_VALUE = "true";
+
+    private final CheckoutSagaRepository checkoutSagaRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+    private final InventoryServiceClient inventoryServiceClient;
+    private final OrderEventProducer orderEventProducer;
+    private final OrderViewProjector orderViewProjector;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer connectionHold;
+    private final int maxAttempts;
+    private final int maxCompensationAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final Duration lease;
+
+    public CheckoutSagaOrchestrator(
+        CheckoutSagaRepository checkoutSagaRepository,
+        OrderRepository orderRepository,
+        OrderItemRepository orderItemRepository,
+        OrderStatusHistoryRepository orderStatusHistoryRepository,
+        InventoryServiceClient inventoryServiceClient,
+        OrderEventProducer orderEventProducer,
+        OrderViewProjector orderViewProjector,
+        TransactionTemplate transactionTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${order.checkout.saga.max-attempts:5}") int maxAttempts,
+        @Value("${order.checkout.saga.max-compensation-attempts:20}") int maxCompensationAttempts,
+        @Value("${order.checkout.saga.backoff-ms:500}") long backoffMs,
+        @Value("${order.checkout.saga.max-backoff-ms:60000}") long maxBackoffMs,
+        @Value("${order.checkout.saga.lease-ms:30000}") long leaseMs
+    ) {
+        this.checkoutSagaRepository = checkoutSagaRepository;
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderStatusHistoryRepository = orderStatusHistoryRepository;
+        this.inventoryServiceClient = inventoryServiceClient;
+        this.orderEventProducer = orderEventProducer;
+        this.orderViewProjector = orderViewProjector;
+        this.transactionTemplate = transactionTemplate;
+        this.connectionHold = Timer.builder("order.checkout.connection.hold")
+            .description("Time a checkout holds a database connection across its local transactions")
+            .tag("phase", "saga")
+            .register(meterRegistry);
+        this.maxAttempts = maxAttempts;
+        this.maxCompensationAttempts = maxCompensationAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    /**
+     * Builds the initial state of a saga. The caller persists it together with the order,
+     * leased until {@code leaseUntil} so the resume job leaves it to the request that created it.
+     */
+    public CheckoutSaga start(UUID orderId, LocalDateTime leaseUntil) {
+        CheckoutSaga saga = new CheckoutSaga();
+        saga.setOrderId(orderId);
+        saga.setStatus(CheckoutSagaStatusEnum.RUNNING);
+        saga.setStep(CheckoutSagaStepEnum.RESERVE_STOCK);
+        saga.setAttempts(0);
+        saga.setNextAttemptAt(leaseUntil);
+        return saga;
+    }
+
+    /**
+     * Resumes a saga by id, used by the resume job after it leased the row.
+     */
+    public CheckoutSaga resume(UUID orderId) {
+        CheckoutSaga saga = checkoutSagaRepository.findById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("CheckoutSaga", orderId.toString()));
+        return run(saga);
+    }
+
+    /**
+     * Runs steps until the saga finishes or a step has to be retried later.
+     * Stops without touching the saga again when another runner took it over.
+     */
+    public CheckoutSaga run(CheckoutSaga saga) {
+        try {
+            while (!saga.isFinished()) {
+                CheckoutSagaStepEnum step = saga.getStep();
+                try {
+                    execute(saga, step);
+                } catch (OptimisticLockingFailureException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    if (!handleFailure(saga, step, e)) {
+                        break;
+                    }
+                }
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Checkout saga {} was taken over by another runner at {}", saga.getOrderId(), saga.getStep());
+        }
+        return saga;
+    }
+
+    private void execute(CheckoutSaga saga, CheckoutSagaStepEnum step) {
+        UUID orderId = saga.getOrderId();
+        switch (step) {
+            case RESERVE_STOCK -> {
+                reserveStock(orderId);
+                advance(saga, CheckoutSagaStepEnum.CONFIRM_ORDER);
+            }
+            case CONFIRM_ORDER -> inTransaction(saga, s -> {
+                transitionOrder(orderId, OrderStatusEnum.PENDING_PAYMENT, "Stock reserved");
+                moveTo(s, CheckoutSagaStepEnum.PUBLISH_ORDER_CREATED);
+            });
+            case PUBLISH_ORDER_CREATED -> inTransaction(saga, s -> {
+                Order order = findOrderOrThrow(orderId);
+                orderEventProducer.publishOrderCreated(toCreatedEvent(order, orderItemRepository.findByOrderId(orderId)));
+                moveTo(s, CheckoutSagaStepEnum.DONE);
+            });
+            case RETRACT_ORDER_CREATED -> inTransaction(saga, s -> {
+                orderEventProducer.publishOrderCancelled(new OrderCancelledEvent(
+                    UUID.randomUUID(),
+                    Instant.now(),
+                    orderId,
+                    "Checkout failed"
+                ));
+                moveTo(s, CheckoutSagaStepEnum.RELEASE_STOCK);
+            });
+            case RELEASE_STOCK -> {
+                releaseStock(orderId);
+                advance(saga, CheckoutSagaStepEnum.CANCEL_ORDER);
+            }
+            case CANCEL_ORDER -> inTransaction(saga, s -> {
+                transitionOrder(orderId, OrderStatusEnum.CANCELLED, normalizeError(s.getLastError()));
+                moveTo(s, CheckoutSagaStepEnum.DONE);
+            });
+            case DONE -> throw new IllegalStateException("Saga " + orderId + " has no step left to run");
+        }
+    }
+
+    /**
+     * Records a failed step. Returns true when the saga should keep running right away,
+     * false when the next attempt has been scheduled for later.
+     */
+    private boolean handleFailure(CheckoutSaga saga, CheckoutSagaStepEnum step, RuntimeException e) {
+        int attempts = saga.getAttempts() + 1;
+        String error = step + ": " + e.getMessage();
+        boolean compensating = saga.getStatus() == CheckoutSagaStatusEnum.COMPENSATING;
+
+        if (!compensating && (!isRetryable(e) || attempts >= maxAttempts)) {
+            log.warn("Checkout saga {} failed at {}, compensating: {}", saga.getOrderId(), step, e.getMessage());
+            saga.setStatus(CheckoutSagaStatusEnum.COMPENSATING);
+            saga.setStep(step == CheckoutSagaStepEnum.PUBLISH_ORDER_CREATED
+                ? CheckoutSagaStepEnum.RETRACT_ORDER_CREATED
+                : CheckoutSagaStepEnum.RELEASE_STOCK);
+            saga.setAttempts(0);
+            saga.setNextAttemptAt(leaseEnd());
+            saga.setLastError(error);
+            inTransaction(saga, s -> { });
+            return true;
+        }
+
+        if (compensating && attempts >= maxCompensationAttempts) {
+            log.error("Checkout saga {} could not run compensation {}, manual action required: {}",
+                saga.getOrderId(), step, e.getMessage());
+            saga.setStatus(CheckoutSagaStatusEnum.FAILED);
+        } else {
+            log.info("Checkout saga {} step {} failed (attempt {}), retrying: {}",
+                saga.getOrderId(), step, attempts, e.getMessage());
+        }
+        // Releases the saga: the resume job picks it up once the backoff has passed
+        saga.setAttempts(attempts);
+        saga.setNextAttemptAt(LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoff(attempts))));
+        if (!compensating) {
+            saga.setLastError(error);
+        }
+        inTransaction(saga, s -> { });
+        return false;
+    }
+
+    /**
+     * Business errors and 4xx answers will fail the same way on every attempt.
+     */
+    private boolean isRetryable(RuntimeException e) {
+        if (e instanceof BusinessException || e instanceof ResourceNotFoundException) {
+            return false;
+        }
+        if (e instanceof FeignException feignException) {
+            int status = feignException.status();
+            return status < 400 || status >= 500 || status == 408 || status == 429;
+        }
+        return true;
+    }
+
+    private long backoff(int attempts) {
+        int exponent = Math.min(attempts - 1, 20);
+        return Math.min(maxBackoffMs, backoffMs << exponent);
+    }
+
+    private void reserveStock(UUID orderId) {
+        List<InventoryReserveItemRequest> items = orderItemRepository.findByOrderId(orderId).stream()
+            .map(item -> new InventoryReserveItemRequest(item.getProductId(), item.getQuantity()))
+            .toList();
+        inventoryServiceClient.reserveStock(INTERNAL_CALL_HEADER_VALUE, new InventoryReserveRequest(orderId, items));
+    }
+
+    /**
+     * A 4xx answer means inventory-service holds no reservation for the order, which is the goal of this step.
+     */
+    private void releaseStock(UUID orderId) {
+        try {
+            inventoryServiceClient.releaseStock(INTERNAL_CALL_HEADER_VALUE, new InventoryOrderRequest(orderId));
+        } catch (FeignException e) {
+            if (isRetryable(e)) {
+                throw e;
+            }
+            log.debug("Nothing to release for order {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the order forward (to PENDING_PAYMENT) or back out of checkout (to CANCELLED).
+     * Re-running it after the order already reached the target status is a no-op.
+     */
+    private void transitionOrder(UUID orderId, OrderStatusEnum target, String notes) {
+        Order order = findOrderOrThrow(orderId);
+        OrderStatusEnum current = order.getStatus();
+        if (current == target) {
+            return;
+        }
+        boolean allowed = current == OrderStatusEnum.PENDING_RESERVATION
+            || (target == OrderStatusEnum.CANCELLED && current == OrderStatusEnum.PENDING_PAYMENT);
+        if (!allowed) {
+            throw new BusinessException("Order " + orderId + " can no longer move from " + current + " to " + target);
+        }
+
+        order.setStatus(target);
+        orderRepository.save(order);
+        orderViewProjector.refresh(order);
+
+        OrderStatusHistory history = new OrderStatusHistory();
+        history.setOrderId(orderId);
+        history.setFromStatus(current);
+        history.setToStatus(target);
+        history.setNotes(notes);
+        history.setCreatedBy(order.getUserId());
+        orderStatusHistoryRepository.save(history);
+    }
+
+    private void advance(CheckoutSaga saga, CheckoutSagaStepEnum next) {
+        inTransaction(saga, s -> moveTo(s, next));
+    }
+
+    private void moveTo(CheckoutSaga saga, CheckoutSagaStepEnum next) {
+        saga.setStep(next);
+        saga.setAttempts(0);
+        saga.setNextAttemptAt(leaseEnd());
+        if (next == CheckoutSagaStepEnum.DONE) {
+            saga.setStatus(saga.getStatus() == CheckoutSagaStatusEnum.COMPENSATING
+                ? CheckoutSagaStatusEnum.COMPENSATED
+                : CheckoutSagaStatusEnum.COMPLETED);
+        }
+    }
+
+    private LocalDateTime leaseEnd() {
+        return LocalDateTime.now().plus(lease);
+    }
+
+    /**
+     * Runs local work and persists the saga in one short transaction.
+     * The work is applied to a copy, so the in-memory saga only changes when the transaction commits.
+     */
+    private void inTransaction(CheckoutSaga saga, Consumer<CheckoutSaga> work) {
+        long start = System.nanoTime();
+        try {
+            CheckoutSaga saved = transactionTemplate.execute(status -> {
+                CheckoutSaga copy = new CheckoutSaga();
+                copyState(saga, copy);
+                work.accept(copy);
+                return checkoutSagaRepository.save(copy);
+            });
+            copyState(saved, saga);
+        } finally {
+            connectionHold.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void copyState(CheckoutSaga from, CheckoutSaga to) {
+        to.setOrderId(from.getOrderId());
+        to.setStatus(from.getStatus());
+        to.setStep(from.getStep());
+        to.setAttempts(from.getAttempts());
+        to.setNextAttemptAt(from.getNextAttemptAt());
+        to.setLastError(from.getLastError());
+        to.setVersion(from.getVersion());
+        to.setCreatedAt(from.getCreatedAt());
+        to.setUpdatedAt(from.getUpdatedAt());
+    }
+
+    private Order findOrderOrThrow(UUID orderId) {
+        return orderRepository.findById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Order", orderId.toString()));
+    }
+
+    private OrderCreatedEvent toCreatedEvent(Order order, List<OrderItem> items) {
+        List<OrderCreatedItemEvent> eventItems = items.stream()
+            .map(item -> new OrderCreatedItemEvent(
+                item.getProductId(),
+                item.getProductName(),
+                item.getProductSku(),
+                item.getQuantity(),
+                item.getUnitPrice(),
+                item.getTotalPrice()
+            ))
+            .toList();
+
+        return new OrderCreatedEvent(
+            UUID.randomUUID(),
+            Instant.now(),
+            order.getId(),
+            order.getUserId(),
+            eventItems,
+            order.getTotalAmount()
+        );
+    }
+
+    private String normalizeError(String error) {
+        return error == null || error.isBlank() ? "Checkout failed" : "Checkout failed: " + error;
+    }
+}
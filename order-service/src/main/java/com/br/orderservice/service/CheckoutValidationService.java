@@ -0,0 +1,153 @@
+package com.br.orderservice.service;
+
+import com.br.orderservice.client.ProductServiceClient;
+import com.br.orderservice.client.UserServiceClient;
+import com.br.orderservice.exception.BusinessException;
+import com.br.orderservice.exception.RemoteServiceException;
+import com.br.orderservice.service.dto.AddressResponse;
+import com.br.orderservice.service.dto.OrderItemRequest;
+import com.br.orderservice.service.dto.ProductResponse;
+import com.br.orderservice.service.dto.UserResponse;
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Loads and validates the remote data of a checkout.
+ * The user, address and product lookups are independent, so they run concurrently and the
+ * checkout waits for the slowest one instead of the sum of the three.
+ * A 4xx answer from a lookup is a bad request ({@link BusinessException}); a timeout, transport error or 5xx
+ * is an outage ({@link RemoteServiceException}) and the checkout can be retried.
+ * Giving up on a lookup does not stop its Feign call; the user-service and product-service clients
+ * have a read timeout equal to {@code order.checkout.remote-call-timeout-ms}, so an abandoned call ends soon after.
+ */
+@Service
+public class CheckoutValidationService {
+
+    private final UserServiceClient userServiceClient;
+    private final ProductServiceClient productServiceClient;
+    private final ExecutorService remoteCallExecutor;
+    private final long timeoutMs;
+
+    public CheckoutValidationService(
+        UserServiceClient userServiceClient,
+        ProductServiceClient productServiceClient,
+        @Qualifier("remoteCallExecutor") ExecutorService remoteCallExecutor,
+        @Value("${order.checkout.remote-call-timeout-ms:3000}") long timeoutMs
+    ) {
+        this.userServiceClient = userServiceClient;
+        this.productServiceClient = productServiceClient;
+        this.remoteCallExecutor = remoteCallExecutor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public CheckoutContext validate(UUID userId, UUID addressId, List<OrderItemRequest> items) {
+        CompletableFuture<UserResponse> user = call(() -> fetchUserOrThrow(userId));
+        CompletableFuture<AddressResponse> address = call(() -> fetchAddressOrThrow(userId, addressId));
+        CompletableFuture<List<ProductResponse>> products = call(() -> fetchAndValidateActiveProducts(items));
+
+        try {
+            return new CheckoutContext(
+                await(user, "user-service"),
+                await(address, "user-service"),
+                await(products, "product-service").stream()
+                    .collect(Collectors.toMap(ProductResponse::id, product -> product))
+            );
+        } finally {
+            // Only skips lookups still queued on the executor; a running Feign call is not interrupted
+            user.cancel(true);
+            address.cancel(true);
+            products.cancel(true);
+        }
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, remoteCallExecutor).orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T await(CompletableFuture<T> future, String service) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new RemoteServiceException("Timed out waiting for " + service);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RemoteServiceException("Problem calling " + service);
+        }
+    }
+
+    private UserResponse fetchUserOrThrow(UUID userId) {
+        try {
+            return userServiceClient.getCurrentUser(userId);
+        } catch (RuntimeException e) {
+            throw failure(e, "user-service", "Problem finding user to create an order");
+        }
+    }
+
+    private AddressResponse fetchAddressOrThrow(UUID userId, UUID addressId) {
+        try {
+            return userServiceClient.getAddressById(userId, addressId);
+        } catch (RuntimeException e) {
+            throw failure(e, "user-service", "Problem finding a valid address for the user");
+        }
+    }
+
+    /**
+     * Validates that all requested products exist and are active.
+     */
+    private List<ProductResponse> fetchAndValidateActiveProducts(List<OrderItemRequest> items) {
+        Set<UUID> requestedIds = items.stream()
+            .map(OrderItemRequest::getProductId)
+            .collect(Collectors.toSet());
+
+        List<ProductResponse> products;
+        try {
+            products = productServiceClient.getAllByListIds(new ArrayList<>(requestedIds));
+        } catch (RuntimeException e) {
+            throw failure(e, "product-service", "Problem fetching products from product-service");
+        }
+
+        Set<UUID> returnedIds = products.stream()
+            .map(ProductResponse::id)
+            .collect(Collectors.toSet());
+
+        if (returnedIds.size() != requestedIds.size()) {
+            Set<UUID> missing = new HashSet<>(requestedIds);
+            missing.removeAll(returnedIds);
+            throw new BusinessException("Some products are missing or inactive: " + missing);
+        }
+
+        return products;
+    }
+
+    /**
+     * 408 and 429 are answered by a busy service, so they count as outages like any 5xx.
+     */
+    private RuntimeException failure(RuntimeException e, String service, String badRequestMessage) {
+        if (e instanceof FeignException feignException) {
+            int status = feignException.status();
+            if (status >= 400 && status < 500 && status != 408 && status != 429) {
+                return new BusinessException(badRequestMessage);
+            }
+        }
+        return new RemoteServiceException("Problem calling " + service);
+    }
+}
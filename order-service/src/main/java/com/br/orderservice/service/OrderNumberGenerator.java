@@ -0,0 +1,136 @@
+package com.br.orderservice.service;
+
+import com.br.orderservice.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates order numbers as {@code TS-YYYYMMDD-XXXXX} without any coordination between instances.
+ * The suffix is 25 bits in Crockford base32: a 5-bit node id followed by a 20-bit per-day sequence.
+ * The sequence never falls behind the time of day (about 82 ms per step); bursts may run ahead of the clock,
+ * up to 1,048,576 numbers per node and day. Since a restart may happen while the sequence is ahead, a starting
+ * node resumes after the highest number it stored today.
+ * Each running instance needs its own {@code order.number.node-id}; there is no default, so an unconfigured
+ * instance fails to start instead of sharing node 0 with another one.
+ */
+@Service
+public class OrderNumberGenerator {
+
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 20;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+    // Rounded up so the last slot of a day still fits in the sequence
+    private static final long SLOT_NANOS = (NANOS_PER_DAY >> SEQUENCE_BITS) + 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int SUFFIX_LENGTH = 5;
+    private static final int PREFIX_LENGTH = "TS-YYYYMMDD-".length();
+
+    private final Clock clock;
+    private final int nodeId;
+    private final long nodePrefix;
+    // epochDay << SEQUENCE_BITS | sequence of the last issued number
+    private final AtomicLong last = new AtomicLong();
+    private volatile DayPrefix dayPrefix = new DayPrefix(Long.MIN_VALUE, null);
+
+    @Autowired
+    public OrderNumberGenerator(@Value("${order.number.node-id}") int nodeId, OrderRepository orderRepository) {
+        this(nodeId, Clock.systemDefaultZone());
+        resumeAfter(orderRepository.findMaxOrderNumberLike(numberPrefix(LocalDate.now(clock)) + "%"));
+    }
+
+    OrderNumberGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("order.number.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.clock = clock;
+        this.nodeId = nodeId;
+        this.nodePrefix = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    /**
+     * Makes the sequence continue after {@code number}, a number this node issued before.
+     * Numbers stay unique across a restart even when the sequence had run ahead of the clock.
+     */
+    void resumeAfter(String number) {
+        if (number == null) {
+            return;
+        }
+        if (number.length() != PREFIX_LENGTH + SUFFIX_LENGTH) {
+            throw new IllegalArgumentException("Invalid order number " + number);
+        }
+        LocalDate date = LocalDate.parse(number.substring(3, 11), DateTimeFormatter.BASIC_ISO_DATE);
+        if (!number.startsWith(numberPrefix(date))) {
+            throw new IllegalArgumentException("Order number " + number + " was not issued by node " + nodeId);
+        }
+
+        long sequence = 0;
+        for (int i = PREFIX_LENGTH + 1; i < number.length(); i++) {
+            sequence = sequence << 5 | decode(number.charAt(i));
+        }
+        long issued = (date.toEpochDay() << SEQUENCE_BITS) | sequence;
+        last.accumulateAndGet(issued, Math::max);
+    }
+
+    public String next() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        long day = now.toLocalDate().toEpochDay();
+        long floor = (day << SEQUENCE_BITS) | (now.toLocalTime().toNanoOfDay() / SLOT_NANOS);
+
+        long issued = last.updateAndGet(previous -> Math.max(previous + 1, floor));
+        long issuedDay = issued >>> SEQUENCE_BITS;
+        // A later day is either a concurrent call that already saw midnight, or the sequence of today overflowing
+        if (issuedDay > day && issuedDay > LocalDate.now(clock).toEpochDay()) {
+            throw new IllegalStateException("Order numbers exhausted for this node on " + LocalDate.ofEpochDay(day));
+        }
+        return render(issuedDay, nodePrefix | (issued & SEQUENCE_MASK));
+    }
+
+    private String render(long epochDay, long suffix) {
+        DayPrefix prefix = dayPrefix;
+        if (prefix.epochDay() != epochDay) {
+            prefix = new DayPrefix(epochDay, toPrefix(LocalDate.ofEpochDay(epochDay)));
+            dayPrefix = prefix;
+        }
+
+        char[] chars = new char[prefix.chars().length + SUFFIX_LENGTH];
+        System.arraycopy(prefix.chars(), 0, chars, 0, prefix.chars().length);
+        for (int i = chars.length - 1; i >= prefix.chars().length; i--) {
+            chars[i] = ALPHABET[(int) (suffix & 31)];
+            suffix >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Date prefix plus the first suffix character, which is exactly the 5-bit node id.
+     */
+    private String numberPrefix(LocalDate date) {
+        return new String(toPrefix(date)) + ALPHABET[nodeId];
+    }
+
+    private static long decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Invalid order number character " + c);
+    }
+
+    private static char[] toPrefix(LocalDate date) {
+        return String.format("TS-%04d%02d%02d-", date.getYear(), date.getMonthValue(), date.getDayOfMonth()).toCharArray();
+    }
+
+    private record DayPrefix(long epochDay, char[] chars) {
+    }
+}
@@ -1,157 +1,302 @@
 package com.br.orderservice.service;
 
 import com.br.orderservice.client.InventoryServiceClient;
-import com.br.orderservice.client.ProductServiceClient;
-import com.br.orderservice.client.UserServiceClient;
+import com.br.orderservice.enums.CheckoutSagaStatusEnum;
 import com.br.orderservice.enums.OrderStatusEnum;
+import com.br.orderservice.event.CheckoutRequestedCommand;
+import com.br.orderservice.event.CheckoutRequestedItem;
 import com.br.orderservice.event.OrderCancelledEvent;
-import com.br.orderservice.event.OrderCreatedEvent;
-import com.br.orderservice.event.OrderCreatedItemEvent;
 import com.br.orderservice.event.OrderEventProducer;
 import com.br.orderservice.event.OrderPaidEvent;
 import com.br.orderservice.event.OrderShippedEvent;
 import com.br.orderservice.exception.BusinessException;
 import com.br.orderservice.exception.ForbiddenException;
+import com.br.orderservice.exception.RemoteServiceException;
 import com.br.orderservice.exception.ResourceNotFoundException;
+import com.br.orderservice.model.CheckoutSaga;
 import com.br.orderservice.model.Order;
 import com.br.orderservice.model.OrderItem;
 import com.br.orderservice.model.OrderStatusHistory;
+import com.br.orderservice.model.OrderView;
+import com.br.orderservice.repository.CheckoutSagaRepository;
 import com.br.orderservice.repository.OrderItemRepository;
 import com.br.orderservice.repository.OrderRepository;
 import com.br.orderservice.repository.OrderStatusHistoryRepository;
-import com.br.orderservice.service.dto.AddressResponse;
+import com.br.orderservice.repository.OrderStatusView;
+import com.br.orderservice.repository.OrderViewRepository;
+import com.br.orderservice.service.dto.BulkUpdateOrderStatusRequest;
+import com.br.orderservice.service.dto.BulkUpdateOrderStatusResponse;
+import com.br.orderservice.service.dto.CheckoutAcceptedResponse;
 import com.br.orderservice.service.dto.CreateOrderRequest;
 import com.br.orderservice.service.dto.InventoryOrderRequest;
-import com.br.orderservice.service.dto.InventoryReserveItemRequest;
-import com.br.orderservice.service.dto.InventoryReserveRequest;
 import com.br.orderservice.service.dto.OrderItemRequest;
 import com.br.orderservice.service.dto.OrderResponse;
+import com.br.orderservice.service.dto.OrderScrollResponse;
+import com.br.orderservice.service.dto.OrderStatusHistoryResponse;
+import com.br.orderservice.service.dto.OrderStatusResponse;
 import com.br.orderservice.service.dto.ProductResponse;
 import com.br.orderservice.service.dto.UpdateOrderStatusRequest;
-import com.br.orderservice.service.dto.UserResponse;
 import com.br.orderservice.service.mapper.OrderMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class OrderService {
 
     private static final String INTERNAL_CALL_HEADER_VALUE = "true";
-    private static final String ORDER_NUMBER_PREFIX = "TS";
+    private static final int MAX_SCROLL_SIZE = 100;
+    // Targets whose only side effect is what bulkUpdateOrderStatus writes itself
+    private static final Set<OrderStatusEnum> BULK_TARGETS =
+        EnumSet.of(OrderStatusEnum.PROCESSING, OrderStatusEnum.SHIPPED, OrderStatusEnum.DELIVERED);
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderStatusHistoryRepository orderStatusHistoryRepository;
     private final OrderMapper orderMapper;
-    private final UserServiceClient userServiceClient;
-    private final ProductServiceClient productServiceClient;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderViewProjector orderViewProjector;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final CheckoutValidationService checkoutValidationService;
+    private final CheckoutSagaOrchestrator checkoutSagaOrchestrator;
+    private final CheckoutSagaRepository checkoutSagaRepository;
     private final InventoryServiceClient inventoryServiceClient;
     private final OrderEventProducer orderEventProducer;
     private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer checkoutConnectionHold;
+    private final Duration sagaLease;
 
     public OrderService(
         OrderRepository orderRepository,
         OrderItemRepository orderItemRepository,
         OrderStatusHistoryRepository orderStatusHistoryRepository,
         OrderMapper orderMapper,
-        UserServiceClient userServiceClient,
-        ProductServiceClient productServiceClient,
+        OrderViewRepository orderViewRepository,
+        OrderViewProjector orderViewProjector,
+        OrderNumberGenerator orderNumberGenerator,
+        CheckoutValidationService checkoutValidationService,
+        CheckoutSagaOrchestrator checkoutSagaOrchestrator,
+        CheckoutSagaRepository checkoutSagaRepository,
         InventoryServiceClient inventoryServiceClient,
         OrderEventProducer orderEventProducer,
-        ObjectMapper objectMapper
+        ObjectMapper objectMapper,
+        TransactionTemplate transactionTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${order.checkout.saga.lease-ms:30000}") long sagaLeaseMs
     ) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.orderStatusHistoryRepository = orderStatusHistoryRepository;
         this.orderMapper = orderMapper;
-        this.userServiceClient = userServiceClient;
-        this.productServiceClient = productServiceClient;
+        this.orderViewRepository = orderViewRepository;
+        this.orderViewProjector = orderViewProjector;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.checkoutValidationService = checkoutValidationService;
+        this.checkoutSagaOrchestrator = checkoutSagaOrchestrator;
+        this.checkoutSagaRepository = checkoutSagaRepository;
         this.inventoryServiceClient = inventoryServiceClient;
         this.orderEventProducer = orderEventProducer;
         this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.checkoutConnectionHold = Timer.builder("order.checkout.connection.hold")
+            .description("Time a checkout holds a database connection across its local transactions")
+            .tag("phase", "create")
+            .register(meterRegistry);
+        this.sagaLease = Duration.ofMillis(sagaLeaseMs);
     }
 
     /**
      * Creates an order using snapshots for address and product data.
+     * Remote validation runs outside of any transaction; the order, its items and its checkout saga are
+     * saved in one short transaction, then the saga reserves stock, confirms and announces the order.
      */
-    @Transactional
     public OrderResponse createOrder(UUID userId, CreateOrderRequest request) {
-        if (userId == null) {
-            throw new BusinessException("User id must not be null");
-        }
-        if (request.getItems() == null || request.getItems().isEmpty()) {
-            throw new BusinessException("To create an order, at least one item is required");
-        }
-        request.getItems().forEach(item -> {
-            if (item.getQuantity() == null || item.getQuantity() <= 0) {
-                throw new BusinessException("Quantity for each item must be greater than 0");
-            }
-        });
+        validateCreateRequest(userId, request);
 
-        UserResponse user = fetchUserOrThrow(userId);
-        AddressResponse address = fetchAddressOrThrow(userId, request.getAddressId());
-        String shippingAddressSnapshot = toJson(address);
+        CheckoutContext checkout = checkoutValidationService.validate(userId, request.getAddressId(), request.getItems());
 
-        List<ProductResponse> activeProducts = fetchAndValidateActiveProducts(request.getItems());
-        Map<UUID, ProductResponse> productById = activeProducts.stream()
-            .collect(Collectors.toMap(ProductResponse::id, product -> product));
+        Order order = new Order();
+        order.setUserId(checkout.user().id());
+        order.setOrderNumber(orderNumberGenerator.next());
+        order.setNotes(request.getNotes());
+        List<OrderItem> orderItems = applyCheckout(order, checkout, request.getItems());
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        List<OrderItem> orderItems = new ArrayList<>();
+        long start = System.nanoTime();
+        CreatedOrder created = transactionTemplate.execute(status -> persistForReservation(order, orderItems, null));
+        checkoutConnectionHold.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-        for (OrderItemRequest requestedItem : request.getItems()) {
-            ProductResponse product = productById.get(requestedItem.getProductId());
-            BigDecimal itemTotal = product.price().multiply(BigDecimal.valueOf(requestedItem.getQuantity()));
+        CheckoutSaga saga = checkoutSagaOrchestrator.run(created.saga());
+        if (saga.getStatus() != CheckoutSagaStatusEnum.RUNNING && saga.getStatus() != CheckoutSagaStatusEnum.COMPLETED) {
+            throw new BusinessException("Problem creating the order: " + saga.getLastError());
+        }
 
-            OrderItem orderItem = new OrderItem();
-            orderItem.setProductId(product.id());
-            orderItem.setProductName(product.name());
-            orderItem.setProductSku(product.sku());
-            orderItem.setQuantity(requestedItem.getQuantity());
-            orderItem.setUnitPrice(product.price());
-            orderItem.setTotalPrice(itemTotal);
-            orderItems.add(orderItem);
+        // A saga still RUNNING is waiting for a retry; the order is returned as PENDING_RESERVATION.
+        return orderMapper.toResponse(findOrderOrThrow(created.order().getId()), created.items());
+    }
 
-            totalAmount = totalAmount.add(itemTotal);
-        }
+    /**
+     * Accepts a checkout without calling any other service: the order is stored as PENDING_VALIDATION
+     * and a checkout command is written to the outbox with it. Validation, pricing and reservation happen in
+     * {@link #completeCheckout(CheckoutRequestedCommand)} when the command is consumed.
+     */
+    public CheckoutAcceptedResponse submitCheckout(UUID userId, CreateOrderRequest request) {
+        validateCreateRequest(userId, request);
 
         Order order = new Order();
-        order.setUserId(user.id());
-        order.setOrderNumber(generateOrderNumber());
-        order.setStatus(OrderStatusEnum.PENDING_PAYMENT);
-        order.setTotalAmount(totalAmount);
-        order.setShippingAddress(shippingAddressSnapshot);
+        order.setUserId(userId);
+        order.setOrderNumber(orderNumberGenerator.next());
+        order.setStatus(OrderStatusEnum.PENDING_VALIDATION);
+        // Placeholders until the products and address are validated
+        order.setTotalAmount(BigDecimal.ZERO);
+        order.setShippingAddress("{}");
         order.setNotes(request.getNotes());
 
-        Order savedOrder = orderRepository.save(order);
+        List<CheckoutRequestedItem> items = request.getItems().stream()
+            .map(item -> new CheckoutRequestedItem(item.getProductId(), item.getQuantity()))
+            .toList();
 
-        for (OrderItem item : orderItems) {
-            item.setOrderId(savedOrder.getId());
+        long start = System.nanoTime();
+        Order saved = transactionTemplate.execute(status -> {
+            Order persisted = orderRepository.save(order);
+            saveStatusHistory(persisted.getId(), null, OrderStatusEnum.PENDING_VALIDATION, "Checkout accepted", userId);
+            orderViewProjector.refresh(persisted, List.of());
+            // The command is queued in the same transaction, so an accepted order is never left without one
+            orderEventProducer.publishCheckoutRequested(new CheckoutRequestedCommand(
+                UUID.randomUUID(),
+                Instant.now(),
+                persisted.getId(),
+                userId,
+                request.getAddressId(),
+                items,
+                request.getNotes()
+            ));
+            return persisted;
+        });
+        checkoutConnectionHold.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return new CheckoutAcceptedResponse(saved.getId(), saved.getOrderNumber(), saved.getStatus());
+    }
+
+    /**
+     * Completes an accepted checkout. Redelivered commands for orders that already left
+     * PENDING_VALIDATION are ignored. Only invalid input (a {@link BusinessException}) cancels the order;
+     * downstream outages ({@link RemoteServiceException}) propagate so the command is retried.
+     */
+    public void completeCheckout(CheckoutRequestedCommand command) {
+        Order pending = orderRepository.findById(command.orderId()).orElse(null);
+        if (pending == null || pending.getStatus() != OrderStatusEnum.PENDING_VALIDATION) {
+            return;
+        }
+
+        List<OrderItemRequest> requestedItems = command.items().stream()
+            .map(item -> {
+                OrderItemRequest request = new OrderItemRequest();
+                request.setProductId(item.productId());
+                request.setQuantity(item.quantity());
+                return request;
+            })
+            .toList();
+
+        CheckoutContext checkout;
+        try {
+            checkout = checkoutValidationService.validate(command.userId(), command.addressId(), requestedItems);
+        } catch (BusinessException e) {
+            failCheckout(command.orderId(), e.getMessage());
+            return;
+        }
+
+        long start = System.nanoTime();
+        CreatedOrder created = transactionTemplate.execute(status -> {
+            Order order = findOrderOrThrow(command.orderId());
+            if (order.getStatus() != OrderStatusEnum.PENDING_VALIDATION) {
+                return null;
+            }
+            List<OrderItem> orderItems = applyCheckout(order, checkout, requestedItems);
+            return persistForReservation(order, orderItems, OrderStatusEnum.PENDING_VALIDATION);
+        });
+        checkoutConnectionHold.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (created != null) {
+            checkoutSagaOrchestrator.run(created.saga());
         }
-        List<OrderItem> savedItems = orderItemRepository.saveAll(orderItems);
+    }
 
-        saveStatusHistory(savedOrder.getId(), null, OrderStatusEnum.PENDING_PAYMENT, "Order created", user.id());
+    /**
+     * Cancels a checkout that could not be validated. No-op once the order left PENDING_VALIDATION.
+     */
+    public void failCheckout(UUID orderId, String reason) {
+        transactionTemplate.executeWithoutResult(status -> orderRepository.findById(orderId)
+            .filter(order -> order.getStatus() == OrderStatusEnum.PENDING_VALIDATION)
+            .ifPresent(order -> {
+                order.setStatus(OrderStatusEnum.CANCELLED);
+                orderRepository.save(order);
+                saveStatusHistory(
+                    orderId,
+                    OrderStatusEnum.PENDING_VALIDATION,
+                    OrderStatusEnum.CANCELLED,
+                    normalizeNotes(reason, "Checkout failed"),
+                    order.getUserId()
+                );
+                // A checkout that never got validated has no items
+                orderViewProjector.refresh(order, List.of());
+            }));
+    }
 
-        reserveStock(savedOrder.getId(), request.getItems());
-        publishOrderCreatedEvent(savedOrder, savedItems);
+    /**
+     * Returns only the status of an order, for clients polling an accepted checkout.
+     */
+    @Transactional(readOnly = true)
+    public OrderStatusResponse getOrderStatus(UUID orderId, UUID userId, String role) {
+        OrderStatusView view = orderRepository.findStatusById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Order", orderId.toString()));
+        if (!isAdmin(role) && !view.getUserId().equals(userId)) {
+            throw new ForbiddenException("Access denied");
+        }
+        return new OrderStatusResponse(view.getId(), view.getOrderNumber(), view.getStatus(), view.getUpdatedAt());
+    }
 
-        return orderMapper.toResponse(savedOrder, savedItems);
+    /**
+     * Returns the status timeline of an order, oldest first, if caller is owner or admin.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderStatusHistoryResponse> getOrderHistory(UUID orderId, UUID userId, String role) {
+        OrderStatusView view = orderRepository.findStatusById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Order", orderId.toString()));
+        if (!isAdmin(role) && !view.getUserId().equals(userId)) {
+            throw new ForbiddenException("Access denied");
+        }
+        return orderStatusHistoryRepository.findByOrderIdOrderByCreatedAtAscIdAsc(orderId).stream()
+            .map(history -> new OrderStatusHistoryResponse(
+                history.getFromStatus(),
+                history.getToStatus(),
+                history.getNotes(),
+                history.getCreatedAt(),
+                history.getCreatedBy()
+            ))
+            .toList();
     }
 
     /**
@@ -159,8 +304,7 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public Page<OrderResponse> listMyOrders(UUID userId, Pageable pageable) {
-        return orderRepository.findByUserId(userId, pageable)
-            .map(this::toResponseWithItems);
+        return toResponsesWithItems(orderRepository.findByUserId(userId, pageable));
     }
 
     /**
@@ -168,17 +312,61 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public Page<OrderResponse> listAllOrders(Pageable pageable) {
-        return orderRepository.findAll(pageable).map(this::toResponseWithItems);
+        return toResponsesWithItems(orderRepository.findAll(pageable));
+    }
+
+    /**
+     * Returns the orders of the authenticated user newest first, continuing after {@code cursor}.
+     * Walks the (user_id, created_at, id) index and never counts the user's orders.
+     */
+    @Transactional(readOnly = true)
+    public OrderScrollResponse scrollMyOrders(UUID userId, String cursor, int size) {
+        Limit limit = scrollLimit(size);
+        if (cursor == null || cursor.isBlank()) {
+            return toScrollResponse(orderRepository.findLatestByUserId(userId, limit), size);
+        }
+        OrderCursor after = OrderCursor.decode(cursor);
+        return toScrollResponse(orderRepository.findLatestByUserIdAfter(userId, after.createdAt(), after.id(), limit), size);
+    }
+
+    /**
+     * Returns all orders for admins newest first, optionally filtered by status, continuing after {@code cursor}.
+     */
+    @Transactional(readOnly = true)
+    public OrderScrollResponse scrollAllOrders(OrderStatusEnum status, String cursor, int size) {
+        Limit limit = scrollLimit(size);
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        List<Order> orders;
+        if (status == null) {
+            orders = after == null
+                ? orderRepository.findLatest(limit)
+                : orderRepository.findLatestAfter(after.createdAt(), after.id(), limit);
+        } else {
+            orders = after == null
+                ? orderRepository.findLatestByStatus(status, limit)
+                : orderRepository.findLatestByStatusAfter(status, after.createdAt(), after.id(), limit);
+        }
+        return toScrollResponse(orders, size);
     }
 
     /**
-     * Returns one order if caller is owner or admin.
+     * Returns the pre-rendered JSON of one order if caller is owner or admin: a single primary-key read
+     * of the order view. Orders without a view yet are rendered from the order tables without storing it;
+     * {@code OrderViewBackfillJob} writes the missing views.
      */
     @Transactional(readOnly = true)
-    public OrderResponse getOrderById(UUID orderId, UUID userId, String role) {
+    public String getOrderJson(UUID orderId, UUID userId, String role) {
+        OrderView view = orderViewRepository.findById(orderId).orElse(null);
+        if (view != null) {
+            if (!isAdmin(role) && !view.getUserId().equals(userId)) {
+                throw new ForbiddenException("Access denied");
+            }
+            return view.getBody();
+        }
+
         Order order = findOrderOrThrow(orderId);
         validateOwnerOrAdmin(order, userId, role);
-        return toResponseWithItems(order);
+        return orderViewProjector.renderJson(order);
     }
 
     /**
@@ -227,7 +415,7 @@ public class OrderService {
             normalizeNotes(reason, "Order cancelled")
         ));
 
-        return toResponseWithItems(saved);
+        return orderViewProjector.refresh(saved);
     }
 
     /**
@@ -262,7 +450,50 @@ public class OrderService {
             ));
         }
 
-        return toResponseWithItems(saved);
+        return orderViewProjector.refresh(saved);
+    }
+
+    /**
+     * Moves many orders from one status to another for admins, e.g. a warehouse run PROCESSING -> SHIPPED.
+     * Orders are moved by one set-based update; their history rows and events are written in JDBC batches
+     * and their views are dropped, to be rendered again on the next read.
+     * Orders not found or no longer in {@code fromStatus} are skipped and reported.
+     * Only PROCESSING, SHIPPED and DELIVERED can be set in bulk; the other targets release or confirm stock or
+     * publish their own events, so they go through the single-order endpoints.
+     */
+    @Transactional
+    public BulkUpdateOrderStatusResponse bulkUpdateOrderStatus(UUID actorId, BulkUpdateOrderStatusRequest request) {
+        OrderStatusEnum from = request.getFromStatus();
+        OrderStatusEnum to = request.getToStatus();
+        if (!isTransitionAllowed(from, to)) {
+            throw new BusinessException("Invalid status transition: " + from + " -> " + to);
+        }
+        if (!BULK_TARGETS.contains(to)) {
+            throw new BusinessException("Status " + to + " can only be set one order at a time");
+        }
+
+        List<UUID> orderIds = request.getOrderIds().stream().distinct().toList();
+        List<UUID> updated = orderRepository.transitionAll(orderIds, from.name(), to.name(), LocalDateTime.now());
+
+        String notes = normalizeNotes(request.getNotes(), "Status updated in bulk");
+        List<OrderStatusHistory> histories = new ArrayList<>(updated.size());
+        for (UUID orderId : updated) {
+            histories.add(newStatusHistory(orderId, from, to, notes, actorId));
+            if (to == OrderStatusEnum.SHIPPED) {
+                orderEventProducer.publishOrderShipped(new OrderShippedEvent(
+                    UUID.randomUUID(),
+                    Instant.now(),
+                    orderId,
+                    "TRACKING_PENDING"
+                ));
+            }
+        }
+        orderStatusHistoryRepository.saveAll(histories);
+        orderViewRepository.deleteAllByIdInBatch(updated);
+
+        Set<UUID> updatedIds = new HashSet<>(updated);
+        List<UUID> skipped = orderIds.stream().filter(id -> !updatedIds.contains(id)).toList();
+        return new BulkUpdateOrderStatusResponse(to, updated.size(), skipped);
     }
 
     private boolean isTransitionAllowed(OrderStatusEnum current, OrderStatusEnum next) {
@@ -296,25 +527,45 @@ public class OrderService {
         return "ADMIN".equalsIgnoreCase(role);
     }
 
-    private OrderResponse toResponseWithItems(Order order) {
-        List<OrderItem> items = orderItemRepository.findByOrderId(order.getId());
-        return orderMapper.toResponse(order, items);
+    /**
+     * Maps a page of orders loading the items of the whole page in one query,
+     * instead of one query per order.
+     */
+    private Page<OrderResponse> toResponsesWithItems(Page<Order> orders) {
+        Map<UUID, List<OrderItem>> itemsByOrder = loadItemsByOrder(orders.getContent());
+        return orders.map(order -> orderMapper.toResponse(order, itemsByOrder.getOrDefault(order.getId(), List.of())));
     }
 
-    private UserResponse fetchUserOrThrow(UUID userId) {
-        try {
-            return userServiceClient.getCurrentUser(userId);
-        } catch (RuntimeException e) {
-            throw new BusinessException("Problem finding user to create an order");
+    // One extra row tells whether another slice follows without counting.
+    private Limit scrollLimit(int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BusinessException("Size must be between 1 and " + MAX_SCROLL_SIZE);
         }
+        return Limit.of(size + 1);
     }
 
-    private AddressResponse fetchAddressOrThrow(UUID userId, UUID addressId) {
-        try {
-            return userServiceClient.getAddressById(userId, addressId);
-        } catch (RuntimeException e) {
-            throw new BusinessException("Problem finding a valid address for the user");
+    private OrderScrollResponse toScrollResponse(List<Order> orders, int size) {
+        boolean hasNext = orders.size() > size;
+        List<Order> slice = hasNext ? orders.subList(0, size) : orders;
+        Map<UUID, List<OrderItem>> itemsByOrder = loadItemsByOrder(slice);
+        List<OrderResponse> content = slice.stream()
+            .map(order -> orderMapper.toResponse(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+            .toList();
+        String nextCursor = hasNext ? OrderCursor.of(slice.getLast()).encode() : null;
+        return new OrderScrollResponse(content, nextCursor, hasNext);
+    }
+
+    private Map<UUID, List<OrderItem>> loadItemsByOrder(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UUID> orderIds = orders.stream().map(Order::getId).toList();
+        Map<UUID, List<OrderItem>> itemsByOrder = HashMap.newHashMap(orderIds.size());
+        for (OrderItem item : orderItemRepository.findByOrderIdIn(orderIds)) {
+            itemsByOrder.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>()).add(item);
         }
+        return itemsByOrder;
     }
 
     private String toJson(Object value) {
@@ -325,38 +576,73 @@ public class OrderService {
         }
     }
 
+    private void validateCreateRequest(UUID userId, CreateOrderRequest request) {
+        if (userId == null) {
+            throw new BusinessException("User id must not be null");
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new BusinessException("To create an order, at least one item is required");
+        }
+        request.getItems().forEach(item -> {
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new BusinessException("Quantity for each item must be greater than 0");
+            }
+        });
+    }
+
     /**
-     * Validates that all requested products exist and are active.
+     * Fills the order with the validated address snapshot and authoritative prices,
+     * and returns its items.
      */
-    private List<ProductResponse> fetchAndValidateActiveProducts(List<OrderItemRequest> items) {
-        Set<UUID> requestedIds = items.stream()
-            .map(OrderItemRequest::getProductId)
-            .collect(Collectors.toSet());
-
-        List<ProductResponse> products = productServiceClient.getAllByListIds(new ArrayList<>(requestedIds));
-        Set<UUID> returnedIds = products.stream()
-            .map(ProductResponse::id)
-            .collect(Collectors.toSet());
-
-        if (returnedIds.size() != requestedIds.size()) {
-            Set<UUID> missing = new HashSet<>(requestedIds);
-            missing.removeAll(returnedIds);
-            throw new BusinessException("Some products are missing or inactive: " + missing);
+    private List<OrderItem> applyCheckout(Order order, CheckoutContext checkout, List<OrderItemRequest> requestedItems) {
+        Map<UUID, ProductResponse> productById = checkout.productsById();
+
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        List<OrderItem> orderItems = new ArrayList<>();
+
+        for (OrderItemRequest requestedItem : requestedItems) {
+            ProductResponse product = productById.get(requestedItem.getProductId());
+            BigDecimal itemTotal = product.price().multiply(BigDecimal.valueOf(requestedItem.getQuantity()));
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProductId(product.id());
+            orderItem.setProductName(product.name());
+            orderItem.setProductSku(product.sku());
+            orderItem.setQuantity(requestedItem.getQuantity());
+            orderItem.setUnitPrice(product.price());
+            orderItem.setTotalPrice(itemTotal);
+            orderItems.add(orderItem);
+
+            totalAmount = totalAmount.add(itemTotal);
         }
 
-        return products;
+        order.setShippingAddress(toJson(checkout.address()));
+        order.setTotalAmount(totalAmount);
+        order.setStatus(OrderStatusEnum.PENDING_RESERVATION);
+        return orderItems;
     }
 
     /**
-     * Calls inventory service to reserve stock for all order items.
+     * Saves a validated order with its items, history and a new checkout saga. Runs inside the caller's transaction.
      */
-    private void reserveStock(UUID orderId, List<OrderItemRequest> items) {
-        List<InventoryReserveItemRequest> reserveItems = items.stream()
-            .map(item -> new InventoryReserveItemRequest(item.getProductId(), item.getQuantity()))
-            .toList();
-
-        InventoryReserveRequest reserveRequest = new InventoryReserveRequest(orderId, reserveItems);
-        inventoryServiceClient.reserveStock(INTERNAL_CALL_HEADER_VALUE, reserveRequest);
+    private CreatedOrder persistForReservation(Order order, List<OrderItem> orderItems, OrderStatusEnum fromStatus) {
+        Order persisted = orderRepository.save(order);
+        for (OrderItem item : orderItems) {
+            item.setOrderId(persisted.getId());
+        }
+        List<OrderItem> persistedItems = orderItemRepository.saveAll(orderItems);
+        orderViewProjector.refresh(persisted, persistedItems);
+        saveStatusHistory(
+            persisted.getId(),
+            fromStatus,
+            OrderStatusEnum.PENDING_RESERVATION,
+            fromStatus == null ? "Order created" : "Checkout validated",
+            persisted.getUserId()
+        );
+        CheckoutSaga saga = checkoutSagaRepository.save(
+            checkoutSagaOrchestrator.start(persisted.getId(), LocalDateTime.now().plus(sagaLease))
+        );
+        return new CreatedOrder(persisted, persistedItems, saga);
     }
 
     private void saveStatusHistory(
@@ -365,6 +651,16 @@ public class OrderService {
         OrderStatusEnum toStatus,
         String notes,
         UUID createdBy
+    ) {
+        orderStatusHistoryRepository.save(newStatusHistory(orderId, fromStatus, toStatus, notes, createdBy));
+    }
+
+    private OrderStatusHistory newStatusHistory(
+        UUID orderId,
+        OrderStatusEnum fromStatus,
+        OrderStatusEnum toStatus,
+        String notes,
+        UUID createdBy
     ) {
         OrderStatusHistory history = new OrderStatusHistory();
         history.setOrderId(orderId);
@@ -372,29 +668,7 @@ public class OrderService {
         history.setToStatus(toStatus);
         history.setNotes(notes);
         history.setCreatedBy(createdBy);
-        orderStatusHistoryRepository.save(history);
-    }
-
-    private void publishOrderCreatedEvent(Order order, List<OrderItem> items) {
-        List<OrderCreatedItemEvent> eventItems = items.stream()
-            .map(item -> new OrderCreatedItemEvent(
-                item.getProductId(),
-                item.getProductName(),
-                item.getProductSku(),
-                item.getQuantity(),
-                item.getUnitPrice(),
-                item.getTotalPrice()
-            ))
-            .toList();
-
-        orderEventProducer.publishOrderCreated(new OrderCreatedEvent(
-            UUID.randomUUID(),
-            Instant.now(),
-            order.getId(),
-            order.getUserId(),
-            eventItems,
-            order.getTotalAmount()
-        ));
+        return history;
     }
 
     private String normalizeNotes(String notes, String fallback) {
@@ -404,9 +678,6 @@ public class OrderService {
         return notes;
     }
 
-    private String generateOrderNumber() {
-        String datePart = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
-        String randomPart = UUID.randomUUID().toString().replace("-", "").substring(0, 5).toUpperCase();
-        return ORDER_NUMBER_PREFIX + "-" + datePart + "-" + randomPart;
+    private record CreatedOrder(Order order, List<OrderItem> items, CheckoutSaga saga) {
     }
 }
@@ -0,0 +1,90 @@
+package com.br.orderservice.service;
+
+import com.br.orderservice.exception.BusinessException;
+import com.br.orderservice.model.Order;
+import com.br.orderservice.model.OrderItem;
+import com.br.orderservice.repository.OrderItemRepository;
+import com.br.orderservice.repository.OrderViewRepository;
+import com.br.orderservice.service.dto.OrderResponse;
+import com.br.orderservice.service.mapper.OrderMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maintains the {@code order_view} read model. Every change to an order calls {@link #refresh}
+ * inside the transaction that made it, so the view commits or rolls back with the order.
+ */
+@Service
+public class OrderViewProjector {
+
+    private final OrderViewRepository orderViewRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+
+    public OrderViewProjector(
+        OrderViewRepository orderViewRepository,
+        OrderItemRepository orderItemRepository,
+        OrderMapper orderMapper,
+        ObjectMapper objectMapper
+    ) {
+        this.orderViewRepository = orderViewRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderMapper = orderMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Re-renders the view of an order whose items did not change, and returns the response it holds.
+     */
+    public OrderResponse refresh(Order order) {
+        return refresh(order, orderItemRepository.findByOrderId(order.getId()));
+    }
+
+    /**
+     * Re-renders the view of an order from the given items, and returns the response it holds.
+     */
+    public OrderResponse refresh(Order order, List<OrderItem> items) {
+        OrderResponse response = render(order, items);
+        store(order, response);
+        return response;
+    }
+
+    /**
+     * Renders the JSON the view of an order would hold, without storing it.
+     */
+    public String renderJson(Order order) {
+        return serialize(order, orderMapper.toResponse(order, orderItemRepository.findByOrderId(order.getId())));
+    }
+
+    /**
+     * Stores the view of an order that has none yet. A view written meanwhile by a change to the order is kept,
+     * since it may be newer than what was rendered here.
+     */
+    public void rebuild(Order order) {
+        String body = serialize(order, render(order, orderItemRepository.findByOrderId(order.getId())));
+        orderViewRepository.insertIfAbsent(order.getId(), order.getUserId(), body, LocalDateTime.now());
+    }
+
+    private OrderResponse render(Order order, List<OrderItem> items) {
+        // Pending changes are flushed first so the rendered timestamps are the ones written to the row.
+        orderViewRepository.flush();
+        return orderMapper.toResponse(order, items);
+    }
+
+    private void store(Order order, OrderResponse response) {
+        orderViewRepository.upsert(order.getId(), order.getUserId(), serialize(order, response), LocalDateTime.now());
+    }
+
+    private String serialize(Order order, OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Problem rendering view of order: " + order.getId());
+        }
+    }
+}
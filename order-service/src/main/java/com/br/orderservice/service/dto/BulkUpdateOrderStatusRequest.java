@@ -0,0 +1,28 @@
+package com.br.orderservice.service.dto;
+
+import com.br.orderservice.enums.OrderStatusEnum;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class BulkUpdateOrderStatusRequest {
+
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@NotNull UUID> orderIds;
+
+    @NotNull
+    private OrderStatusEnum fromStatus;
+
+    @NotNull
+    private OrderStatusEnum toStatus;
+
+    private String notes;
+}
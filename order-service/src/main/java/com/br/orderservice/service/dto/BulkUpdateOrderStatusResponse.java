@@ -0,0 +1,15 @@
+package com.br.orderservice.service.dto;
+
+import com.br.orderservice.enums.OrderStatusEnum;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk transition. {@code skippedOrderIds} were not found or no longer in the expected status.
+ */
+public record BulkUpdateOrderStatusResponse(
+    OrderStatusEnum toStatus,
+    int updated,
+    List<UUID> skippedOrderIds
+) {}
@@ -0,0 +1,11 @@
+package com.br.orderservice.service.dto;
+
+import com.br.orderservice.enums.OrderStatusEnum;
+
+import java.util.UUID;
+
+public record CheckoutAcceptedResponse(
+    UUID orderId,
+    String orderNumber,
+    OrderStatusEnum status
+) {}
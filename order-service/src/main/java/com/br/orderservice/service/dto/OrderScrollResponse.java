@@ -0,0 +1,12 @@
+package com.br.orderservice.service.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset listing. {@code nextCursor} is null on the last slice.
+ */
+public record OrderScrollResponse(
+    List<OrderResponse> content,
+    String nextCursor,
+    boolean hasNext
+) {}
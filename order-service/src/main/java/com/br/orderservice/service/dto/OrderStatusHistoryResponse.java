@@ -0,0 +1,14 @@
+package com.br.orderservice.service.dto;
+
+import com.br.orderservice.enums.OrderStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderStatusHistoryResponse(
+    OrderStatusEnum fromStatus,
+    OrderStatusEnum toStatus,
+    String notes,
+    LocalDateTime createdAt,
+    UUID createdBy
+) {}
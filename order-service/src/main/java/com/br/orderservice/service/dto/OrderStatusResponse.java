@@ -0,0 +1,13 @@
+package com.br.orderservice.service.dto;
+
+import com.br.orderservice.enums.OrderStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderStatusResponse(
+    UUID orderId,
+    String orderNumber,
+    OrderStatusEnum status,
+    LocalDateTime updatedAt
+) {}
@@ -0,0 +1,19 @@
+-- One row per checkout, tracking the step the saga is on so it can be resumed after a restart.
+CREATE TABLE checkout_saga (
+    order_id UUID PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    step VARCHAR(30) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_checkout_saga_order
+        FOREIGN KEY (order_id)
+        REFERENCES orders (id)
+        ON DELETE CASCADE
+);
+
+-- Only in-flight sagas are polled, so finished ones stay out of the index.
+CREATE INDEX idx_checkout_saga_due ON checkout_saga (next_attempt_at)
+    WHERE status IN ('RUNNING', 'COMPENSATING');
@@ -0,0 +1,17 @@
+-- Order events and commands are written here in the same transaction as the change that
+-- produces them. A relay publishes them to Kafka and sets published_at once the broker acked.
+CREATE TABLE order_outbox (
+    id UUID PRIMARY KEY,
+    topic VARCHAR(100) NOT NULL,
+    message_key VARCHAR(100) NOT NULL,
+    event_type VARCHAR(200) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+
+-- Ids are time-ordered (UUIDv7), so pending rows are drained in primary key order.
+CREATE INDEX idx_order_outbox_pending ON order_outbox (id) WHERE published_at IS NULL;
+-- Finds older pending rows of the same key, which keeps per-key ordering across relay instances.
+CREATE INDEX idx_order_outbox_pending_key ON order_outbox (message_key, id) WHERE published_at IS NULL;
+CREATE INDEX idx_order_outbox_published_at ON order_outbox (published_at) WHERE published_at IS NOT NULL;
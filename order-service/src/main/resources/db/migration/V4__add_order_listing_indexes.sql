@@ -0,0 +1,9 @@
+-- Listings walk orders newest first with (created_at, id) as keyset, so each listing
+-- is served by an index range scan in order instead of a sort over all matching rows.
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_created ON orders (status, created_at DESC, id DESC);
+CREATE INDEX idx_orders_created ON orders (created_at DESC, id DESC);
+
+-- Both are leading prefixes of the composite indexes above.
+DROP INDEX idx_orders_user_id;
+DROP INDEX idx_orders_status;
@@ -0,0 +1,13 @@
+-- Read model behind GET /api/v1/orders/{id}: the rendered OrderResponse of each order,
+-- rewritten in the same transaction as every change to the order.
+-- TEXT rather than JSONB so the body is served exactly as it was written, without re-encoding.
+CREATE TABLE order_view (
+    order_id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    body TEXT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_order_view_order
+        FOREIGN KEY (order_id)
+        REFERENCES orders (id)
+        ON DELETE CASCADE
+);
@@ -0,0 +1,6 @@
+-- The history of an order is read in creation order; ids are UUIDv7 from now on,
+-- so id breaks ties between transitions written in the same instant.
+CREATE INDEX idx_order_status_history_order_created ON order_status_history (order_id, created_at, id);
+
+-- Leading prefix of the index above.
+DROP INDEX idx_order_status_history_order_id;
@@ -0,0 +1,2 @@
+-- Optimistic lock for checkout sagas: a runner whose lease was taken over fails instead of overwriting the row.
+ALTER TABLE checkout_saga ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
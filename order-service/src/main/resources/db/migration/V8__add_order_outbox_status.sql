@@ -0,0 +1,13 @@
+-- A row that cannot be deserialized or is rejected by Kafka is retried up to order.outbox.max-attempts,
+-- then parked as FAILED so it no longer holds back later events of its order.
+ALTER TABLE order_outbox ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'PENDING';
+ALTER TABLE order_outbox ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE order_outbox ADD COLUMN last_error TEXT;
+
+UPDATE order_outbox SET status = 'PUBLISHED' WHERE published_at IS NOT NULL;
+
+-- Pending means status PENDING from now on; parked rows drop out of both indexes.
+DROP INDEX idx_order_outbox_pending;
+DROP INDEX idx_order_outbox_pending_key;
+CREATE INDEX idx_order_outbox_pending ON order_outbox (id) WHERE status = 'PENDING';
+CREATE INDEX idx_order_outbox_pending_key ON order_outbox (message_key, id) WHERE status = 'PENDING';
@@ -0,0 +1,101 @@
+package com.br.orderservice.event;
+
+import com.br.orderservice.enums.OutboxStatusEnum;
+import com.br.orderservice.model.OutboxEvent;
+import com.br.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OrderOutboxRelay(
+            outboxEventRepository,
+            kafkaTemplate,
+            new ObjectMapper(),
+            new TransactionTemplate(transactionManager),
+            meterRegistry,
+            10,
+            1000,
+            24,
+            2
+        );
+    }
+
+    @Test
+    void relay_poisonRow_holdsBackItsKeyUntilParked() {
+        OutboxEvent poison = event("order-a", "com.br.orderservice.event.Missing");
+        OutboxEvent sameOrder = event("order-a", String.class.getName());
+        OutboxEvent otherOrder = event("order-b", String.class.getName());
+
+        when(outboxEventRepository.lockNextBatch(10))
+            .thenReturn(List.of(poison, sameOrder, otherOrder))
+            .thenReturn(List.of(poison, sameOrder, otherOrder))
+            .thenReturn(List.of(sameOrder));
+        when(kafkaTemplate.send(eq("order.created"), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        // The later event of order-a is not sent while the poison row ahead of it is still pending
+        assertEquals(1, poison.getAttempts());
+        assertEquals(OutboxStatusEnum.PENDING, poison.getStatus());
+        verify(kafkaTemplate, never()).send(eq("order.created"), eq("order-a"), any());
+        verify(outboxEventRepository).markPublished(eq(List.of(otherOrder.getId())), any());
+
+        relay.relay();
+
+        assertEquals(OutboxStatusEnum.FAILED, poison.getStatus());
+        assertEquals(1.0, meterRegistry.counter("order.outbox.failed").count());
+
+        // Once parked, the poison row is no longer locked and order-a moves on
+        relay.relay();
+
+        verify(kafkaTemplate, times(1)).send(eq("order.created"), eq("order-a"), any());
+        verify(outboxEventRepository).markPublished(eq(List.of(sameOrder.getId())), any());
+    }
+
+    private OutboxEvent event(String key, String type) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(UUID.randomUUID());
+        event.setTopic("order.created");
+        event.setMessageKey(key);
+        event.setEventType(type);
+        event.setPayload("\"payload\"");
+        return event;
+    }
+}
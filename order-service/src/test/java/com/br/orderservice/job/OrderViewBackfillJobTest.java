@@ -0,0 +1,95 @@
+package com.br.orderservice.job;
+
+import com.br.orderservice.enums.OrderStatusEnum;
+import com.br.orderservice.model.Order;
+import com.br.orderservice.repository.OrderItemRepository;
+import com.br.orderservice.repository.OrderRepository;
+import com.br.orderservice.repository.OrderViewRepository;
+import com.br.orderservice.service.OrderViewProjector;
+import com.br.orderservice.service.dto.OrderResponse;
+import com.br.orderservice.service.mapper.OrderMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderViewBackfillJobTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderViewRepository orderViewRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private OrderMapper orderMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderViewBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        OrderViewProjector projector = new OrderViewProjector(orderViewRepository, orderItemRepository, orderMapper, new ObjectMapper());
+        job = new OrderViewBackfillJob(orderRepository, projector, new TransactionTemplate(transactionManager), 2);
+    }
+
+    @Test
+    void backfill_writesMissingViewsBatchByBatch_withoutOverwriting() {
+        Order first = order();
+        Order second = order();
+        Order third = order();
+        when(orderRepository.findWithoutView(Limit.of(2)))
+            .thenReturn(List.of(first, second))
+            .thenReturn(List.of(third));
+        when(orderItemRepository.findByOrderId(any())).thenReturn(List.of());
+        when(orderMapper.toResponse(any(), any())).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            return new OrderResponse(order.getId(), "TS", order.getUserId(), order.getStatus(), BigDecimal.ONE, "{}",
+                null, List.of(), null, null);
+        });
+
+        job.backfill();
+
+        verify(orderViewRepository, times(3)).insertIfAbsent(any(), any(), any(), any());
+        verify(orderViewRepository).insertIfAbsent(eq(third.getId()), eq(third.getUserId()), any(), any());
+        verify(orderViewRepository, never()).upsert(any(), any(), any(), any());
+    }
+
+    @Test
+    void backfill_nothingMissing_writesNothing() {
+        when(orderRepository.findWithoutView(Limit.of(2))).thenReturn(List.of());
+
+        job.backfill();
+
+        verify(orderViewRepository, never()).insertIfAbsent(any(), any(), any(), any());
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setUserId(UUID.randomUUID());
+        order.setOrderNumber("TS-20260223-ABCDE");
+        order.setStatus(OrderStatusEnum.PENDING_PAYMENT);
+        order.setTotalAmount(BigDecimal.ONE);
+        order.setShippingAddress("{}");
+        return order;
+    }
+}
@@ -0,0 +1,215 @@
+package com.br.orderservice.service;
+
+import com.br.orderservice.client.InventoryServiceClient;
+import com.br.orderservice.enums.CheckoutSagaStatusEnum;
+import com.br.orderservice.enums.CheckoutSagaStepEnum;
+import com.br.orderservice.enums.OrderStatusEnum;
+import com.br.orderservice.event.OrderEventProducer;
+import com.br.orderservice.model.CheckoutSaga;
+import com.br.orderservice.model.Order;
+import com.br.orderservice.repository.CheckoutSagaRepository;
+import com.br.orderservice.repository.OrderItemRepository;
+import com.br.orderservice.repository.OrderRepository;
+import com.br.orderservice.repository.OrderStatusHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutSagaOrchestratorTest {
+
+    @Mock
+    private CheckoutSagaRepository checkoutSagaRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private OrderStatusHistoryRepository orderStatusHistoryRepository;
+    @Mock
+    private InventoryServiceClient inventoryServiceClient;
+    @Mock
+    private OrderEventProducer orderEventProducer;
+    @Mock
+    private OrderViewProjector orderViewProjector;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CheckoutSagaOrchestrator orchestrator;
+
+    @BeforeEach
+    void setUp() {
+        orchestrator = new CheckoutSagaOrchestrator(
+            checkoutSagaRepository,
+            orderRepository,
+            orderItemRepository,
+            orderStatusHistoryRepository,
+            inventoryServiceClient,
+            orderEventProducer,
+            orderViewProjector,
+            new TransactionTemplate(transactionManager),
+            new SimpleMeterRegistry(),
+            3,
+            20,
+            500,
+            60000,
+            30000
+        );
+    }
+
+    @Test
+    void run_transientFailure_schedulesRetryWithBackoff() {
+        CheckoutSaga saga = orchestrator.start(UUID.randomUUID(), LocalDateTime.now());
+        when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new RuntimeException("connection reset")).when(inventoryServiceClient).reserveStock(eq("true"), any());
+
+        orchestrator.run(saga);
+
+        assertEquals(CheckoutSagaStatusEnum.RUNNING, saga.getStatus());
+        assertEquals(CheckoutSagaStepEnum.RESERVE_STOCK, saga.getStep());
+        assertEquals(1, saga.getAttempts());
+        assertTrue(saga.getNextAttemptAt().isAfter(LocalDateTime.now().plus(Duration.ofMillis(400))));
+        verify(inventoryServiceClient, never()).releaseStock(any(), any());
+    }
+
+    @Test
+    void run_retriesExhausted_releasesAndCancels() {
+        Order order = pendingOrder();
+        CheckoutSaga saga = orchestrator.start(order.getId(), LocalDateTime.now());
+        saga.setAttempts(2);
+
+        when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+        doThrow(new RuntimeException("connection reset")).when(inventoryServiceClient).reserveStock(eq("true"), any());
+
+        orchestrator.run(saga);
+
+        assertEquals(CheckoutSagaStatusEnum.COMPENSATED, saga.getStatus());
+        assertEquals(OrderStatusEnum.CANCELLED, order.getStatus());
+        verify(inventoryServiceClient).releaseStock(eq("true"), any());
+        verify(orderEventProducer, never()).publishOrderCancelled(any());
+    }
+
+    @Test
+    void run_publishFailsForGood_retractsEvent() {
+        Order order = pendingOrder();
+        order.setStatus(OrderStatusEnum.PENDING_PAYMENT);
+        CheckoutSaga saga = orchestrator.start(order.getId(), LocalDateTime.now());
+        saga.setStep(CheckoutSagaStepEnum.PUBLISH_ORDER_CREATED);
+        saga.setAttempts(2);
+
+        when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+        doThrow(new IllegalStateException("outbox unavailable")).when(orderEventProducer).publishOrderCreated(any());
+
+        orchestrator.run(saga);
+
+        assertEquals(CheckoutSagaStatusEnum.COMPENSATED, saga.getStatus());
+        verify(orderEventProducer).publishOrderCancelled(any());
+        verify(inventoryServiceClient).releaseStock(eq("true"), any());
+    }
+
+    @Test
+    void run_resumedSaga_continuesFromPersistedStep() {
+        Order order = pendingOrder();
+        CheckoutSaga saga = orchestrator.start(order.getId(), LocalDateTime.now());
+        saga.setStep(CheckoutSagaStepEnum.CONFIRM_ORDER);
+
+        when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+        orchestrator.run(saga);
+
+        assertEquals(CheckoutSagaStatusEnum.COMPLETED, saga.getStatus());
+        assertEquals(OrderStatusEnum.PENDING_PAYMENT, order.getStatus());
+        verify(orderViewProjector).refresh(order);
+        verify(inventoryServiceClient, never()).reserveStock(any(), any());
+    }
+
+    @Test
+    void run_keepsLeaseWhileOwningSaga() {
+        Order order = pendingOrder();
+        CheckoutSaga saga = orchestrator.start(order.getId(), LocalDateTime.now().plusSeconds(30));
+        List<LocalDateTime> savedLeases = new ArrayList<>();
+
+        when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> {
+            CheckoutSaga saved = invocation.getArgument(0);
+            savedLeases.add(saved.getNextAttemptAt());
+            return saved;
+        });
+        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+        LocalDateTime claimableBefore = LocalDateTime.now().plusSeconds(25);
+        orchestrator.run(saga);
+
+        assertEquals(CheckoutSagaStatusEnum.COMPLETED, saga.getStatus());
+        assertEquals(3, savedLeases.size());
+        // A resume job polling at any point of the run finds the saga still leased
+        savedLeases.forEach(lease -> assertTrue(lease.isAfter(claimableBefore)));
+    }
+
+    @Test
+    void run_claimedByJobMidRun_stopsWithoutRepeatingSteps() {
+        Order order = pendingOrder();
+        CheckoutSaga saga = orchestrator.start(order.getId(), LocalDateTime.now().plusSeconds(30));
+        saga.setVersion(0L);
+        AtomicLong storedVersion = new AtomicLong(0);
+
+        // Versioned save, as the database does it: a stale copy is rejected
+        when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> {
+            CheckoutSaga saved = invocation.getArgument(0);
+            if (saved.getVersion() != storedVersion.get()) {
+                throw new ObjectOptimisticLockingFailureException(CheckoutSaga.class, saved.getOrderId());
+            }
+            saved.setVersion(storedVersion.incrementAndGet());
+            return saved;
+        });
+        // The reservation outlives the lease and the job claims the saga, bumping its version
+        doAnswer(invocation -> {
+            storedVersion.incrementAndGet();
+            return null;
+        }).when(inventoryServiceClient).reserveStock(eq("true"), any());
+
+        CheckoutSaga result = orchestrator.run(saga);
+
+        assertEquals(CheckoutSagaStatusEnum.RUNNING, result.getStatus());
+        assertEquals(CheckoutSagaStepEnum.RESERVE_STOCK, result.getStep());
+        verify(checkoutSagaRepository, times(1)).save(any(CheckoutSaga.class));
+        verify(orderRepository, never()).save(any());
+        verify(orderEventProducer, never()).publishOrderCreated(any());
+        verify(inventoryServiceClient, never()).releaseStock(any(), any());
+    }
+
+    private Order pendingOrder() {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setUserId(UUID.randomUUID());
+        order.setStatus(OrderStatusEnum.PENDING_RESERVATION);
+        return order;
+    }
+}
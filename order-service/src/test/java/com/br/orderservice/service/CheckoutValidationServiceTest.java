@@ -0,0 +1,236 @@
+package com.br.orderservice.service;
+
+import com.br.orderservice.client.ProductServiceClient;
+import com.br.orderservice.client.UserServiceClient;
+import com.br.orderservice.exception.BusinessException;
+import com.br.orderservice.exception.RemoteServiceException;
+import com.br.orderservice.service.dto.AddressResponse;
+import com.br.orderservice.service.dto.OrderItemRequest;
+import com.br.orderservice.service.dto.ProductResponse;
+import com.br.orderservice.service.dto.UserResponse;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkout fan-out against stubbed downstream services: concurrency, timeout and error mapping.
+ */
+@ExtendWith(MockitoExtension.class)
+class CheckoutValidationServiceTest {
+
+    private static final long DOWNSTREAM_LATENCY_MS = 200;
+    private static final Request USER_REQUEST =
+        Request.create(Request.HttpMethod.GET, "/api/v1/users/me", Map.of(), null, StandardCharsets.UTF_8, null);
+
+    @Mock
+    private UserServiceClient userServiceClient;
+    @Mock
+    private ProductServiceClient productServiceClient;
+
+    private ExecutorService executor;
+    private CheckoutValidationService checkoutValidationService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        checkoutValidationService = new CheckoutValidationService(userServiceClient, productServiceClient, executor, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void validate_runsLookupsConcurrently() {
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+        // Each lookup only returns once all three are in flight, so sequential calls would time out
+        CountDownLatch inFlight = new CountDownLatch(3);
+
+        when(userServiceClient.getCurrentUser(userId)).thenAnswer(invocation -> whenAllInFlight(inFlight, user(userId)));
+        when(userServiceClient.getAddressById(userId, addressId)).thenAnswer(invocation -> whenAllInFlight(inFlight, address(userId)));
+        when(productServiceClient.getAllByListIds(any())).thenAnswer(invocation -> whenAllInFlight(inFlight, List.of(product(productId))));
+
+        CheckoutContext context = checkoutValidationService.validate(userId, addressId, List.of(item(productId)));
+
+        assertEquals(userId, context.user().id());
+        assertEquals(1, context.productsById().size());
+    }
+
+    @Test
+    void validate_latencyIsTheSlowestLookupNotTheSum() {
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        when(userServiceClient.getCurrentUser(userId)).thenAnswer(invocation -> after(100, user(userId)));
+        when(userServiceClient.getAddressById(userId, addressId)).thenAnswer(invocation -> after(150, address(userId)));
+        when(productServiceClient.getAllByListIds(any())).thenAnswer(invocation -> after(250, List.of(product(productId))));
+
+        long start = System.nanoTime();
+        checkoutValidationService.validate(userId, addressId, List.of(item(productId)));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Sequential lookups would take 500 ms
+        assertTrue(elapsedMs >= 250, "elapsed " + elapsedMs + " ms");
+        assertTrue(elapsedMs < 450, "elapsed " + elapsedMs + " ms");
+    }
+
+    @Test
+    void validate_slowDownstream_timesOut() {
+        UUID userId = UUID.randomUUID();
+        checkoutValidationService = new CheckoutValidationService(userServiceClient, productServiceClient, executor, 50);
+
+        when(userServiceClient.getCurrentUser(userId)).thenAnswer(invocation -> slow(user(userId)));
+
+        assertThrows(RemoteServiceException.class, () ->
+            checkoutValidationService.validate(userId, UUID.randomUUID(), List.of(item(UUID.randomUUID())))
+        );
+    }
+
+    @Test
+    void validate_userNotFound_isBadRequest() {
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        when(userServiceClient.getCurrentUser(userId))
+            .thenThrow(new FeignException.NotFound("not found", USER_REQUEST, null, null));
+        stubAddressAndProduct(userId, addressId, productId);
+
+        assertThrows(BusinessException.class, () ->
+            checkoutValidationService.validate(userId, addressId, List.of(item(productId)))
+        );
+    }
+
+    @Test
+    void validate_userServiceUnavailable_isOutage() {
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        when(userServiceClient.getCurrentUser(userId))
+            .thenThrow(new FeignException.ServiceUnavailable("unavailable", USER_REQUEST, null, null));
+        stubAddressAndProduct(userId, addressId, productId);
+
+        assertThrows(RemoteServiceException.class, () ->
+            checkoutValidationService.validate(userId, addressId, List.of(item(productId)))
+        );
+    }
+
+    @Test
+    void validate_addressTransportError_isOutage() {
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        lenient().when(userServiceClient.getCurrentUser(userId)).thenReturn(user(userId));
+        when(userServiceClient.getAddressById(userId, addressId)).thenThrow(new IllegalStateException("connection refused"));
+        lenient().when(productServiceClient.getAllByListIds(any())).thenReturn(List.of(product(productId)));
+
+        assertThrows(RemoteServiceException.class, () ->
+            checkoutValidationService.validate(userId, addressId, List.of(item(productId)))
+        );
+    }
+
+    @Test
+    void validate_productsRejected_isBadRequest() {
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+
+        lenient().when(userServiceClient.getCurrentUser(userId)).thenReturn(user(userId));
+        lenient().when(userServiceClient.getAddressById(userId, addressId)).thenReturn(address(userId));
+        when(productServiceClient.getAllByListIds(any()))
+            .thenThrow(new FeignException.BadRequest("bad ids", USER_REQUEST, null, null));
+
+        assertThrows(BusinessException.class, () ->
+            checkoutValidationService.validate(userId, addressId, List.of(item(UUID.randomUUID())))
+        );
+    }
+
+    @Test
+    void validate_productServiceDown_isOutage() {
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+
+        lenient().when(userServiceClient.getCurrentUser(userId)).thenReturn(user(userId));
+        lenient().when(userServiceClient.getAddressById(userId, addressId)).thenReturn(address(userId));
+        when(productServiceClient.getAllByListIds(any()))
+            .thenThrow(new FeignException.InternalServerError("boom", USER_REQUEST, null, null));
+
+        assertThrows(RemoteServiceException.class, () ->
+            checkoutValidationService.validate(userId, addressId, List.of(item(UUID.randomUUID())))
+        );
+    }
+
+    /**
+     * The other lookups run concurrently and may not be reached before the failing one is awaited.
+     */
+    private void stubAddressAndProduct(UUID userId, UUID addressId, UUID productId) {
+        lenient().when(userServiceClient.getAddressById(userId, addressId)).thenReturn(address(userId));
+        lenient().when(productServiceClient.getAllByListIds(any())).thenReturn(List.of(product(productId)));
+    }
+
+    private <T> T whenAllInFlight(CountDownLatch inFlight, T value) throws InterruptedException {
+        inFlight.countDown();
+        if (!inFlight.await(DOWNSTREAM_LATENCY_MS, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Lookups did not run concurrently");
+        }
+        return value;
+    }
+
+    private <T> T slow(T value) throws InterruptedException {
+        return after(DOWNSTREAM_LATENCY_MS, value);
+    }
+
+    private <T> T after(long delayMs, T value) throws InterruptedException {
+        Thread.sleep(delayMs);
+        return value;
+    }
+
+    private UserResponse user(UUID userId) {
+        return new UserResponse(userId, "email@test.com", "123", "999", "Name", "USER", "ACTIVE");
+    }
+
+    private AddressResponse address(UUID userId) {
+        return new AddressResponse(userId, "Street", "10", null, "Center", "Sao Paulo", "SP", "00000-000", true,
+            LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private ProductResponse product(UUID productId) {
+        return new ProductResponse(productId, "SKU-1", "Product", "product", "desc", "brand",
+            UUID.randomUUID(), BigDecimal.TEN, BigDecimal.ZERO, true, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private OrderItemRequest item(UUID productId) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        return item;
+    }
+}
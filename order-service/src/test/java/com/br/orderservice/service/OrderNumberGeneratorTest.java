@@ -0,0 +1,111 @@
+package com.br.orderservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderNumberGeneratorTest {
+
+    private static final Clock NOON = Clock.fixed(Instant.parse("2026-02-23T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void next_rendersDateAndFiveCharacterSuffix() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(3, NOON);
+
+        String number = generator.next();
+
+        assertTrue(number.matches("TS-20260223-[0-9A-HJKMNP-TV-Z]{5}"), number);
+    }
+
+    @Test
+    void next_concurrentCalls_neverRepeat() throws Exception {
+        OrderNumberGenerator generator = new OrderNumberGenerator(7, NOON);
+        int threads = 16;
+        int perThread = 20_000;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(generator.next());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(threads * perThread, numbers.size());
+    }
+
+    @Test
+    void next_differentNodes_neverCollide() {
+        OrderNumberGenerator first = new OrderNumberGenerator(0, NOON);
+        OrderNumberGenerator second = new OrderNumberGenerator(1, NOON);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertNotEquals(first.next(), second.next());
+        }
+    }
+
+    @Test
+    void next_restartedNode_continuesAfterEarlierNumbers() {
+        String beforeRestart = new OrderNumberGenerator(2, NOON).next();
+        Clock later = Clock.offset(NOON, Duration.ofSeconds(1));
+
+        String afterRestart = new OrderNumberGenerator(2, later).next();
+
+        assertTrue(afterRestart.compareTo(beforeRestart) > 0, beforeRestart + " / " + afterRestart);
+    }
+
+    @Test
+    void next_restartWhileAheadOfClock_resumesAfterStoredNumbers() {
+        OrderNumberGenerator beforeRestart = new OrderNumberGenerator(2, NOON);
+        String lastIssued = null;
+        // A burst within one clock slot pushes the sequence ahead of the time of day
+        for (int i = 0; i < 1_000; i++) {
+            lastIssued = beforeRestart.next();
+        }
+
+        OrderNumberGenerator afterRestart = new OrderNumberGenerator(2, Clock.offset(NOON, Duration.ofSeconds(1)));
+        afterRestart.resumeAfter(lastIssued);
+
+        String next = afterRestart.next();
+        assertTrue(next.compareTo(lastIssued) > 0, lastIssued + " / " + next);
+    }
+
+    @Test
+    void resumeAfter_otherNodesNumber_throws() {
+        String otherNode = new OrderNumberGenerator(4, NOON).next();
+
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(5, NOON).resumeAfter(otherNode));
+    }
+
+    @Test
+    void constructor_nodeIdOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(32, NOON));
+    }
+}
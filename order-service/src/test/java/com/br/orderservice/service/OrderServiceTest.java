@@ -4,46 +4,78 @@ import com.br.orderservice.client.InventoryServiceClient;
 import com.br.orderservice.client.ProductServiceClient;
 import com.br.orderservice.client.UserServiceClient;
 import com.br.orderservice.enums.OrderStatusEnum;
+import com.br.orderservice.event.CheckoutRequestedCommand;
+import com.br.orderservice.event.CheckoutRequestedItem;
 import com.br.orderservice.event.OrderEventProducer;
 import com.br.orderservice.exception.BusinessException;
 import com.br.orderservice.exception.ForbiddenException;
+import com.br.orderservice.exception.RemoteServiceException;
 import com.br.orderservice.exception.ResourceNotFoundException;
+import com.br.orderservice.model.CheckoutSaga;
 import com.br.orderservice.model.Order;
 import com.br.orderservice.model.OrderItem;
+import com.br.orderservice.model.OrderStatusHistory;
+import com.br.orderservice.model.OrderView;
+import com.br.orderservice.repository.CheckoutSagaRepository;
 import com.br.orderservice.repository.OrderItemRepository;
 import com.br.orderservice.repository.OrderRepository;
 import com.br.orderservice.repository.OrderStatusHistoryRepository;
+import com.br.orderservice.repository.OrderStatusView;
+import com.br.orderservice.repository.OrderViewRepository;
 import com.br.orderservice.service.dto.AddressResponse;
+import com.br.orderservice.service.dto.BulkUpdateOrderStatusRequest;
+import com.br.orderservice.service.dto.BulkUpdateOrderStatusResponse;
+import com.br.orderservice.service.dto.CheckoutAcceptedResponse;
 import com.br.orderservice.service.dto.CreateOrderRequest;
 import com.br.orderservice.service.dto.OrderItemRequest;
 import com.br.orderservice.service.dto.OrderResponse;
+import com.br.orderservice.service.dto.OrderScrollResponse;
+import com.br.orderservice.service.dto.OrderStatusHistoryResponse;
 import com.br.orderservice.service.dto.ProductResponse;
 import com.br.orderservice.service.dto.UpdateOrderStatusRequest;
 import com.br.orderservice.service.dto.UserResponse;
 import com.br.orderservice.service.mapper.OrderMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -60,6 +92,8 @@ class OrderServiceTest {
     @Mock
     private OrderMapper orderMapper;
     @Mock
+    private OrderViewRepository orderViewRepository;
+    @Mock
     private UserServiceClient userServiceClient;
     @Mock
     private ProductServiceClient productServiceClient;
@@ -67,21 +101,52 @@ class OrderServiceTest {
     private InventoryServiceClient inventoryServiceClient;
     @Mock
     private OrderEventProducer orderEventProducer;
+    @Mock
+    private CheckoutSagaRepository checkoutSagaRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     private OrderService orderService;
 
     @BeforeEach
     void setUp() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+        OrderViewProjector orderViewProjector = new OrderViewProjector(orderViewRepository, orderItemRepository, orderMapper, objectMapper);
+        CheckoutSagaOrchestrator checkoutSagaOrchestrator = new CheckoutSagaOrchestrator(
+            checkoutSagaRepository,
+            orderRepository,
+            orderItemRepository,
+            orderStatusHistoryRepository,
+            inventoryServiceClient,
+            orderEventProducer,
+            orderViewProjector,
+            transactionTemplate,
+            meterRegistry,
+            5,
+            20,
+            500,
+            60000,
+            30000
+        );
         orderService = new OrderService(
             orderRepository,
             orderItemRepository,
             orderStatusHistoryRepository,
             orderMapper,
-            userServiceClient,
-            productServiceClient,
+            orderViewRepository,
+            orderViewProjector,
+            new OrderNumberGenerator(0, Clock.systemDefaultZone()),
+            new CheckoutValidationService(userServiceClient, productServiceClient, Executors.newVirtualThreadPerTaskExecutor(), 1000),
+            checkoutSagaOrchestrator,
+            checkoutSagaRepository,
             inventoryServiceClient,
             orderEventProducer,
-            new ObjectMapper()
+            objectMapper,
+            transactionTemplate,
+            meterRegistry,
+            30000
         );
     }
 
@@ -110,10 +175,12 @@ class OrderServiceTest {
         Order savedOrder = new Order();
         savedOrder.setId(orderId);
         savedOrder.setUserId(userId);
-        savedOrder.setStatus(OrderStatusEnum.PENDING_PAYMENT);
+        savedOrder.setStatus(OrderStatusEnum.PENDING_RESERVATION);
         savedOrder.setTotalAmount(BigDecimal.valueOf(20));
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(savedOrder));
         when(orderItemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         OrderResponse expected = new OrderResponse(
             orderId, "TS-TEST", userId, OrderStatusEnum.PENDING_PAYMENT, BigDecimal.valueOf(20),
@@ -127,7 +194,127 @@ class OrderServiceTest {
         assertEquals(orderId, response.id());
         verify(inventoryServiceClient, times(1)).reserveStock(eq("true"), any());
         verify(orderEventProducer, times(1)).publishOrderCreated(any());
-        verify(orderStatusHistoryRepository, times(1)).save(any());
+        verify(orderStatusHistoryRepository, times(2)).save(any());
+        assertEquals(OrderStatusEnum.PENDING_PAYMENT, savedOrder.getStatus());
+    }
+
+    @Test
+    void createOrder_reservationFails_cancelsOrder() {
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        when(userServiceClient.getCurrentUser(userId)).thenReturn(
+            new UserResponse(userId, "email@test.com", "123", "999", "Name", "USER", "ACTIVE")
+        );
+        when(userServiceClient.getAddressById(userId, addressId)).thenReturn(
+            new AddressResponse(userId, "Street", "10", null, "Center", "Sao Paulo", "SP", "00000-000", true,
+                LocalDateTime.now(), LocalDateTime.now())
+        );
+        when(productServiceClient.getAllByListIds(any())).thenReturn(List.of(new ProductResponse(
+            productId, "SKU-1", "Product", "product", "desc", "brand",
+            UUID.randomUUID(), BigDecimal.TEN, BigDecimal.ZERO, true, LocalDateTime.now(), LocalDateTime.now()
+        )));
+
+        Order savedOrder = new Order();
+        savedOrder.setId(UUID.randomUUID());
+        savedOrder.setUserId(userId);
+        savedOrder.setStatus(OrderStatusEnum.PENDING_RESERVATION);
+        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+        when(orderRepository.findById(savedOrder.getId())).thenReturn(Optional.of(savedOrder));
+        when(orderItemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Request reserveRequest = Request.create(Request.HttpMethod.POST, "/api/v1/inventory/reserve", Map.of(), null, StandardCharsets.UTF_8, null);
+        doThrow(new FeignException.BadRequest("insufficient stock", reserveRequest, null, null))
+            .when(inventoryServiceClient).reserveStock(eq("true"), any());
+
+        CreateOrderRequest request = buildCreateOrderRequest(addressId, productId, 1);
+
+        assertThrows(BusinessException.class, () -> orderService.createOrder(userId, request));
+        assertEquals(OrderStatusEnum.CANCELLED, savedOrder.getStatus());
+        verify(inventoryServiceClient).releaseStock(eq("true"), any());
+        verify(orderEventProducer, never()).publishOrderCreated(any());
+    }
+
+    @Test
+    void submitCheckout_storesPendingValidationAndQueuesCommand() {
+        UUID userId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(orderId);
+            return order;
+        });
+
+        CheckoutAcceptedResponse response = orderService.submitCheckout(userId, buildCreateOrderRequest(UUID.randomUUID(), UUID.randomUUID(), 2));
+
+        assertEquals(orderId, response.orderId());
+        assertEquals(OrderStatusEnum.PENDING_VALIDATION, response.status());
+        verify(orderEventProducer).publishCheckoutRequested(ArgumentMatchers.argThat(command ->
+            command.orderId().equals(orderId) && command.items().getFirst().quantity() == 2
+        ));
+        verify(userServiceClient, never()).getCurrentUser(any());
+        verify(inventoryServiceClient, never()).reserveStock(any(), any());
+    }
+
+    @Test
+    void completeCheckout_alreadyProcessed_isIgnored() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(buildOrder(orderId, UUID.randomUUID(), OrderStatusEnum.PENDING_PAYMENT)));
+
+        orderService.completeCheckout(checkoutCommand(orderId, UUID.randomUUID(), UUID.randomUUID()));
+
+        verify(userServiceClient, never()).getCurrentUser(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void completeCheckout_invalidProducts_cancelsOrder() {
+        UUID orderId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        Order order = buildOrder(orderId, userId, OrderStatusEnum.PENDING_VALIDATION);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(userServiceClient.getCurrentUser(userId)).thenReturn(
+            new UserResponse(userId, "email@test.com", "123", "999", "Name", "USER", "ACTIVE")
+        );
+        when(userServiceClient.getAddressById(userId, addressId)).thenReturn(
+            new AddressResponse(userId, "Street", "10", null, "Center", "Sao Paulo", "SP", "00000-000", true,
+                LocalDateTime.now(), LocalDateTime.now())
+        );
+        when(productServiceClient.getAllByListIds(any())).thenReturn(List.of());
+
+        orderService.completeCheckout(checkoutCommand(orderId, userId, addressId));
+
+        assertEquals(OrderStatusEnum.CANCELLED, order.getStatus());
+        verify(inventoryServiceClient, never()).reserveStock(any(), any());
+    }
+
+    @Test
+    void completeCheckout_userServiceUnavailable_leavesOrderPendingForRetry() {
+        UUID orderId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID addressId = UUID.randomUUID();
+        Order order = buildOrder(orderId, userId, OrderStatusEnum.PENDING_VALIDATION);
+        Request userRequest = Request.create(Request.HttpMethod.GET, "/api/v1/users/me", Map.of(), null, StandardCharsets.UTF_8, null);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(userServiceClient.getCurrentUser(userId))
+            .thenThrow(new FeignException.ServiceUnavailable("unavailable", userRequest, null, null));
+        lenient().when(userServiceClient.getAddressById(userId, addressId)).thenReturn(
+            new AddressResponse(userId, "Street", "10", null, "Center", "Sao Paulo", "SP", "00000-000", true,
+                LocalDateTime.now(), LocalDateTime.now())
+        );
+        lenient().when(productServiceClient.getAllByListIds(any())).thenReturn(List.of());
+
+        // The exception reaches the Kafka error handler, which retries the command with backoff
+        assertThrows(RemoteServiceException.class,
+            () -> orderService.completeCheckout(checkoutCommand(orderId, userId, addressId)));
+
+        assertEquals(OrderStatusEnum.PENDING_VALIDATION, order.getStatus());
+        verify(orderRepository, never()).save(any());
+        verify(inventoryServiceClient, never()).reserveStock(any(), any());
     }
 
     @Test
@@ -171,34 +358,53 @@ class OrderServiceTest {
     }
 
     @Test
-    void getOrderById_ownerSuccess() {
+    void getOrderJson_ownerSuccess_servesViewWithoutMapping() {
+        UUID orderId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        String body = "{\"id\":\"" + orderId + "\"}";
+        when(orderViewRepository.findById(orderId)).thenReturn(Optional.of(new OrderView(orderId, userId, body, LocalDateTime.now())));
+
+        assertEquals(body, orderService.getOrderJson(orderId, userId, "USER"));
+        verify(orderRepository, never()).findById(any());
+        verify(orderItemRepository, never()).findByOrderId(any());
+        verify(orderMapper, never()).toResponse(any(), any());
+    }
+
+    @Test
+    void getOrderJson_withoutView_rendersWithoutStoringIt() {
         UUID orderId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
         Order order = buildOrder(orderId, userId, OrderStatusEnum.PENDING_PAYMENT);
+        when(orderViewRepository.findById(orderId)).thenReturn(Optional.empty());
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
         when(orderItemRepository.findByOrderId(orderId)).thenReturn(List.of());
         when(orderMapper.toResponse(any(), any())).thenReturn(
             new OrderResponse(orderId, "TS", userId, OrderStatusEnum.PENDING_PAYMENT, BigDecimal.ONE, "{}", null, List.of(), null, null)
         );
 
-        OrderResponse response = orderService.getOrderById(orderId, userId, "USER");
-        assertEquals(orderId, response.id());
+        String json = orderService.getOrderJson(orderId, userId, "USER");
+
+        assertTrue(json.contains(orderId.toString()));
+        verify(orderViewRepository, never()).upsert(any(), any(), any(), any());
+        verify(orderViewRepository, never()).insertIfAbsent(any(), any(), any(), any());
     }
 
     @Test
-    void getOrderById_nonOwnerNonAdmin_throws() {
+    void getOrderJson_nonOwnerNonAdmin_throws() {
         UUID orderId = UUID.randomUUID();
-        Order order = buildOrder(orderId, UUID.randomUUID(), OrderStatusEnum.PENDING_PAYMENT);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderViewRepository.findById(orderId)).thenReturn(
+            Optional.of(new OrderView(orderId, UUID.randomUUID(), "{}", LocalDateTime.now()))
+        );
 
-        assertThrows(ForbiddenException.class, () -> orderService.getOrderById(orderId, UUID.randomUUID(), "USER"));
+        assertThrows(ForbiddenException.class, () -> orderService.getOrderJson(orderId, UUID.randomUUID(), "USER"));
     }
 
     @Test
-    void getOrderById_notFound_throws() {
+    void getOrderJson_notFound_throws() {
         UUID orderId = UUID.randomUUID();
+        when(orderViewRepository.findById(orderId)).thenReturn(Optional.empty());
         when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderById(orderId, UUID.randomUUID(), "ADMIN"));
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderJson(orderId, UUID.randomUUID(), "ADMIN"));
     }
 
     @Test
@@ -218,6 +424,7 @@ class OrderServiceTest {
         assertEquals(OrderStatusEnum.CANCELLED, response.status());
         verify(inventoryServiceClient, times(1)).releaseStock(eq("true"), any());
         verify(orderEventProducer, times(1)).publishOrderCancelled(any());
+        verify(orderViewRepository).upsert(eq(orderId), eq(userId), ArgumentMatchers.contains("CANCELLED"), any());
     }
 
     @Test
@@ -305,6 +512,112 @@ class OrderServiceTest {
         verify(orderEventProducer, times(1)).publishOrderShipped(any());
     }
 
+    @Test
+    void bulkUpdateOrderStatus_movesMatchingOrdersAndReportsSkipped() {
+        UUID actorId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID alreadyShipped = UUID.randomUUID();
+        BulkUpdateOrderStatusRequest request = new BulkUpdateOrderStatusRequest();
+        request.setOrderIds(List.of(first, second, alreadyShipped, first));
+        request.setFromStatus(OrderStatusEnum.PROCESSING);
+        request.setToStatus(OrderStatusEnum.SHIPPED);
+
+        when(orderRepository.transitionAll(eq(List.of(first, second, alreadyShipped)), eq("PROCESSING"), eq("SHIPPED"), any()))
+            .thenReturn(List.of(first, second));
+
+        BulkUpdateOrderStatusResponse response = orderService.bulkUpdateOrderStatus(actorId, request);
+
+        assertEquals(2, response.updated());
+        assertEquals(List.of(alreadyShipped), response.skippedOrderIds());
+        verify(orderStatusHistoryRepository).saveAll(ArgumentMatchers.<List<OrderStatusHistory>>argThat(histories ->
+            histories.size() == 2 && histories.stream().allMatch(history -> actorId.equals(history.getCreatedBy()))
+        ));
+        verify(orderStatusHistoryRepository, never()).save(any());
+        verify(orderEventProducer, times(2)).publishOrderShipped(any());
+        verify(orderViewRepository).deleteAllByIdInBatch(List.of(first, second));
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_invalidTransition_throws() {
+        BulkUpdateOrderStatusRequest request = new BulkUpdateOrderStatusRequest();
+        request.setOrderIds(List.of(UUID.randomUUID()));
+        request.setFromStatus(OrderStatusEnum.DELIVERED);
+        request.setToStatus(OrderStatusEnum.SHIPPED);
+
+        assertThrows(BusinessException.class, () -> orderService.bulkUpdateOrderStatus(UUID.randomUUID(), request));
+        verify(orderRepository, never()).transitionAll(any(), any(), any(), any());
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_paymentConfirmed_throws() {
+        BulkUpdateOrderStatusRequest request = new BulkUpdateOrderStatusRequest();
+        request.setOrderIds(List.of(UUID.randomUUID()));
+        request.setFromStatus(OrderStatusEnum.PENDING_PAYMENT);
+        request.setToStatus(OrderStatusEnum.PAYMENT_CONFIRMED);
+
+        assertThrows(BusinessException.class, () -> orderService.bulkUpdateOrderStatus(UUID.randomUUID(), request));
+        verify(inventoryServiceClient, never()).confirmStock(any(), any());
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_cancelled_throws() {
+        BulkUpdateOrderStatusRequest request = new BulkUpdateOrderStatusRequest();
+        request.setOrderIds(List.of(UUID.randomUUID()));
+        request.setFromStatus(OrderStatusEnum.PROCESSING);
+        request.setToStatus(OrderStatusEnum.CANCELLED);
+
+        assertThrows(BusinessException.class, () -> orderService.bulkUpdateOrderStatus(UUID.randomUUID(), request));
+        verify(orderRepository, never()).transitionAll(any(), any(), any(), any());
+        verify(orderEventProducer, never()).publishOrderCancelled(any());
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_refunded_throws() {
+        BulkUpdateOrderStatusRequest request = new BulkUpdateOrderStatusRequest();
+        request.setOrderIds(List.of(UUID.randomUUID()));
+        request.setFromStatus(OrderStatusEnum.PAYMENT_CONFIRMED);
+        request.setToStatus(OrderStatusEnum.REFUNDED);
+
+        assertThrows(BusinessException.class, () -> orderService.bulkUpdateOrderStatus(UUID.randomUUID(), request));
+        verify(orderRepository, never()).transitionAll(any(), any(), any(), any());
+    }
+
+    @Test
+    void getOrderHistory_owner_returnsTimelineOldestFirst() {
+        UUID userId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        OrderStatusView view = mock(OrderStatusView.class);
+        when(view.getUserId()).thenReturn(userId);
+        when(orderRepository.findStatusById(orderId)).thenReturn(Optional.of(view));
+        OrderStatusHistory created = new OrderStatusHistory(
+            UUID.randomUUID(), orderId, null, OrderStatusEnum.PENDING_PAYMENT, "Order created", LocalDateTime.now().minusHours(1), userId
+        );
+        OrderStatusHistory paid = new OrderStatusHistory(
+            UUID.randomUUID(), orderId, OrderStatusEnum.PENDING_PAYMENT, OrderStatusEnum.PAYMENT_CONFIRMED, null, LocalDateTime.now(), null
+        );
+        when(orderStatusHistoryRepository.findByOrderIdOrderByCreatedAtAscIdAsc(orderId)).thenReturn(List.of(created, paid));
+
+        List<OrderStatusHistoryResponse> history = orderService.getOrderHistory(orderId, userId, "USER");
+
+        assertEquals(2, history.size());
+        assertNull(history.get(0).fromStatus());
+        assertEquals(OrderStatusEnum.PENDING_PAYMENT, history.get(0).toStatus());
+        assertEquals(OrderStatusEnum.PAYMENT_CONFIRMED, history.get(1).toStatus());
+    }
+
+    @Test
+    void getOrderHistory_otherUser_throwsForbidden() {
+        UUID orderId = UUID.randomUUID();
+        OrderStatusView view = mock(OrderStatusView.class);
+        when(view.getUserId()).thenReturn(UUID.randomUUID());
+        when(orderRepository.findStatusById(orderId)).thenReturn(Optional.of(view));
+
+        assertThrows(ForbiddenException.class, () -> orderService.getOrderHistory(orderId, UUID.randomUUID(), "USER"));
+        verify(orderStatusHistoryRepository, never()).findByOrderIdOrderByCreatedAtAscIdAsc(any());
+    }
+
     @Test
     void listMyOrders_returnsMappedPage() {
         UUID userId = UUID.randomUUID();
@@ -313,7 +626,7 @@ class OrderServiceTest {
 
         Order order = buildOrder(orderId, userId, OrderStatusEnum.PENDING_PAYMENT);
         when(orderRepository.findByUserId(userId, pageable)).thenReturn(new PageImpl<>(List.of(order), pageable, 1));
-        when(orderItemRepository.findByOrderId(orderId)).thenReturn(List.of());
+        when(orderItemRepository.findByOrderIdIn(List.of(orderId))).thenReturn(List.of());
         when(orderMapper.toResponse(any(), any())).thenReturn(
             new OrderResponse(orderId, "TS", userId, OrderStatusEnum.PENDING_PAYMENT, BigDecimal.ONE, "{}", null, List.of(), null, null)
         );
@@ -330,7 +643,7 @@ class OrderServiceTest {
         Order order = buildOrder(orderId, userId, OrderStatusEnum.PENDING_PAYMENT);
 
         when(orderRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(order), pageable, 1));
-        when(orderItemRepository.findByOrderId(orderId)).thenReturn(List.of());
+        when(orderItemRepository.findByOrderIdIn(List.of(orderId))).thenReturn(List.of());
         when(orderMapper.toResponse(any(), any())).thenReturn(
             new OrderResponse(orderId, "TS", userId, OrderStatusEnum.PENDING_PAYMENT, BigDecimal.ONE, "{}", null, List.of(), null, null)
         );
@@ -339,6 +652,82 @@ class OrderServiceTest {
         assertEquals(1, page.getTotalElements());
     }
 
+    @Test
+    void listAllOrders_loadsItemsOfWholePageInOneQuery() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Order first = buildOrder(UUID.randomUUID(), UUID.randomUUID(), OrderStatusEnum.PENDING_PAYMENT);
+        Order second = buildOrder(UUID.randomUUID(), UUID.randomUUID(), OrderStatusEnum.SHIPPED);
+        OrderItem firstItem = new OrderItem();
+        firstItem.setOrderId(first.getId());
+        OrderItem secondItem = new OrderItem();
+        secondItem.setOrderId(second.getId());
+
+        when(orderRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 2));
+        when(orderItemRepository.findByOrderIdIn(List.of(first.getId(), second.getId())))
+            .thenReturn(List.of(secondItem, firstItem));
+
+        orderService.listAllOrders(pageable);
+
+        verify(orderItemRepository, times(1)).findByOrderIdIn(any());
+        verify(orderItemRepository, never()).findByOrderId(any());
+        verify(orderMapper).toResponse(first, List.of(firstItem));
+        verify(orderMapper).toResponse(second, List.of(secondItem));
+    }
+
+    @Test
+    void scrollMyOrders_returnsCursorOfLastRowWhenMoreRowsFollow() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        Order newest = buildOrder(UUID.randomUUID(), userId, OrderStatusEnum.PENDING_PAYMENT);
+        newest.setCreatedAt(now);
+        Order older = buildOrder(UUID.randomUUID(), userId, OrderStatusEnum.DELIVERED);
+        older.setCreatedAt(now.minusMinutes(1));
+        Order oldest = buildOrder(UUID.randomUUID(), userId, OrderStatusEnum.DELIVERED);
+        oldest.setCreatedAt(now.minusMinutes(2));
+
+        when(orderRepository.findLatestByUserId(userId, Limit.of(3))).thenReturn(List.of(newest, older, oldest));
+        when(orderItemRepository.findByOrderIdIn(List.of(newest.getId(), older.getId()))).thenReturn(List.of());
+
+        OrderScrollResponse first = orderService.scrollMyOrders(userId, null, 2);
+
+        assertEquals(2, first.content().size());
+        assertTrue(first.hasNext());
+        assertNotNull(first.nextCursor());
+
+        when(orderRepository.findLatestByUserIdAfter(userId, older.getCreatedAt(), older.getId(), Limit.of(3)))
+            .thenReturn(List.of(oldest));
+        when(orderItemRepository.findByOrderIdIn(List.of(oldest.getId()))).thenReturn(List.of());
+
+        OrderScrollResponse second = orderService.scrollMyOrders(userId, first.nextCursor(), 2);
+
+        assertEquals(1, second.content().size());
+        assertFalse(second.hasNext());
+        assertNull(second.nextCursor());
+        verify(orderRepository, never()).count();
+    }
+
+    @Test
+    void scrollAllOrders_withStatus_usesStatusKeyset() {
+        Order order = buildOrder(UUID.randomUUID(), UUID.randomUUID(), OrderStatusEnum.SHIPPED);
+        when(orderRepository.findLatestByStatus(OrderStatusEnum.SHIPPED, Limit.of(21))).thenReturn(List.of(order));
+        when(orderItemRepository.findByOrderIdIn(List.of(order.getId()))).thenReturn(List.of());
+
+        OrderScrollResponse response = orderService.scrollAllOrders(OrderStatusEnum.SHIPPED, null, 20);
+
+        assertEquals(1, response.content().size());
+        verify(orderRepository, never()).findLatest(any());
+    }
+
+    @Test
+    void scrollMyOrders_invalidCursor_throwsBusinessException() {
+        assertThrows(BusinessException.class, () -> orderService.scrollMyOrders(UUID.randomUUID(), "not-a-cursor", 20));
+    }
+
+    @Test
+    void scrollMyOrders_sizeOutOfRange_throwsBusinessException() {
+        assertThrows(BusinessException.class, () -> orderService.scrollMyOrders(UUID.randomUUID(), null, 0));
+    }
+
     private CreateOrderRequest buildCreateOrderRequest(UUID addressId, UUID productId, Integer quantity) {
         OrderItemRequest item = new OrderItemRequest();
         item.setProductId(productId);
@@ -350,6 +739,18 @@ class OrderServiceTest {
         return request;
     }
 
+    private CheckoutRequestedCommand checkoutCommand(UUID orderId, UUID userId, UUID addressId) {
+        return new CheckoutRequestedCommand(
+            UUID.randomUUID(),
+            Instant.now(),
+            orderId,
+            userId,
+            addressId,
+            List.of(new CheckoutRequestedItem(UUID.randomUUID(), 1)),
+            null
+        );
+    }
+
     private Order buildOrder(UUID orderId, UUID userId, OrderStatusEnum status) {
         Order order = new Order();
         order.setId(orderId);